@@ -0,0 +1,264 @@
+package com.example.employees.benchmark;
+
+import com.example.employees.model.Employee;
+import com.example.employees.service.EmployeeService;
+import com.example.employees.stats.CompensationStatistics;
+import com.example.employees.table.EmployeeTable;
+import com.example.employees.table.SalaryAggregator;
+import com.example.employees.table.SalarySummary;
+import com.example.employees.table.ScalarSalaryAggregator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Functional vs imperative vs parallel, for every EmployeeService operation.
+ *
+ * Each benchmark runs in two modes:
+ * - Throughput  → operations per second
+ * - SampleTime  → latency distribution (p50, p90, p99, ...)
+ * Allocation rate comes from the GC profiler ({@code -prof gc}), enabled by the
+ * {@code benchmarks} Maven profile: see the README for how to run the suite.
+ *
+ * The service (repository snapshot + indexes) is built once per size in the setup,
+ * so only the operations themselves are measured. The "1b" group compares the
+ * scalar and Vector API salary aggregators over the same primitive columns.
+ *
+ * The operation rows call the EmployeeService methods themselves, so the numbers describe
+ * the production code. Groups 1 to 5 add the service's fast path next to the three styles:
+ * "Incremental" reads the PayrollLedger aggregates, "Indexed" returns a directory bucket.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx12g", "--add-modules", "jdk.incubator.vector"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"20", "10000", "1000000", "10000000"})
+    public int size;
+
+    private EmployeeService service;
+    private UUID departmentId;
+    private UUID managerId;
+    private String middleCursor;
+
+    private EmployeeTable table;
+    private double[] salaries;
+    private int[] departmentCodes;
+    private int departmentCount;
+    private final SalaryAggregator scalar = new ScalarSalaryAggregator();
+    private final SalaryAggregator vector = SalaryAggregator.best();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new EmployeeService(new SyntheticEmployeeRepository(size));
+        Employee first = service.getDirectory().all().get(0);
+        departmentId = first.getDepartment().getId();
+        managerId = first.getId();
+        middleCursor = service.getOrderedListing().page(null, Math.max(1, size / 2), e -> e).nextCursor();
+
+        List<Employee> all = service.getDirectory().all();
+        table = EmployeeTable.of(all);
+        Map<UUID, Integer> codes = new HashMap<>();
+        salaries = new double[all.size()];
+        departmentCodes = new int[all.size()];
+        for (int i = 0; i < all.size(); i++) {
+            salaries[i] = all.get(i).getSalary();
+            departmentCodes[i] = codes.computeIfAbsent(all.get(i).getDepartment().getId(), id -> codes.size());
+        }
+        departmentCount = codes.size();
+    }
+
+    // ---------- 1. total salary ----------
+
+    @Benchmark
+    public double totalSalaryFunctional() {
+        return service.getTotalSalaryFunctional();
+    }
+
+    @Benchmark
+    public double totalSalaryImperative() {
+        return service.getTotalSalaryImperative();
+    }
+
+    @Benchmark
+    public double totalSalaryParallel() {
+        return service.getTotalSalaryParallel();
+    }
+
+    @Benchmark
+    public double totalSalaryIncremental() {
+        return service.getTotalSalaryIncremental();
+    }
+
+    // ---------- 1b. salary column: scalar vs Vector API ----------
+
+    @Benchmark
+    public SalarySummary salaryColumnScalar() {
+        return scalar.summarize(salaries, salaries.length);
+    }
+
+    @Benchmark
+    public SalarySummary salaryColumnVector() {
+        return vector.summarize(salaries, salaries.length);
+    }
+
+    @Benchmark
+    public SalarySummary[] departmentSummariesScalar() {
+        return scalar.summarizeByGroup(salaries, departmentCodes, departmentCount, salaries.length);
+    }
+
+    @Benchmark
+    public SalarySummary[] departmentSummariesVector() {
+        return vector.summarizeByGroup(salaries, departmentCodes, departmentCount, salaries.length);
+    }
+
+    @Benchmark
+    public int[] rowsAboveAverageScalar() {
+        return scalar.rowsAbove(salaries, salaries.length, scalar.summarize(salaries, salaries.length).average());
+    }
+
+    @Benchmark
+    public int[] rowsAboveAverageVector() {
+        return vector.rowsAbove(salaries, salaries.length, vector.summarize(salaries, salaries.length).average());
+    }
+
+    @Benchmark
+    public List<String> namesAboveAverageColumnar() {
+        return table.namesAboveAverageSalary();
+    }
+
+    // ---------- 2. employees by department ----------
+
+    @Benchmark
+    public List<Employee> byDepartmentFunctional() {
+        return service.getEmployeesByDepartmentFunctional(departmentId);
+    }
+
+    @Benchmark
+    public List<Employee> byDepartmentImperative() {
+        return service.getEmployeesByDepartmentImperative(departmentId);
+    }
+
+    @Benchmark
+    public List<Employee> byDepartmentParallel() {
+        return service.getEmployeesByDepartmentParallel(departmentId);
+    }
+
+    @Benchmark
+    public List<Employee> byDepartmentIndexed() {
+        return service.getEmployeesByDepartmentIndexed(departmentId);
+    }
+
+    // ---------- 3. names above average ----------
+
+    @Benchmark
+    public List<String> namesAboveAverageFunctional() {
+        return service.getNamesAboveAverageSalaryFunctional();
+    }
+
+    @Benchmark
+    public List<String> namesAboveAverageImperative() {
+        return service.getNamesAboveAverageSalaryImperative();
+    }
+
+    @Benchmark
+    public List<String> namesAboveAverageParallel() {
+        return service.getNamesAboveAverageSalaryParallel();
+    }
+
+    @Benchmark
+    public List<String> namesAboveAverageIncremental() {
+        return service.getNamesAboveAverageSalaryIncremental();
+    }
+
+    // ---------- 3b. salary statistics ----------
+
+    @Benchmark
+    public CompensationStatistics salaryStatisticsFunctional() {
+        return service.getSalaryStatisticsFunctional();
+    }
+
+    @Benchmark
+    public CompensationStatistics salaryStatisticsImperative() {
+        return service.getSalaryStatisticsImperative();
+    }
+
+    @Benchmark
+    public CompensationStatistics salaryStatisticsParallel() {
+        return service.getSalaryStatisticsParallel();
+    }
+
+    // ---------- 4. managers ----------
+
+    @Benchmark
+    public List<Employee> managersFunctional() {
+        return service.getManagersFunctional();
+    }
+
+    @Benchmark
+    public List<Employee> managersImperative() {
+        return service.getManagersImperative();
+    }
+
+    @Benchmark
+    public List<Employee> managersParallel() {
+        return service.getManagersParallel();
+    }
+
+    @Benchmark
+    public List<Employee> managersIndexed() {
+        return service.getManagersIndexed();
+    }
+
+    // ---------- 5. employees by manager ----------
+
+    @Benchmark
+    public List<Employee> byManagerFunctional() {
+        return service.getEmployeesByManagerFunctional(managerId);
+    }
+
+    @Benchmark
+    public List<Employee> byManagerImperative() {
+        return service.getEmployeesByManagerImperative(managerId);
+    }
+
+    @Benchmark
+    public List<Employee> byManagerParallel() {
+        return service.getEmployeesByManagerParallel(managerId);
+    }
+
+    @Benchmark
+    public List<Employee> byManagerIndexed() {
+        return service.getEmployeesByManagerIndexed(managerId);
+    }
+
+    // ---------- 6. ordered list ----------
+
+    @Benchmark
+    public List<String> orderedListFunctional() {
+        return service.getOrderedListFunctional();
+    }
+
+    @Benchmark
+    public List<String> orderedListImperative() {
+        return service.getOrderedListImperative();
+    }
+
+    @Benchmark
+    public List<String> orderedListParallel() {
+        return service.getOrderedListParallel();
+    }
+
+    /** One 50-row page from the middle of the listing (keyset cursor) */
+    @Benchmark
+    public List<String> orderedListPage() {
+        return service.getOrderedListPage(middleCursor, 50).rows();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.employees.benchmark;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+import com.example.employees.repository.EmployeeRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic repository for benchmarks.
+ *
+ * Shape: about one manager per 10 employees, every non-manager reporting to a manager
+ * of the same department, 8 departments (the 20-employee size uses the real sample data).
+ */
+public class SyntheticEmployeeRepository extends EmployeeRepository {
+
+    private static final String[] DEPARTMENTS = {
+            "Development", "Human Resources", "Sales", "Quality Assurance",
+            "Finance", "Legal", "Marketing", "Operations"
+    };
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Carlos", "Ana", "Laura", "Diana", "David", "Andres", "Sofia", "Maria",
+            "Ricardo", "Camila", "Esteban", "Lucia", "Julian", "Veronica", "Felipe", "Daniela"
+    };
+    private static final String[] LAST_NAMES = {
+            "Doe", "Smith", "Perez", "Gomez", "Torres", "Martinez", "Garcia", "Lopez", "Castro",
+            "Vargas", "Diaz", "Ruiz", "Morales", "Rios", "Ortiz", "Pena", "Castillo", "Mendoza"
+    };
+    private static final Role[] STAFF_ROLES = {Role.DEVELOPER, Role.ANALYST, Role.TESTER, Role.DESIGNER, Role.SALES};
+
+    private final List<Employee> employees;
+
+    public SyntheticEmployeeRepository(int size) {
+        this.employees = size <= 20 ? super.getAllEmployees().subList(0, size) : generate(size);
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return employees;
+    }
+
+    private static List<Employee> generate(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        Department[] departments = new Department[DEPARTMENTS.length];
+        for (int d = 0; d < departments.length; d++) {
+            departments[d] = new Department(new UUID(0x1111L * (d + 1), d), DEPARTMENTS[d]);
+        }
+
+        int managerCount = Math.max(departments.length, size / 10);
+        UUID[] managerIds = new UUID[managerCount];
+        List<Employee> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            UUID id = new UUID(0xAAAAL, i);
+            boolean manager = i < managerCount;
+            int department = i % departments.length;
+            // Managers of department d are at positions d, d + 8, d + 16, ...
+            int managerSlot = manager ? -1
+                    : department + departments.length * random.nextInt(Math.max(1, (managerCount - department + departments.length - 1) / departments.length));
+            if (manager) {
+                managerIds[i] = id;
+            }
+            result.add(new Employee(
+                    id,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    manager ? Role.MANAGER : STAFF_ROLES[random.nextInt(STAFF_ROLES.length)],
+                    manager ? 7000 + random.nextInt(3000) : 3500 + random.nextInt(3000),
+                    departments[department],
+                    manager,
+                    manager ? null : managerIds[managerSlot],
+                    LocalDate.of(2005, 1, 1).plusDays(random.nextInt(7000))));
+        }
+        return result;
+    }
+}
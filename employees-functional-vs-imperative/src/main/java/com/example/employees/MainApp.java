@@ -2,6 +2,7 @@ package com.example.employees;
 
 import com.example.employees.model.Employee;
 import com.example.employees.service.EmployeeService;
+import com.example.employees.stats.CompensationStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import ch.qos.logback.classic.Level;
@@ -11,25 +12,27 @@ import java.util.List;
 import java.util.UUID;
 
 /**
- * Demonstration main for functional vs imperative methods.
- * Functional outputs are shown in BLUE, imperative in GREEN.
+ * Demonstration main for functional vs imperative vs parallel methods.
+ * Functional outputs are shown in BLUE, imperative in GREEN, parallel in CYAN.
  * The main title is GOLD (YELLOW).
  *
  * This version uses only methods that exist in EmployeeService:
- * - getTotalSalaryFunctional / getTotalSalaryImperative
- * - getNamesAboveAverageSalaryFunctional / getNamesAboveAverageSalaryImperative
- * - getManagersFunctional / getManagersImperative
+ * - getTotalSalaryFunctional / getTotalSalaryImperative / getTotalSalaryParallel
+ * - getNamesAboveAverageSalaryFunctional / getNamesAboveAverageSalaryImperative / getNamesAboveAverageSalaryParallel
+ * - getManagersFunctional / getManagersImperative / getManagersParallel
  * - findDepartmentIdByName
- * - getEmployeesByDepartmentFunctional / getEmployeesByDepartmentImperative
+ * - getEmployeesByDepartmentFunctional / getEmployeesByDepartmentImperative / getEmployeesByDepartmentParallel
  * - findManagerIdByName
- * - getEmployeesByManagerFunctional / getEmployeesByManagerImperative
- * - getOrderedListFunctional / getOrderedListImperative
+ * - getEmployeesByManagerFunctional / getEmployeesByManagerImperative / getEmployeesByManagerParallel
+ * - getOrderedListFunctional / getOrderedListImperative / getOrderedListParallel
+ * - getSalaryStatisticsParallel
  */
 public class MainApp {
 
     // Separate loggers for visual distinction
     private static final Logger logFunctional = LoggerFactory.getLogger("functional");
     private static final Logger logImperative = LoggerFactory.getLogger("imperative");
+    private static final Logger logParallel = LoggerFactory.getLogger("parallel");
     private static final Logger logMain = LoggerFactory.getLogger(MainApp.class);
 
     // ANSI Colors
@@ -39,6 +42,8 @@ public class MainApp {
     private static final String BRIGHT_BLUE = "\u001B[94m";  // Functional values
     private static final String GREEN = "\u001B[32m";        // Imperative label
     private static final String BRIGHT_GREEN = "\u001B[92m"; // Imperative values
+    private static final String CYAN = "\u001B[36m";         // Parallel label
+    private static final String BRIGHT_CYAN = "\u001B[96m";  // Parallel values
     private static final String MAGENTA = "\u001B[35m";      // Sections
 
     public static void main(String[] args) {
@@ -54,6 +59,7 @@ public class MainApp {
         // ---------------------- TOTAL SALARY ----------------------
         logFunctional.info(BLUE + "Total Salary (Functional): " + RESET + BRIGHT_BLUE + service.getTotalSalaryFunctional() + RESET);
         logImperative.info(GREEN + "Total Salary (Imperative): " + RESET + BRIGHT_GREEN + service.getTotalSalaryImperative() + RESET);
+        logParallel.info(CYAN + "Total Salary (Parallel): " + RESET + BRIGHT_CYAN + service.getTotalSalaryParallel() + RESET);
 
         // ---------------------- MANAGERS ----------------------
         logMain.info(MAGENTA + "\n-------------------- MANAGERS --------------------" + RESET);
@@ -74,10 +80,28 @@ public class MainApp {
             logImperative.info(BRIGHT_GREEN + "  (none)" + RESET);
         }
 
+        List<Employee> managersP = service.getManagersParallel();
+        logParallel.info(CYAN + "Managers (Parallel):" + RESET);
+        if (managersP != null && !managersP.isEmpty()) {
+            managersP.forEach(m -> logParallel.info(BRIGHT_CYAN + "  → " + m.getFullName() + " - " + m.getRole() + RESET));
+        } else {
+            logParallel.info(BRIGHT_CYAN + "  (none)" + RESET);
+        }
+
         // ---------------------- ABOVE AVERAGE SALARY ----------------------
         logMain.info(MAGENTA + "\n-------------------- ABOVE AVERAGE SALARY --------------------" + RESET);
         logFunctional.info(BLUE + "Names above avg (Functional): " + RESET + BRIGHT_BLUE + service.getNamesAboveAverageSalaryFunctional() + RESET);
         logImperative.info(GREEN + "Names above avg (Imperative): " + RESET + BRIGHT_GREEN + service.getNamesAboveAverageSalaryImperative() + RESET);
+        logParallel.info(CYAN + "Names above avg (Parallel): " + RESET + BRIGHT_CYAN + service.getNamesAboveAverageSalaryParallel() + RESET);
+
+        // ---------------------- SALARY STATISTICS ----------------------
+        logMain.info(MAGENTA + "\n-------------------- SALARY STATISTICS --------------------" + RESET);
+        CompensationStatistics statistics = service.getSalaryStatisticsParallel();
+        logParallel.info(CYAN + "Overall (Parallel): " + RESET + BRIGHT_CYAN + statistics.overall() + RESET);
+        statistics.byDepartment().forEach((d, s) ->
+                logParallel.info(BRIGHT_CYAN + "  → " + d.getName() + ": " + s + RESET));
+        statistics.byRole().forEach((r, s) ->
+                logParallel.info(BRIGHT_CYAN + "  → " + r + ": " + s + RESET));
 
         // ---------------------- EMPLOYEES BY DEPARTMENT ----------------------
         logMain.info(MAGENTA + "\n-------------------- EMPLOYEES BY DEPARTMENT (Development) --------------------" + RESET);
@@ -98,6 +122,14 @@ public class MainApp {
             } else {
                 logImperative.info(BRIGHT_GREEN + "  (none)" + RESET);
             }
+
+            List<Employee> byDeptP = service.getEmployeesByDepartmentParallel(devId);
+            logParallel.info(CYAN + "Employees in Development (Parallel):" + RESET);
+            if (byDeptP != null && !byDeptP.isEmpty()) {
+                byDeptP.forEach(e -> logParallel.info(BRIGHT_CYAN + "  → " + e.getFullName() + " (" + e.getRole() + ")" + RESET));
+            } else {
+                logParallel.info(BRIGHT_CYAN + "  (none)" + RESET);
+            }
         } else {
             logMain.warn("Department 'Development' not found in repository.");
         }
@@ -121,6 +153,14 @@ public class MainApp {
             } else {
                 logImperative.info(BRIGHT_GREEN + "  (none)" + RESET);
             }
+
+            List<Employee> reportsP = service.getEmployeesByManagerParallel(johnId);
+            logParallel.info(CYAN + "Reports to John Doe (Parallel):" + RESET);
+            if (reportsP != null && !reportsP.isEmpty()) {
+                reportsP.forEach(e -> logParallel.info(BRIGHT_CYAN + "  → " + e.getFullName() + " - " + e.getRole() + RESET));
+            } else {
+                logParallel.info(BRIGHT_CYAN + "  (none)" + RESET);
+            }
         } else {
             logMain.warn("Manager 'John Doe' not found in repository.");
         }
@@ -143,6 +183,14 @@ public class MainApp {
             logImperative.info(BRIGHT_GREEN + "  (none)" + RESET);
         }
 
+        logParallel.info(CYAN + "Ordered List (Parallel):" + RESET);
+        List<String> orderedP = service.getOrderedListParallel();
+        if (orderedP != null && !orderedP.isEmpty()) {
+            orderedP.forEach(s -> logParallel.info(BRIGHT_CYAN + "  " + s + RESET));
+        } else {
+            logParallel.info(BRIGHT_CYAN + "  (none)" + RESET);
+        }
+
         // Footer
         logMain.info(GOLD + "\n==================== END OF DEMO ====================" + RESET);
     }
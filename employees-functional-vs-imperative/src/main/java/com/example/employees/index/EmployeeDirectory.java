@@ -0,0 +1,113 @@
+package com.example.employees.index;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory directory of employees, built once from a repository snapshot.
+ *
+ * Indexes:
+ * - id → employee (hash index, O(1) lookups such as manager name resolution)
+ * - department id → employees
+ * - manager id → direct reports
+ * - role → employees
+ * - department name (case-insensitive) → department id
+ *
+ * Every bucket keeps the repository order, so answers from the indexes
+ * match a linear scan over the original list.
+ */
+public final class EmployeeDirectory {
+
+    private final List<Employee> employees;
+    private final Map<UUID, Employee> byId;
+    private final Map<UUID, List<Employee>> byDepartment;
+    private final Map<UUID, List<Employee>> byManager;
+    private final Map<Role, List<Employee>> byRole;
+    private final Map<String, UUID> departmentIdByName;
+    private final List<Employee> managers;
+
+    private EmployeeDirectory(List<Employee> source) {
+        this.employees = List.copyOf(source);
+
+        Map<UUID, Employee> ids = HashMap.newHashMap(employees.size());
+        Map<UUID, List<Employee>> departments = new LinkedHashMap<>();
+        Map<UUID, List<Employee>> reports = new LinkedHashMap<>();
+        Map<Role, List<Employee>> roles = new EnumMap<>(Role.class);
+        Map<String, UUID> departmentNames = new HashMap<>();
+        List<Employee> managerList = new ArrayList<>();
+
+        for (Employee e : employees) {
+            ids.putIfAbsent(e.getId(), e);
+            Department department = e.getDepartment();
+            if (department != null) {
+                departments.computeIfAbsent(department.getId(), k -> new ArrayList<>()).add(e);
+                departmentNames.putIfAbsent(department.getName().toLowerCase(Locale.ROOT), department.getId());
+            }
+            if (e.getManagerId() != null) {
+                reports.computeIfAbsent(e.getManagerId(), k -> new ArrayList<>()).add(e);
+            }
+            if (e.getRole() != null) {
+                roles.computeIfAbsent(e.getRole(), k -> new ArrayList<>()).add(e);
+            }
+            if (e.isManager()) {
+                managerList.add(e);
+            }
+        }
+
+        this.byId = ids;
+        this.byDepartment = freeze(departments);
+        this.byManager = freeze(reports);
+        this.byRole = freeze(roles);
+        this.departmentIdByName = departmentNames;
+        this.managers = List.copyOf(managerList);
+    }
+
+    public static EmployeeDirectory of(List<Employee> employees) {
+        return new EmployeeDirectory(Objects.requireNonNull(employees, "employees"));
+    }
+
+    /** All employees in repository order. */
+    public List<Employee> all() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        return Optional.ofNullable(id == null ? null : byId.get(id));
+    }
+
+    public List<Employee> byDepartment(UUID departmentId) {
+        return byDepartment.getOrDefault(departmentId, List.of());
+    }
+
+    /** Direct reports of the given manager. */
+    public List<Employee> byManager(UUID managerId) {
+        return byManager.getOrDefault(managerId, List.of());
+    }
+
+    public List<Employee> byRole(Role role) {
+        return byRole.getOrDefault(role, List.of());
+    }
+
+    public List<Employee> managers() {
+        return managers;
+    }
+
+    /** Case-insensitive department lookup; first department seen with that name wins. */
+    public Optional<UUID> findDepartmentIdByName(String name) {
+        return Optional.ofNullable(name == null ? null : departmentIdByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    // ---------- helpers ----------
+
+    private static <K> Map<K, List<Employee>> freeze(Map<K, List<Employee>> buckets) {
+        buckets.replaceAll((k, v) -> List.copyOf(v));
+        return buckets;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.employees.index;
+
+import com.example.employees.model.Employee;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Employees sorted by {@link Employee#getHireDate()} (ties by id), with salary prefix sums.
+ *
+ * Every date query is a pair of binary searches over the sorted epoch days:
+ * - O(log n) headcount and payroll of the indexed staff hired on or before a date
+ * - O(log n) number of hires in a date range, O(log n + k) to list them
+ * - O(b log n) tenure cohorts for b bucket boundaries, O(q log n) hires per quarter
+ * Each query has a department-filtered variant backed by its own sorted slice.
+ *
+ * The index only knows the staff it was built from: a terminated employee is simply absent,
+ * and salaries are the current ones. The date queries therefore describe the current staff
+ * ("hired by D", "current tenure as of D"), not the workforce or payroll that existed on D.
+ * Employees without hire date are left out of every query (see {@link #withoutHireDate()}).
+ * A hire moves every later position and prefix sum, so it rebuilds the index (O(n log n)).
+ */
+public final class HireDateIndex {
+
+    private static final Comparator<Employee> BY_HIRE_DATE = Comparator
+            .comparing(Employee::getHireDate)
+            .thenComparing(Employee::getId);
+
+    /** One sorted run of employees: hire days plus salaryPrefix[p] = sum of salaries of [0..p) */
+    private static final class Slice {
+        final List<Employee> employees;
+        final long[] days;
+        final double[] salaryPrefix;
+
+        Slice(List<Employee> sorted) {
+            this.employees = List.copyOf(sorted);
+            int n = employees.size();
+            this.days = new long[n];
+            this.salaryPrefix = new double[n + 1];
+            for (int p = 0; p < n; p++) {
+                Employee e = employees.get(p);
+                days[p] = e.getHireDate().toEpochDay();
+                salaryPrefix[p + 1] = salaryPrefix[p] + e.getSalary();
+            }
+        }
+
+        /** Number of employees hired on or before {@code date}. */
+        int countUpTo(LocalDate date) {
+            long day = date.toEpochDay();
+            int low = 0;
+            int high = days.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] <= day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Number of employees hired strictly before {@code date}. */
+        int countBefore(LocalDate date) {
+            return countUpTo(date.minusDays(1));
+        }
+    }
+
+    private static final Slice EMPTY = new Slice(List.of());
+
+    private final Slice all;
+    private final Map<UUID, Slice> byDepartment;
+    private final int withoutHireDate;
+
+    private HireDateIndex(List<Employee> employees) {
+        List<Employee> dated = new ArrayList<>(employees.size());
+        for (Employee e : employees) {
+            if (e.getHireDate() != null) {
+                dated.add(e);
+            }
+        }
+        dated.sort(BY_HIRE_DATE);
+        this.all = new Slice(dated);
+        this.withoutHireDate = employees.size() - dated.size();
+
+        // Splitting the sorted list keeps every department slice sorted
+        Map<UUID, List<Employee>> groups = new HashMap<>();
+        for (Employee e : dated) {
+            if (e.getDepartment() != null) {
+                groups.computeIfAbsent(e.getDepartment().getId(), id -> new ArrayList<>()).add(e);
+            }
+        }
+        Map<UUID, Slice> slices = HashMap.newHashMap(groups.size());
+        groups.forEach((id, list) -> slices.put(id, new Slice(list)));
+        this.byDepartment = slices;
+    }
+
+    public static HireDateIndex of(EmployeeDirectory directory) {
+        return of(Objects.requireNonNull(directory, "directory").all());
+    }
+
+    public static HireDateIndex of(List<Employee> employees) {
+        return new HireDateIndex(Objects.requireNonNull(employees, "employees"));
+    }
+
+    /** Employees left out of the index because they have no hire date. */
+    public int withoutHireDate() {
+        return withoutHireDate;
+    }
+
+    /** Indexed employees in hire-date order (ties by id). */
+    public List<Employee> inHireOrder() {
+        return all.employees;
+    }
+
+    // ---------- hired-by queries ----------
+
+    /** Indexed (current) employees hired on or before {@code date}. */
+    public int headcountHiredBy(LocalDate date) {
+        return all.countUpTo(requireDate(date));
+    }
+
+    public int headcountHiredBy(UUID departmentId, LocalDate date) {
+        return slice(departmentId).countUpTo(requireDate(date));
+    }
+
+    /** Current total salary of the indexed employees hired on or before {@code date}. */
+    public double payrollHiredBy(LocalDate date) {
+        return all.salaryPrefix[all.countUpTo(requireDate(date))];
+    }
+
+    public double payrollHiredBy(UUID departmentId, LocalDate date) {
+        Slice s = slice(departmentId);
+        return s.salaryPrefix[s.countUpTo(requireDate(date))];
+    }
+
+    // ---------- range queries (both ends inclusive) ----------
+
+    public int countHiresBetween(LocalDate from, LocalDate to) {
+        return countBetween(all, from, to);
+    }
+
+    public int countHiresBetween(UUID departmentId, LocalDate from, LocalDate to) {
+        return countBetween(slice(departmentId), from, to);
+    }
+
+    /** Hires in [from, to] in hire-date order: a view, O(log n) to create. */
+    public List<Employee> hiresBetween(LocalDate from, LocalDate to) {
+        return between(all, from, to);
+    }
+
+    public List<Employee> hiresBetween(UUID departmentId, LocalDate from, LocalDate to) {
+        return between(slice(departmentId), from, to);
+    }
+
+    // ---------- cohorts ----------
+
+    /**
+     * Hires per calendar quarter ("2021-Q3" → count), from the first to the last hire,
+     * including empty quarters.
+     */
+    public Map<String, Integer> hiresPerQuarter() {
+        return hiresPerQuarter(all);
+    }
+
+    public Map<String, Integer> hiresPerQuarter(UUID departmentId) {
+        return hiresPerQuarter(slice(departmentId));
+    }
+
+    /**
+     * Indexed employees hired by {@code asOf}, split by their full years of tenure on that date.
+     * For boundaries {1, 3, 5} the buckets are [0,1), [1,3), [3,5) and [5,∞) years,
+     * so the result has {@code boundaries.length + 1} entries summing to {@link #headcountHiredBy}.
+     *
+     * @param boundaries strictly increasing, positive numbers of years
+     */
+    public int[] tenureCohorts(LocalDate asOf, int... boundaries) {
+        return tenureCohorts(all, asOf, boundaries);
+    }
+
+    public int[] tenureCohorts(UUID departmentId, LocalDate asOf, int... boundaries) {
+        return tenureCohorts(slice(departmentId), asOf, boundaries);
+    }
+
+    // ---------- helpers ----------
+
+    private Slice slice(UUID departmentId) {
+        return departmentId == null ? EMPTY : byDepartment.getOrDefault(departmentId, EMPTY);
+    }
+
+    private static LocalDate requireDate(LocalDate date) {
+        return Objects.requireNonNull(date, "date");
+    }
+
+    private static int countBetween(Slice s, LocalDate from, LocalDate to) {
+        return Math.max(0, s.countUpTo(requireDate(to)) - s.countBefore(requireDate(from)));
+    }
+
+    private static List<Employee> between(Slice s, LocalDate from, LocalDate to) {
+        int start = s.countBefore(requireDate(from));
+        int end = s.countUpTo(requireDate(to));
+        return start < end ? s.employees.subList(start, end) : List.of();
+    }
+
+    private static Map<String, Integer> hiresPerQuarter(Slice s) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (s.employees.isEmpty()) {
+            return result;
+        }
+        LocalDate first = s.employees.get(0).getHireDate();
+        LocalDate last = s.employees.get(s.employees.size() - 1).getHireDate();
+        LocalDate quarter = LocalDate.of(first.getYear(), (first.getMonthValue() - 1) / 3 * 3 + 1, 1);
+        int before = s.countBefore(quarter);
+        while (!quarter.isAfter(last)) {
+            LocalDate next = quarter.plusMonths(3);
+            int upTo = s.countBefore(next);
+            result.put(quarter.getYear() + "-Q" + ((quarter.getMonthValue() - 1) / 3 + 1), upTo - before);
+            before = upTo;
+            quarter = next;
+        }
+        return result;
+    }
+
+    private static int[] tenureCohorts(Slice s, LocalDate asOf, int[] boundaries) {
+        requireDate(asOf);
+        for (int i = 0; i < boundaries.length; i++) {
+            if (boundaries[i] <= 0 || (i > 0 && boundaries[i] <= boundaries[i - 1])) {
+                throw new IllegalArgumentException("Tenure boundaries must be positive and increasing: "
+                        + Arrays.toString(boundaries));
+            }
+        }
+        // atLeast(b) = hired on or before asOf - b years
+        int[] cohorts = new int[boundaries.length + 1];
+        int previous = s.countUpTo(asOf);
+        for (int i = 0; i < boundaries.length; i++) {
+            int atLeast = s.countUpTo(asOf.minusYears(boundaries[i]));
+            cohorts[i] = previous - atLeast;
+            previous = atLeast;
+        }
+        cohorts[boundaries.length] = previous;
+        return cohorts;
+    }
+}
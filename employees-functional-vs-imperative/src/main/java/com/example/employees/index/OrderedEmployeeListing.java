@@ -0,0 +1,223 @@
+package com.example.employees.index;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Employees pre-sorted by department name, last name and first name (ties by id),
+ * served in pages through keyset cursors.
+ *
+ * - The order is computed once: each name is replaced by its rank in a sorted dictionary,
+ *   the three ranks are packed into one {@code long} and the packed keys are sorted as
+ *   primitives (a comparator sort is used only if the ranks do not fit in 63 bits).
+ * - A cursor holds the sort values of the last row of a page, not an offset, so it stays
+ *   meaningful for a listing rebuilt after hires or terminations.
+ * - {@link #page(String, int, Function)} finds the cursor with a binary search and maps
+ *   only the rows of the page: O(log n + page) per request.
+ *
+ * A new name shifts the dictionary ranks, so changes rebuild the listing (O(n log n));
+ * cursors issued by the previous listing keep working on the new one.
+ */
+public final class OrderedEmployeeListing {
+
+    /**
+     * One page of rows and the cursor for the next one ({@code null} on the last page).
+     */
+    public record Page<T>(List<T> rows, String nextCursor) {
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
+    }
+
+    /**
+     * The listing order: department name, last name, first name, then id. Full (non-paged)
+     * ordered lists sort with it too, so their rows line up with the pages.
+     */
+    public static final Comparator<Employee> ORDER = Comparator
+            .comparing((Employee e) -> e.getDepartment().getName())
+            .thenComparing(Employee::getLastName)
+            .thenComparing(Employee::getFirstName)
+            .thenComparing(Employee::getId);
+
+    private static final char SEPARATOR = '\0';
+
+    private final List<Employee> employees;
+
+    /** Listing position → ordinal in {@link #employees} */
+    private final int[] order;
+
+    private OrderedEmployeeListing(List<Employee> employees) {
+        this.employees = employees;
+        this.order = sort(employees);
+    }
+
+    public static OrderedEmployeeListing of(EmployeeDirectory directory) {
+        return new OrderedEmployeeListing(Objects.requireNonNull(directory, "directory").all());
+    }
+
+    public static OrderedEmployeeListing of(List<Employee> employees) {
+        return new OrderedEmployeeListing(List.copyOf(Objects.requireNonNull(employees, "employees")));
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    /** The whole listing as a view: O(1) to create, O(1) per element. */
+    public List<Employee> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Employee get(int index) {
+                return employees.get(order[index]);
+            }
+
+            @Override
+            public int size() {
+                return order.length;
+            }
+        };
+    }
+
+    /**
+     * Rows after {@code cursor} (from the start when null), mapped with {@code mapper}.
+     *
+     * @param cursor   {@link Page#nextCursor()} of the previous page, or null
+     * @param pageSize maximum number of rows, positive
+     * @throws IllegalArgumentException if the cursor was not produced by a listing
+     */
+    public <T> Page<T> page(String cursor, int pageSize, Function<Employee, T> mapper) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        int from = cursor == null ? 0 : positionAfter(decode(cursor));
+        int to = (int) Math.min(order.length, (long) from + pageSize);
+        List<T> rows = new ArrayList<>(to - from);
+        for (int p = from; p < to; p++) {
+            rows.add(mapper.apply(employees.get(order[p])));
+        }
+        String next = to < order.length && to > from ? encode(employees.get(order[to - 1])) : null;
+        return new Page<>(List.copyOf(rows), next);
+    }
+
+    // ---------- sorting ----------
+
+    private static int[] sort(List<Employee> employees) {
+        int n = employees.size();
+        Map<String, Integer> departments = ranks(employees, e -> e.getDepartment().getName());
+        Map<String, Integer> lastNames = ranks(employees, Employee::getLastName);
+        Map<String, Integer> firstNames = ranks(employees, Employee::getFirstName);
+        int lastBits = bits(lastNames.size());
+        int firstBits = bits(firstNames.size());
+        if (bits(departments.size()) + lastBits + firstBits > 63 || n == 0) {
+            return comparatorSort(employees);
+        }
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            Employee e = employees.get(i);
+            keys[i] = (long) departments.get(e.getDepartment().getName()) << (lastBits + firstBits)
+                    | (long) lastNames.get(e.getLastName()) << firstBits
+                    | firstNames.get(e.getFirstName());
+        }
+
+        // Dense rank of each packed key, then (rank << 32 | ordinal) sorts as a primitive
+        long[] distinct = Arrays.stream(keys).sorted().distinct().toArray();
+        long[] composite = new long[n];
+        for (int i = 0; i < n; i++) {
+            composite[i] = (long) Arrays.binarySearch(distinct, keys[i]) << 32 | i;
+        }
+        Arrays.sort(composite);
+
+        int[] order = new int[n];
+        for (int p = 0; p < n; p++) {
+            order[p] = (int) composite[p];
+        }
+        // Same department and full name: order the (short) run by id
+        for (int start = 0, end; start < n; start = end) {
+            end = start + 1;
+            while (end < n && composite[end] >>> 32 == composite[start] >>> 32) {
+                end++;
+            }
+            if (end - start > 1) {
+                sortRunById(employees, order, start, end);
+            }
+        }
+        return order;
+    }
+
+    private static Map<String, Integer> ranks(List<Employee> employees, Function<Employee, String> field) {
+        String[] sorted = employees.stream().map(field).distinct().sorted().toArray(String[]::new);
+        Map<String, Integer> ranks = HashMap.newHashMap(sorted.length);
+        for (int r = 0; r < sorted.length; r++) {
+            ranks.put(sorted[r], r);
+        }
+        return ranks;
+    }
+
+    private static int bits(int distinct) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, distinct - 1));
+    }
+
+    private static int[] comparatorSort(List<Employee> employees) {
+        return IntStream.range(0, employees.size()).boxed()
+                .sorted(Comparator.comparing(employees::get, ORDER))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static void sortRunById(List<Employee> employees, int[] order, int start, int end) {
+        Integer[] run = new Integer[end - start];
+        for (int p = start; p < end; p++) {
+            run[p - start] = order[p];
+        }
+        Arrays.sort(run, Comparator.comparing(o -> employees.get(o).getId()));
+        for (int p = start; p < end; p++) {
+            order[p] = run[p - start];
+        }
+    }
+
+    // ---------- cursors ----------
+
+    /** First listing position strictly after the cursor values. */
+    private int positionAfter(Employee cursor) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(employees.get(order[mid]), cursor) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String encode(Employee last) {
+        String values = last.getDepartment().getName() + SEPARATOR + last.getLastName()
+                + SEPARATOR + last.getFirstName() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(values.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Cursor values as a probe employee (only the sort fields are set). */
+    private static Employee decode(String cursor) {
+        String[] values;
+        UUID id;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), -1);
+            id = values.length == 4 ? UUID.fromString(values[3]) : null;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor);
+        }
+        return new Employee(id, values[2], values[1], null, 0, new Department(null, values[0]), false, null, null);
+    }
+}
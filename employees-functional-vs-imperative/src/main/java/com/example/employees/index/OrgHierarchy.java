@@ -0,0 +1,191 @@
+package com.example.employees.index;
+
+import com.example.employees.model.Employee;
+
+import java.util.*;
+
+/**
+ * Reporting hierarchy built from {@link Employee#getManagerId()} using an Euler tour.
+ *
+ * Each employee gets an interval [enter, exit) over the tour order; the subtree of
+ * an employee is exactly the contiguous slice of the tour inside its interval.
+ * With salary prefix sums over the tour this gives:
+ * - O(1) "is X under Y" (interval containment)
+ * - O(1) subtree headcount and payroll
+ * - O(k) enumeration of the k people in a subtree
+ *
+ * Employees without a manager, or whose manager is not in the directory, are roots.
+ * Management cycles are broken at the first employee of the cycle in repository order.
+ * Moving a manager shifts the intervals of everything after it in the tour, so an org
+ * change rebuilds the hierarchy (O(n)) instead of patching it.
+ */
+public final class OrgHierarchy {
+
+    private final List<Employee> employees;
+    private final Map<UUID, Integer> ordinalById;
+
+    /** Tour interval per ordinal: subtree = tour[enter, exit) */
+    private final int[] enter;
+    private final int[] exit;
+    private final int[] depth;
+
+    /** Tour position → ordinal */
+    private final int[] tour;
+
+    /** salaryPrefix[p] = sum of salaries of tour[0..p) */
+    private final double[] salaryPrefix;
+
+    private final List<Employee> roots;
+
+    private OrgHierarchy(EmployeeDirectory directory) {
+        this.employees = directory.all();
+        int n = employees.size();
+
+        this.ordinalById = HashMap.newHashMap(n);
+        for (int i = 0; i < n; i++) {
+            ordinalById.putIfAbsent(employees.get(i).getId(), i);
+        }
+
+        this.enter = new int[n];
+        this.exit = new int[n];
+        this.depth = new int[n];
+        this.tour = new int[n];
+        this.salaryPrefix = new double[n + 1];
+        Arrays.fill(enter, -1);
+
+        List<Employee> rootList = new ArrayList<>();
+        int position = 0;
+        for (int i = 0; i < n; i++) {
+            if (enter[i] < 0 && isRoot(employees.get(i), i)) {
+                rootList.add(employees.get(i));
+                position = visit(i, position, directory);
+            }
+        }
+        // Whatever is still unvisited hangs from a management cycle
+        for (int i = 0; i < n; i++) {
+            if (enter[i] < 0) {
+                rootList.add(employees.get(i));
+                position = visit(i, position, directory);
+            }
+        }
+        this.roots = List.copyOf(rootList);
+
+        for (int p = 0; p < n; p++) {
+            salaryPrefix[p + 1] = salaryPrefix[p] + employees.get(tour[p]).getSalary();
+        }
+    }
+
+    public static OrgHierarchy of(EmployeeDirectory directory) {
+        return new OrgHierarchy(Objects.requireNonNull(directory, "directory"));
+    }
+
+    public static OrgHierarchy of(List<Employee> employees) {
+        return of(EmployeeDirectory.of(employees));
+    }
+
+    /** Top-level employees (no manager inside the directory). */
+    public List<Employee> roots() {
+        return roots;
+    }
+
+    /**
+     * True when {@code employeeId} reports, directly or transitively, to {@code managerId}.
+     * An employee is not under themselves.
+     */
+    public boolean isUnder(UUID employeeId, UUID managerId) {
+        int e = ordinal(employeeId);
+        int m = ordinal(managerId);
+        return e >= 0 && m >= 0 && e != m && enter[m] <= enter[e] && enter[e] < exit[m];
+    }
+
+    /** Number of people in the subtree rooted at the employee, including them (0 if unknown). */
+    public int subtreeSize(UUID employeeId) {
+        int o = ordinal(employeeId);
+        return o < 0 ? 0 : exit[o] - enter[o];
+    }
+
+    /** Number of direct and transitive reports (subtree minus the employee). */
+    public int headcountUnder(UUID managerId) {
+        return Math.max(0, subtreeSize(managerId) - 1);
+    }
+
+    /** Total salary of the subtree rooted at the employee, including them. */
+    public double subtreeSalary(UUID employeeId) {
+        int o = ordinal(employeeId);
+        return o < 0 ? 0.0 : salaryPrefix[exit[o]] - salaryPrefix[enter[o]];
+    }
+
+    /**
+     * Everyone under the manager (direct and transitive), in depth-first order.
+     * The list is a view over the tour: O(1) to create, O(k) to iterate.
+     */
+    public List<Employee> reportsUnder(UUID managerId) {
+        int o = ordinal(managerId);
+        if (o < 0) {
+            return List.of();
+        }
+        int from = enter[o] + 1;
+        int to = exit[o];
+        return new AbstractList<>() {
+            @Override
+            public Employee get(int index) {
+                Objects.checkIndex(index, to - from);
+                return employees.get(tour[from + index]);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+
+    /** Reporting depth: 0 for roots, 1 for their direct reports, and so on. */
+    public OptionalInt depth(UUID employeeId) {
+        int o = ordinal(employeeId);
+        return o < 0 ? OptionalInt.empty() : OptionalInt.of(depth[o]);
+    }
+
+    // ---------- helpers ----------
+
+    private int ordinal(UUID id) {
+        return id == null ? -1 : ordinalById.getOrDefault(id, -1);
+    }
+
+    private boolean isRoot(Employee e, int ordinal) {
+        int manager = ordinal(e.getManagerId());
+        return manager < 0 || manager == ordinal;
+    }
+
+    /**
+     * Iterative depth-first visit (no recursion, so deep chains cannot overflow the stack).
+     * Children are taken from the directory's manager index, in repository order.
+     */
+    private int visit(int root, int position, EmployeeDirectory directory) {
+        Deque<int[]> stack = new ArrayDeque<>();   // {ordinal, next child index}
+        enter[root] = position;
+        tour[position++] = root;
+        depth[root] = 0;
+        stack.push(new int[]{root, 0});
+
+        while (!stack.isEmpty()) {
+            int[] frame = stack.peek();
+            List<Employee> children = directory.byManager(employees.get(frame[0]).getId());
+            int child = -1;
+            while (frame[1] < children.size() && child < 0) {
+                int candidate = ordinal(children.get(frame[1]++).getId());
+                child = enter[candidate] < 0 ? candidate : -1;
+            }
+            if (child < 0) {
+                exit[frame[0]] = position;
+                stack.pop();
+            } else {
+                enter[child] = position;
+                tour[position++] = child;
+                depth[child] = depth[frame[0]] + 1;
+                stack.push(new int[]{child, 0});
+            }
+        }
+        return position;
+    }
+}
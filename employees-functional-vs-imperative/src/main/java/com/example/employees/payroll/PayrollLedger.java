@@ -0,0 +1,247 @@
+package com.example.employees.payroll;
+
+import com.example.employees.index.EmployeeDirectory;
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.repository.EmployeeRepository;
+
+import java.util.*;
+
+/**
+ * Payroll aggregates kept up to date by workforce events instead of full rescans.
+ *
+ * Events: hire, terminate, change salary, move department, change manager.
+ * Each event is O(log n) and maintains:
+ * - total salary and mean (compensated sums, so long event streams do not drift)
+ * - salary total and headcount per department
+ * - a salary-ordered set of employees, so "above average" is a tail view: O(log n + k)
+ *
+ * Employees are immutable; every change replaces the stored instance with an updated copy
+ * at the same position, so {@link #getDirectory()} keeps hire order.
+ * Not thread-safe: callers must serialize events.
+ */
+public final class PayrollLedger {
+
+    /** Salary order, ties broken by id so every employee has a unique position. */
+    private static final Comparator<Employee> BY_SALARY =
+            Comparator.comparingDouble(Employee::getSalary).thenComparing(Employee::getId);
+
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final Map<UUID, Employee> employees = new LinkedHashMap<>();
+    private final NavigableSet<Employee> bySalary = new TreeSet<>(BY_SALARY);
+    private final CompensatedSum totalSalary = new CompensatedSum();
+    private final Map<UUID, DepartmentTotals> byDepartment = new LinkedHashMap<>();
+
+    /** Directory snapshot, rebuilt lazily after the first query following an event */
+    private EmployeeDirectory directory;
+
+    public PayrollLedger(Collection<Employee> initial) {
+        initial.forEach(this::hire);
+    }
+
+    public static PayrollLedger from(EmployeeRepository repository) {
+        return new PayrollLedger(repository.getAllEmployees());
+    }
+
+    // ========== EVENTS ==========
+
+    public void hire(Employee employee) {
+        Objects.requireNonNull(employee, "employee");
+        if (employees.containsKey(employee.getId())) {
+            throw new IllegalArgumentException("Employee already hired: " + employee.getId());
+        }
+        add(employee);
+    }
+
+    /** @return the employee as they were when terminated */
+    public Employee terminate(UUID employeeId) {
+        Employee current = require(employeeId);
+        remove(current);
+        return current;
+    }
+
+    public Employee changeSalary(UUID employeeId, double newSalary) {
+        if (!(newSalary >= 0) || Double.isInfinite(newSalary)) {
+            throw new IllegalArgumentException("Salary must be finite and non-negative: " + newSalary);
+        }
+        Employee e = require(employeeId);
+        return replace(e, copy(e, newSalary, e.getDepartment(), e.getManagerId()));
+    }
+
+    public Employee moveDepartment(UUID employeeId, Department department) {
+        Objects.requireNonNull(department, "department");
+        Employee e = require(employeeId);
+        return replace(e, copy(e, e.getSalary(), department, e.getManagerId()));
+    }
+
+    /**
+     * @param managerId new manager, or null for none
+     * @throws IllegalArgumentException if the manager is not employed or already reports to the employee
+     */
+    public Employee changeManager(UUID employeeId, UUID managerId) {
+        Employee e = require(employeeId);
+        if (managerId != null) {
+            require(managerId);
+            requireNoCycle(employeeId, managerId);
+        }
+        return replace(e, copy(e, e.getSalary(), e.getDepartment(), managerId));
+    }
+
+    // ========== QUERIES ==========
+
+    public int headcount() {
+        return employees.size();
+    }
+
+    public double getTotalSalary() {
+        return totalSalary.value();
+    }
+
+    /** @return 0.0 when there are no employees */
+    public double getAverageSalary() {
+        return employees.isEmpty() ? 0.0 : totalSalary.value() / employees.size();
+    }
+
+    public double getDepartmentTotal(UUID departmentId) {
+        DepartmentTotals totals = byDepartment.get(departmentId);
+        return totals == null ? 0.0 : totals.salary.value();
+    }
+
+    public int getDepartmentHeadcount(UUID departmentId) {
+        DepartmentTotals totals = byDepartment.get(departmentId);
+        return totals == null ? 0 : totals.headcount;
+    }
+
+    /** Department id → salary total, for departments with at least one employee. */
+    public Map<UUID, Double> getDepartmentTotals() {
+        Map<UUID, Double> result = new LinkedHashMap<>();
+        byDepartment.forEach((id, totals) -> result.put(id, totals.salary.value()));
+        return result;
+    }
+
+    /**
+     * Employees earning strictly more than the current mean, in ascending salary order.
+     * A view over the salary-ordered set (valid until the next event): O(log n) to create, O(k) to iterate.
+     */
+    public SortedSet<Employee> getAboveAverage() {
+        if (employees.isEmpty()) {
+            return Collections.emptySortedSet();
+        }
+        Employee probe = new Employee(MAX_ID, "", "", null, getAverageSalary(), null, false, null, null);
+        return Collections.unmodifiableSortedSet(bySalary.tailSet(probe, false));
+    }
+
+    /** Full names above the mean, sorted alphabetically (same contract as the service). */
+    public List<String> getNamesAboveAverage() {
+        return getAboveAverage().stream()
+                .map(Employee::getFullName)
+                .sorted()
+                .toList();
+    }
+
+    public Optional<Employee> findById(UUID employeeId) {
+        return Optional.ofNullable(employees.get(employeeId));
+    }
+
+    /** Indexed snapshot of the current workforce (cached until the next event). */
+    public EmployeeDirectory getDirectory() {
+        if (directory == null) {
+            directory = EmployeeDirectory.of(new ArrayList<>(employees.values()));
+        }
+        return directory;
+    }
+
+    // ---------- helpers ----------
+
+    private Employee require(UUID employeeId) {
+        Employee e = employeeId == null ? null : employees.get(employeeId);
+        if (e == null) {
+            throw new IllegalArgumentException("Unknown employee: " + employeeId);
+        }
+        return e;
+    }
+
+    /** Walks up from the new manager: O(depth), bounded by the headcount if the data already has a cycle. */
+    private void requireNoCycle(UUID employeeId, UUID managerId) {
+        UUID cursor = managerId;
+        for (int steps = 0; cursor != null && steps <= employees.size(); steps++) {
+            if (cursor.equals(employeeId)) {
+                throw new IllegalArgumentException("Management cycle: " + managerId + " reports to " + employeeId);
+            }
+            Employee manager = employees.get(cursor);
+            cursor = manager == null ? null : manager.getManagerId();
+        }
+    }
+
+    private Employee replace(Employee current, Employee updated) {
+        uncount(current);
+        count(updated);
+        employees.put(updated.getId(), updated);
+        directory = null;
+        return updated;
+    }
+
+    private void add(Employee e) {
+        employees.put(e.getId(), e);
+        count(e);
+        directory = null;
+    }
+
+    private void remove(Employee e) {
+        employees.remove(e.getId());
+        uncount(e);
+        directory = null;
+    }
+
+    private void count(Employee e) {
+        bySalary.add(e);
+        totalSalary.add(e.getSalary());
+        if (e.getDepartment() != null) {
+            DepartmentTotals totals = byDepartment.computeIfAbsent(e.getDepartment().getId(), k -> new DepartmentTotals());
+            totals.salary.add(e.getSalary());
+            totals.headcount++;
+        }
+    }
+
+    private void uncount(Employee e) {
+        bySalary.remove(e);
+        totalSalary.add(-e.getSalary());
+        if (e.getDepartment() != null) {
+            DepartmentTotals totals = byDepartment.get(e.getDepartment().getId());
+            totals.salary.add(-e.getSalary());
+            if (--totals.headcount == 0) {
+                byDepartment.remove(e.getDepartment().getId());
+            }
+        }
+    }
+
+    private static Employee copy(Employee e, double salary, Department department, UUID managerId) {
+        return new Employee(e.getId(), e.getFirstName(), e.getLastName(), e.getRole(), salary,
+                department, e.isManager(), managerId, e.getHireDate());
+    }
+
+    private static final class DepartmentTotals {
+        final CompensatedSum salary = new CompensatedSum();
+        int headcount;
+    }
+
+    /**
+     * Neumaier compensated sum: additions and removals of large workforces stay exact
+     * to within one rounding of the true total.
+     */
+    private static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double t = sum + value;
+            compensation += Math.abs(sum) >= Math.abs(value) ? (sum - t) + value : (value - t) + sum;
+            sum = t;
+        }
+
+        double value() {
+            return sum + compensation;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.example.employees.repository;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the byte range [start, end) of an employee CSV file.
+ *
+ * - Reads with positional {@link FileChannel} reads into one reusable buffer
+ *   (thread-safe on a shared channel, so split halves can run in parallel).
+ * - Range boundaries are always line starts: {@link #trySplit()} cuts at the first
+ *   newline after the midpoint.
+ * - Fields are decoded straight from the bytes: UUIDs, numbers, dates, roles and
+ *   booleans without intermediate Strings; only names become Strings.
+ */
+final class EmployeeCsvSpliterator implements Spliterator<Employee> {
+
+    /** Resolves (and caches) a department from its id and the name bytes. */
+    @FunctionalInterface
+    interface DepartmentResolver {
+        Department resolve(UUID id, byte[] bytes, int offset, int length);
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_SPLIT = 256 * 1024;
+    private static final int AVERAGE_LINE = 160;
+    private static final int FIELDS = 10;
+
+    private static final Role[] ROLES = Role.values();
+    private static final byte[][] ROLE_NAMES = new byte[ROLES.length][];
+
+    static {
+        for (Role role : ROLES) {
+            ROLE_NAMES[role.ordinal()] = role.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final FileChannel channel;
+    private final DepartmentResolver departments;
+
+    /** Next file position to read into the buffer, and end of this range */
+    private long position;
+    private final long end;
+
+    private byte[] buffer;
+    private int lineStart;
+    private int limit;
+    private boolean started;
+
+    private final int[] fieldStart = new int[FIELDS];
+    private final int[] fieldEnd = new int[FIELDS];
+
+    EmployeeCsvSpliterator(FileChannel channel, long start, long end, DepartmentResolver departments) {
+        this.channel = channel;
+        this.position = start;
+        this.end = end;
+        this.departments = departments;
+    }
+
+    /**
+     * Position of the first data line (skips the header if present).
+     */
+    static long dataStart(FileChannel channel) throws IOException {
+        byte[] header = FileEmployeeRepository.HEADER.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer first = ByteBuffer.allocate(header.length + 2);
+        channel.read(first, 0);
+        byte[] bytes = Arrays.copyOf(first.array(), first.position());
+        if (bytes.length < header.length || !Arrays.equals(header, 0, header.length, bytes, 0, header.length)) {
+            return 0;
+        }
+        int skip = header.length;
+        skip += skip < bytes.length && bytes[skip] == '\r' ? 1 : 0;
+        skip += skip < bytes.length && bytes[skip] == '\n' ? 1 : 0;
+        return skip;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Employee> action) {
+        if (!started) {
+            started = true;
+            buffer = new byte[BUFFER_SIZE];
+        }
+        while (true) {
+            int newline = indexOf((byte) '\n', lineStart, limit);
+            if (newline >= 0) {
+                int from = lineStart;
+                lineStart = newline + 1;
+                if (emit(from, newline, action)) {
+                    return true;
+                }
+            } else if (position < end) {
+                refill();
+            } else if (lineStart < limit) {
+                // Last line without a trailing newline
+                int from = lineStart;
+                lineStart = limit;
+                if (emit(from, limit, action)) {
+                    return true;
+                }
+            } else {
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<Employee> trySplit() {
+        if (started || end - position < MIN_SPLIT) {
+            return null;
+        }
+        long split = nextLineStart(position + (end - position) / 2);
+        if (split <= position || split >= end) {
+            return null;
+        }
+        EmployeeCsvSpliterator prefix = new EmployeeCsvSpliterator(channel, position, split, departments);
+        position = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(0, (end - position) / AVERAGE_LINE + (limit - lineStart > 0 ? 1 : 0));
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    // ---------- reading ----------
+
+    private void refill() {
+        if (lineStart > 0) {
+            System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+            limit -= lineStart;
+            lineStart = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);   // line longer than the buffer
+        }
+        ByteBuffer target = ByteBuffer.wrap(buffer, limit, (int) Math.min(buffer.length - limit, end - position));
+        try {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new IllegalStateException("File truncated while reading at position " + position);
+            }
+            position += read;
+            limit += read;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** First line start at or after {@code from} (i.e. one past the next newline), or {@code end}. */
+    private long nextLineStart(long from) {
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long at = from;
+        try {
+            while (at < end) {
+                probe.clear().limit((int) Math.min(probe.capacity(), end - at));
+                int read = channel.read(probe, at);
+                if (read <= 0) {
+                    return end;
+                }
+                int newline = indexOf(probe.array(), (byte) '\n', 0, read);
+                if (newline >= 0) {
+                    return at + newline + 1;
+                }
+                at += read;
+            }
+            return end;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int indexOf(byte value, int from, int to) {
+        return indexOf(buffer, value, from, to);
+    }
+
+    private static int indexOf(byte[] bytes, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ---------- parsing ----------
+
+    private boolean emit(int from, int to, Consumer<? super Employee> action) {
+        if (to > from && buffer[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return false;   // blank line
+        }
+        action.accept(parse(from, to));
+        return true;
+    }
+
+    private Employee parse(int from, int to) {
+        int field = 0;
+        fieldStart[0] = from;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == ',') {
+                if (field == FIELDS - 1) {
+                    throw malformed(from, to);
+                }
+                fieldEnd[field++] = i;
+                fieldStart[field] = i + 1;
+            }
+        }
+        if (field != FIELDS - 1) {
+            throw malformed(from, to);
+        }
+        fieldEnd[field] = to;
+
+        UUID departmentId = uuidOrNull(5);
+        Department department = departmentId == null ? null
+                : departments.resolve(departmentId, buffer, fieldStart[6], fieldEnd[6] - fieldStart[6]);
+
+        return new Employee(
+                uuid(fieldStart[0], fieldEnd[0]),
+                text(1),
+                text(2),
+                length(3) == 0 ? null : role(fieldStart[3], fieldEnd[3]),
+                decimal(fieldStart[4], fieldEnd[4]),
+                department,
+                length(7) == 4 && buffer[fieldStart[7]] == 't',
+                uuidOrNull(8),
+                length(9) == 0 ? null : date(fieldStart[9], fieldEnd[9]));
+    }
+
+    private int length(int field) {
+        return fieldEnd[field] - fieldStart[field];
+    }
+
+    private String text(int field) {
+        return new String(buffer, fieldStart[field], length(field), StandardCharsets.UTF_8);
+    }
+
+    private UUID uuidOrNull(int field) {
+        return length(field) == 0 ? null : uuid(fieldStart[field], fieldEnd[field]);
+    }
+
+    /** Canonical 8-4-4-4-12 form, decoded nibble by nibble into the two halves. */
+    private UUID uuid(int from, int to) {
+        if (to - from != 36 || buffer[from + 8] != '-' || buffer[from + 13] != '-'
+                || buffer[from + 18] != '-' || buffer[from + 23] != '-') {
+            return UUID.fromString(new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+        }
+        long most = 0;
+        long least = 0;
+        int nibbles = 0;
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '-') {
+                continue;
+            }
+            long digit = hex(buffer[i], from, to);
+            if (nibbles++ < 16) {
+                most = (most << 4) | digit;
+            } else {
+                least = (least << 4) | digit;
+            }
+        }
+        return new UUID(most, least);
+    }
+
+    private int hex(byte b, int from, int to) {
+        if (b >= '0' && b <= '9') return b - '0';
+        if (b >= 'a' && b <= 'f') return b - 'a' + 10;
+        if (b >= 'A' && b <= 'F') return b - 'A' + 10;
+        throw new IllegalArgumentException("Invalid UUID: " + new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Plain decimals ("6200.0", "5499.75") are decoded as digits / 10^k, which is correctly
+     * rounded and therefore equal to Double.parseDouble; anything else falls back to it.
+     */
+    private double decimal(int from, int to) {
+        long digits = 0;
+        int fraction = -1;
+        boolean plain = to > from && to - from <= 15;   // at most 15 digits: exact in a double
+        for (int i = from; i < to && plain; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                digits = digits * 10 + (b - '0');
+                fraction += fraction >= 0 ? 1 : 0;
+            } else if (b == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                plain = false;
+            }
+        }
+        if (!plain) {
+            return Double.parseDouble(new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+        }
+        return fraction <= 0 ? digits : digits / POWERS_OF_TEN[fraction];
+    }
+
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    /** ISO yyyy-MM-dd */
+    private LocalDate date(int from, int to) {
+        if (to - from != 10 || buffer[from + 4] != '-' || buffer[from + 7] != '-') {
+            return LocalDate.parse(new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+        }
+        return LocalDate.of(number(from, from + 4), number(from + 5, from + 7), number(from + 8, from + 10));
+    }
+
+    private int number(int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Invalid number: " + new String(buffer, from, to - from, StandardCharsets.US_ASCII));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private Role role(int from, int to) {
+        for (Role role : ROLES) {
+            byte[] name = ROLE_NAMES[role.ordinal()];
+            if (Arrays.equals(name, 0, name.length, buffer, from, to)) {
+                return role;
+            }
+        }
+        throw new IllegalArgumentException("Unknown role: " + new String(buffer, from, to - from, StandardCharsets.UTF_8));
+    }
+
+    private IllegalArgumentException malformed(int from, int to) {
+        return new IllegalArgumentException("Malformed employee line: "
+                + new String(buffer, from, to - from, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.employees.repository;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * File-backed repository that streams employees from a CSV file instead of holding them in memory.
+ *
+ * Format (UTF-8, one employee per line, header optional):
+ * <pre>
+ * id,firstName,lastName,role,salary,departmentId,departmentName,isManager,managerId,hireDate
+ * </pre>
+ * Empty managerId / role / department fields mean null. Fields cannot contain commas or line breaks.
+ *
+ * {@link #stream()} reads the file lazily through positional NIO reads into a reusable buffer;
+ * the underlying spliterator splits on line boundaries, so parallel streams read disjoint
+ * byte ranges of the file concurrently. Memory use does not depend on the file size.
+ */
+public class FileEmployeeRepository extends EmployeeRepository {
+
+    static final String HEADER = "id,firstName,lastName,role,salary,departmentId,departmentName,isManager,managerId,hireDate";
+
+    private final Path file;
+
+    /** Departments are few and shared by many rows: one instance per id. */
+    private final Map<UUID, Department> departments = new ConcurrentHashMap<>();
+
+    public FileEmployeeRepository(Path file) {
+        this.file = Objects.requireNonNull(file, "file");
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Lazy sequential stream over the file. The stream holds an open file channel:
+     * close it (try-with-resources) when done.
+     */
+    public Stream<Employee> stream() {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                long dataStart = EmployeeCsvSpliterator.dataStart(channel);
+                return StreamSupport.stream(new EmployeeCsvSpliterator(channel, dataStart, channel.size(), this::department), false)
+                        .onClose(() -> close(channel));
+            } catch (IOException | RuntimeException e) {
+                close(channel);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Materializes the whole file. Prefer {@link #stream()} for files larger than the heap.
+     */
+    @Override
+    public List<Employee> getAllEmployees() {
+        try (Stream<Employee> employees = stream()) {
+            return employees.toList();
+        }
+    }
+
+    /**
+     * Writes employees in the repository format (with header), replacing the file.
+     */
+    public static void write(Path file, Iterable<Employee> employees) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            for (Employee e : employees) {
+                Department d = e.getDepartment();
+                out.write(String.join(",",
+                        e.getId().toString(),
+                        field(e.getFirstName()),
+                        field(e.getLastName()),
+                        e.getRole() == null ? "" : e.getRole().name(),
+                        Double.toString(e.getSalary()),
+                        d == null ? "" : d.getId().toString(),
+                        d == null ? "" : field(d.getName()),
+                        Boolean.toString(e.isManager()),
+                        e.getManagerId() == null ? "" : e.getManagerId().toString(),
+                        e.getHireDate() == null ? "" : e.getHireDate().toString()));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- helpers ----------
+
+    private Department department(UUID id, byte[] bytes, int offset, int length) {
+        return departments.computeIfAbsent(id, k -> new Department(k, new String(bytes, offset, length, StandardCharsets.UTF_8)));
+    }
+
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            throw new IllegalArgumentException("Field cannot contain commas or line breaks: " + value);
+        }
+        return value;
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
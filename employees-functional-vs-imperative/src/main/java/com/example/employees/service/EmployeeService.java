@@ -1,27 +1,138 @@
 package com.example.employees.service;
 
-import com.example.employees.model.Employee;
+import com.example.employees.index.EmployeeDirectory;
+import com.example.employees.index.HireDateIndex;
+import com.example.employees.index.OrderedEmployeeListing;
+import com.example.employees.index.OrgHierarchy;
 import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.payroll.PayrollLedger;
 import com.example.employees.repository.EmployeeRepository;
+import com.example.employees.stats.CompensationStatistics;
 
+import java.time.LocalDate;
 import java.util.*;
 
 
 /**
  * Service implementation with corrected logic for the new data structure.
- * Handles both functional and imperative approaches with proper manager detection.
+ * Handles functional, imperative and parallel (parallel streams on the common
+ * fork-join pool) approaches with proper manager detection.
+ *
+ * The repository is read once into a {@link PayrollLedger}. Workforce events (hire, terminate,
+ * raise, department or manager change) go through the service and update the ledger incrementally.
+ * The Functional/Imperative/Parallel variants of each operation scan the ledger's current
+ * {@link EmployeeDirectory} in their own style; the fast paths are separate methods:
+ * {@code *Incremental} reads the ledger's aggregates and {@code *Indexed} returns a directory bucket.
+ * The hierarchy, hire-date and ordered-listing indexes are rebuilt lazily on the first query
+ * that needs them after an event.
+ *
+ * Not thread-safe for events: callers serialize them. Queries may run concurrently between events.
  */
 public class EmployeeService {
 
-    private final EmployeeRepository repository = new EmployeeRepository();
+    private final PayrollLedger ledger;
+
+    /** Indexes over the current directory; null until first needed after an event */
+    private OrgHierarchy hierarchy;
+    private HireDateIndex hireDates;
+    private OrderedEmployeeListing listing;
+
+    public EmployeeService() {
+        this(new EmployeeRepository());
+    }
+
+    public EmployeeService(EmployeeRepository repository) {
+        this.ledger = PayrollLedger.from(Objects.requireNonNull(repository, "repository"));
+    }
+
+    /**
+     * Indexed view of the employees this service answers from (current as of the last event)
+     */
+    public EmployeeDirectory getDirectory() {
+        return ledger.getDirectory();
+    }
+
+    /**
+     * Transitive reporting structure (subtree queries over managerId)
+     */
+    public OrgHierarchy getHierarchy() {
+        OrgHierarchy current = hierarchy;
+        if (current == null) {
+            hierarchy = current = OrgHierarchy.of(getDirectory());
+        }
+        return current;
+    }
+
+    /**
+     * Employees sorted by hire date (hired-by, range and cohort queries)
+     */
+    public HireDateIndex getHireDateIndex() {
+        HireDateIndex current = hireDates;
+        if (current == null) {
+            hireDates = current = HireDateIndex.of(getDirectory());
+        }
+        return current;
+    }
+
+    /**
+     * Pre-sorted listing behind the paginated ordered list
+     */
+    public OrderedEmployeeListing getOrderedListing() {
+        OrderedEmployeeListing current = listing;
+        if (current == null) {
+            listing = current = OrderedEmployeeListing.of(getDirectory());
+        }
+        return current;
+    }
+
+    // ========== WORKFORCE EVENTS ==========
+
+    public void hire(Employee employee) {
+        ledger.hire(employee);
+        invalidateIndexes();
+    }
+
+    /** @return the employee as they were when terminated */
+    public Employee terminate(UUID employeeId) {
+        Employee terminated = ledger.terminate(employeeId);
+        invalidateIndexes();
+        return terminated;
+    }
+
+    public Employee changeSalary(UUID employeeId, double newSalary) {
+        Employee updated = ledger.changeSalary(employeeId, newSalary);
+        invalidateIndexes();
+        return updated;
+    }
+
+    public Employee moveDepartment(UUID employeeId, Department department) {
+        Employee updated = ledger.moveDepartment(employeeId, department);
+        invalidateIndexes();
+        return updated;
+    }
+
+    /**
+     * @param managerId new manager, or null for none
+     * @throws IllegalArgumentException for an unknown manager or a change that would create a cycle
+     */
+    public Employee changeManager(UUID employeeId, UUID managerId) {
+        Employee updated = ledger.changeManager(employeeId, managerId);
+        invalidateIndexes();
+        return updated;
+    }
+
+    private void invalidateIndexes() {
+        hierarchy = null;
+        hireDates = null;
+        listing = null;
+    }
 
     /**
-     * Finds employee by ID - used for manager resolution
+     * Finds employee by ID - used for manager resolution (O(1) hash lookup)
      */
     private Optional<Employee> findById(UUID id) {
-        return repository.getAllEmployees().stream()
-                .filter(e -> e.getId().equals(id))
-                .findFirst();
+        return getDirectory().findById(id);
     }
 
     /**
@@ -34,24 +145,39 @@ public class EmployeeService {
                 .orElse("Unknown Manager");
     }
 
+    /**
+     * One row of the ordered list (full, parallel and paged variants share it)
+     */
+    private String formatRow(Employee e) {
+        return formatRow(e, managerNameFor(e));
+    }
+
+    /**
+     * Row format of the ordered list, also used by {@link StreamingEmployeeService}
+     */
+    static String formatRow(Employee e, String managerName) {
+        return String.format("%s | %s, %s | %s | $%.2f | Manager=%b | ManagerName=%s",
+                e.getDepartment().getName(),
+                e.getLastName(),
+                e.getFirstName(),
+                e.getRole(),
+                e.getSalary(),
+                e.isManager(),
+                managerName);
+    }
+
     /**
      * Finds department ID by name for testing purposes
      */
     public UUID findDepartmentIdByName(String name) {
-        return repository.getAllEmployees().stream()
-                .map(Employee::getDepartment)
-                .filter(Objects::nonNull)
-                .filter(d -> d.getName().equalsIgnoreCase(name))
-                .map(Department::getId)
-                .findFirst()
-                .orElse(null);
+        return getDirectory().findDepartmentIdByName(name).orElse(null);
     }
 
     /**
      * Finds manager ID by full name for testing purposes
      */
     public UUID findManagerIdByName(String fullName) {
-        return repository.getAllEmployees().stream()
+        return getDirectory().managers().stream()
                 .filter(e -> e.isManager() && e.getFullName().equalsIgnoreCase(fullName))
                 .map(Employee::getId)
                 .findFirst()
@@ -65,25 +191,47 @@ public class EmployeeService {
      * Purpose: Calculate the organization's total payroll
      */
     public double getTotalSalaryFunctional() {
-        return repository.getAllEmployees().stream()
+        return getDirectory().all().stream()
                 .mapToDouble(Employee::getSalary)
                 .sum();
     }
 
     public double getTotalSalaryImperative() {
         double total = 0;
-        for (Employee e : repository.getAllEmployees()) {
+        for (Employee e : getDirectory().all()) {
             total += e.getSalary();
         }
         return total;
     }
 
+    public double getTotalSalaryParallel() {
+        return getDirectory().all().parallelStream()
+                .mapToDouble(Employee::getSalary)
+                .sum();
+    }
+
+    /**
+     * 1b. INCREMENTAL PAYROLL
+     * Purpose: Total, mean and per-department totals kept up to date by the ledger on every event (O(1))
+     */
+    public double getTotalSalaryIncremental() {
+        return ledger.getTotalSalary();
+    }
+
+    public double getAverageSalary() {
+        return ledger.getAverageSalary();
+    }
+
+    public double getDepartmentSalaryTotal(UUID departmentId) {
+        return ledger.getDepartmentTotal(departmentId);
+    }
+
     /**
      * 2. EMPLOYEES BY DEPARTMENT
      * Purpose: Filter employees belonging to a specific department
      */
     public List<Employee> getEmployeesByDepartmentFunctional(UUID departmentId) {
-        return repository.getAllEmployees().stream()
+        return getDirectory().all().stream()
                 .filter(e -> e.getDepartment() != null &&
                         e.getDepartment().getId().equals(departmentId))
                 .toList();
@@ -91,7 +239,7 @@ public class EmployeeService {
 
     public List<Employee> getEmployeesByDepartmentImperative(UUID departmentId) {
         List<Employee> result = new ArrayList<>();
-        for (Employee e : repository.getAllEmployees()) {
+        for (Employee e : getDirectory().all()) {
             if (e.getDepartment() != null &&
                     e.getDepartment().getId().equals(departmentId)) {
                 result.add(e);
@@ -100,12 +248,26 @@ public class EmployeeService {
         return result;
     }
 
+    public List<Employee> getEmployeesByDepartmentParallel(UUID departmentId) {
+        return getDirectory().all().parallelStream()
+                .filter(e -> e.getDepartment() != null &&
+                        e.getDepartment().getId().equals(departmentId))
+                .toList();
+    }
+
+    /**
+     * Same answer from the directory's department bucket (O(1), no scan)
+     */
+    public List<Employee> getEmployeesByDepartmentIndexed(UUID departmentId) {
+        return getDirectory().byDepartment(departmentId);
+    }
+
     /**
      * 3. NAMES ABOVE AVERAGE SALARY
      * Purpose: Identify employees earning above organizational average
      */
     public List<String> getNamesAboveAverageSalaryFunctional() {
-        List<Employee> employees = repository.getAllEmployees();
+        List<Employee> employees = getDirectory().all();
         if (employees.isEmpty()) return Collections.emptyList();
 
         double average = employees.stream()
@@ -121,7 +283,7 @@ public class EmployeeService {
     }
 
     public List<String> getNamesAboveAverageSalaryImperative() {
-        List<Employee> employees = repository.getAllEmployees();
+        List<Employee> employees = getDirectory().all();
         if (employees.isEmpty()) return Collections.emptyList();
 
         // Calculate average
@@ -142,20 +304,67 @@ public class EmployeeService {
         return names;
     }
 
+    public List<String> getNamesAboveAverageSalaryParallel() {
+        List<Employee> employees = getDirectory().all();
+        if (employees.isEmpty()) return Collections.emptyList();
+
+        double average = employees.parallelStream()
+                .mapToDouble(Employee::getSalary)
+                .average()
+                .orElse(0.0);
+
+        return employees.parallelStream()
+                .filter(e -> e.getSalary() > average)
+                .map(Employee::getFullName)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Same answer from the ledger's mean and salary-ordered set: only the k employees
+     * above the mean are visited (O(log n + k log k) for the alphabetical sort)
+     */
+    public List<String> getNamesAboveAverageSalaryIncremental() {
+        return ledger.getNamesAboveAverage();
+    }
+
+    /**
+     * 3b. SALARY STATISTICS
+     * Purpose: Mean, stddev, median, p90/p99 and histograms overall, per department and per role,
+     * in a single pass (Welford variance + mergeable quantile sketches)
+     */
+    public CompensationStatistics getSalaryStatisticsFunctional() {
+        return getDirectory().all().stream()
+                .collect(CompensationStatistics.collector());
+    }
+
+    public CompensationStatistics getSalaryStatisticsImperative() {
+        CompensationStatistics statistics = new CompensationStatistics();
+        for (Employee e : getDirectory().all()) {
+            statistics.accept(e);
+        }
+        return statistics;
+    }
+
+    public CompensationStatistics getSalaryStatisticsParallel() {
+        return getDirectory().all().parallelStream()
+                .collect(CompensationStatistics.collector());
+    }
+
     /**
      * 4. MANAGERS LIST
      * Purpose: Get all employees with managerial responsibilities
      * CORRECTION: Now uses explicit isManager field instead of inference
      */
     public List<Employee> getManagersFunctional() {
-        return repository.getAllEmployees().stream()
+        return getDirectory().all().stream()
                 .filter(Employee::isManager)  // Use explicit field
                 .toList();
     }
 
     public List<Employee> getManagersImperative() {
         List<Employee> result = new ArrayList<>();
-        for (Employee e : repository.getAllEmployees()) {
+        for (Employee e : getDirectory().all()) {
             if (e.isManager()) {  // Use explicit field
                 result.add(e);
             }
@@ -163,6 +372,19 @@ public class EmployeeService {
         return result;
     }
 
+    public List<Employee> getManagersParallel() {
+        return getDirectory().all().parallelStream()
+                .filter(Employee::isManager)
+                .toList();
+    }
+
+    /**
+     * Same answer from the directory's manager list (O(1), no scan)
+     */
+    public List<Employee> getManagersIndexed() {
+        return getDirectory().managers();
+    }
+
     /**
      * 5. EMPLOYEES BY MANAGER
      * Purpose: Get direct reports for a specific manager
@@ -170,7 +392,7 @@ public class EmployeeService {
     public List<Employee> getEmployeesByManagerFunctional(UUID managerId) {
         if (managerId == null) return Collections.emptyList();
 
-        return repository.getAllEmployees().stream()
+        return getDirectory().all().stream()
                 .filter(e -> e.getManagerId() != null &&
                         e.getManagerId().equals(managerId))
                 .toList();
@@ -180,7 +402,7 @@ public class EmployeeService {
         List<Employee> result = new ArrayList<>();
         if (managerId == null) return result;
 
-        for (Employee e : repository.getAllEmployees()) {
+        for (Employee e : getDirectory().all()) {
             if (e.getManagerId() != null &&
                     e.getManagerId().equals(managerId)) {
                 result.add(e);
@@ -189,50 +411,98 @@ public class EmployeeService {
         return result;
     }
 
+    public List<Employee> getEmployeesByManagerParallel(UUID managerId) {
+        if (managerId == null) return Collections.emptyList();
+
+        return getDirectory().all().parallelStream()
+                .filter(e -> e.getManagerId() != null &&
+                        e.getManagerId().equals(managerId))
+                .toList();
+    }
+
+    /**
+     * Same answer from the directory's direct-report bucket (O(1), no scan)
+     */
+    public List<Employee> getEmployeesByManagerIndexed(UUID managerId) {
+        if (managerId == null) return Collections.emptyList();
+
+        return getDirectory().byManager(managerId);
+    }
+
+    /**
+     * 5b. ALL REPORTS UNDER A MANAGER
+     * Purpose: Direct and transitive reports, in depth-first order (O(k) from the hierarchy)
+     */
+    public List<Employee> getAllReportsUnder(UUID managerId) {
+        return List.copyOf(getHierarchy().reportsUnder(managerId));
+    }
+
+    /**
+     * 5c. SUBTREE PAYROLL
+     * Purpose: Salary of a manager plus everyone under them (O(1) from the hierarchy)
+     */
+    public double getSubtreePayroll(UUID managerId) {
+        return getHierarchy().subtreeSalary(managerId);
+    }
+
+    /**
+     * 5d. CURRENT STAFF HIRED BY A DATE
+     * Purpose: Current employees hired on or before the date and their current salaries
+     * (O(log n) from the hire-date index). Terminated employees are no longer counted, so this
+     * is not the headcount or payroll that existed on that date.
+     */
+    public int getCurrentHeadcountHiredBy(LocalDate date) {
+        return getHireDateIndex().headcountHiredBy(date);
+    }
+
+    public double getCurrentPayrollHiredBy(LocalDate date) {
+        return getHireDateIndex().payrollHiredBy(date);
+    }
+
+    /**
+     * 5e. HIRES BETWEEN TWO DATES
+     * Purpose: Employees hired in [from, to], in hire-date order
+     */
+    public List<Employee> getHiresBetween(LocalDate from, LocalDate to) {
+        return List.copyOf(getHireDateIndex().hiresBetween(from, to));
+    }
+
     /**
      * 6. ORDERED LIST WITH FORMATTING
      * Purpose: Generate formatted report with multi-criteria sorting
      */
     public List<String> getOrderedListFunctional() {
-        Comparator<Employee> comparator = Comparator
-                .comparing((Employee e) -> e.getDepartment().getName())
-                .thenComparing(Employee::getLastName)
-                .thenComparing(Employee::getFirstName);
-
-        return repository.getAllEmployees().stream()
-                .sorted(comparator)
-                .map(e -> String.format("%s | %s, %s | %s | $%.2f | Manager=%b | ManagerName=%s",
-                        e.getDepartment().getName(),
-                        e.getLastName(),
-                        e.getFirstName(),
-                        e.getRole(),
-                        e.getSalary(),
-                        e.isManager(),
-                        managerNameFor(e)))
+        return getDirectory().all().stream()
+                .sorted(OrderedEmployeeListing.ORDER)
+                .map(this::formatRow)
                 .toList();
     }
 
     public List<String> getOrderedListImperative() {
-        List<Employee> employees = new ArrayList<>(repository.getAllEmployees());
+        List<Employee> employees = new ArrayList<>(getDirectory().all());
 
-        Comparator<Employee> comparator = Comparator
-                .comparing((Employee e) -> e.getDepartment().getName())
-                .thenComparing(Employee::getLastName)
-                .thenComparing(Employee::getFirstName);
-
-        employees.sort(comparator);
+        employees.sort(OrderedEmployeeListing.ORDER);
 
         List<String> result = new ArrayList<>();
         for (Employee e : employees) {
-            result.add(String.format("%s | %s, %s | %s | $%.2f | Manager=%b | ManagerName=%s",
-                    e.getDepartment().getName(),
-                    e.getLastName(),
-                    e.getFirstName(),
-                    e.getRole(),
-                    e.getSalary(),
-                    e.isManager(),
-                    managerNameFor(e)));
+            result.add(formatRow(e));
         }
         return result;
     }
-}
\ No newline at end of file
+
+    public List<String> getOrderedListParallel() {
+        return getDirectory().all().parallelStream()
+                .sorted(OrderedEmployeeListing.ORDER)
+                .map(this::formatRow)
+                .toList();
+    }
+
+    /**
+     * 6b. PAGINATED ORDERED LIST
+     * Purpose: Same rows as the ordered list, one page at a time from the pre-sorted listing.
+     * Pass null for the first page and {@code nextCursor()} afterwards; only the page is formatted.
+     */
+    public OrderedEmployeeListing.Page<String> getOrderedListPage(String cursor, int pageSize) {
+        return getOrderedListing().page(cursor, pageSize, this::formatRow);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.employees.service;
+
+import com.example.employees.index.OrderedEmployeeListing;
+import com.example.employees.model.Employee;
+import com.example.employees.repository.FileEmployeeRepository;
+import com.example.employees.stats.CompensationStatistics;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * EmployeeService operations over a {@link FileEmployeeRepository}, streaming the file
+ * on every call instead of loading the workforce into memory.
+ *
+ * Memory is bounded by the size of each result (plus the manager names for the ordered
+ * list), not by the file, so the data set can be far larger than the heap.
+ * Aggregations needing two views of the data (e.g. average, then filter) read the file twice.
+ * With {@code parallel = true} the file is split on line boundaries and read by several threads.
+ */
+public class StreamingEmployeeService {
+
+    private final FileEmployeeRepository repository;
+    private final boolean parallel;
+
+    public StreamingEmployeeService(FileEmployeeRepository repository) {
+        this(repository, false);
+    }
+
+    public StreamingEmployeeService(FileEmployeeRepository repository, boolean parallel) {
+        this.repository = Objects.requireNonNull(repository, "repository");
+        this.parallel = parallel;
+    }
+
+    /**
+     * 1. TOTAL SALARY (one pass, O(1) memory)
+     */
+    public double getTotalSalary() {
+        return read(s -> s.mapToDouble(Employee::getSalary).sum());
+    }
+
+    /**
+     * 2. EMPLOYEES BY DEPARTMENT (one pass, only matches are kept)
+     */
+    public List<Employee> getEmployeesByDepartment(UUID departmentId) {
+        return read(s -> s
+                .filter(e -> e.getDepartment() != null && e.getDepartment().getId().equals(departmentId))
+                .toList());
+    }
+
+    /**
+     * 3. NAMES ABOVE AVERAGE SALARY (two passes: average, then filter)
+     */
+    public List<String> getNamesAboveAverageSalary() {
+        OptionalDouble average = read(s -> s.mapToDouble(Employee::getSalary).average());
+        if (average.isEmpty()) return Collections.emptyList();
+
+        return read(s -> s
+                .filter(e -> e.getSalary() > average.getAsDouble())
+                .map(Employee::getFullName)
+                .sorted()
+                .toList());
+    }
+
+    /**
+     * 3b. SALARY STATISTICS (one pass, bounded memory sketches)
+     */
+    public CompensationStatistics getSalaryStatistics() {
+        return read(s -> s.collect(CompensationStatistics.collector()));
+    }
+
+    /**
+     * 4. MANAGERS LIST
+     */
+    public List<Employee> getManagers() {
+        return read(s -> s.filter(Employee::isManager).toList());
+    }
+
+    /**
+     * 5. EMPLOYEES BY MANAGER
+     */
+    public List<Employee> getEmployeesByManager(UUID managerId) {
+        if (managerId == null) return Collections.emptyList();
+
+        return read(s -> s.filter(e -> managerId.equals(e.getManagerId())).toList());
+    }
+
+    /**
+     * 6. ORDERED LIST WITH FORMATTING
+     * Three passes: referenced manager ids, their names, then the sorted report.
+     * Only manager names are held besides the result itself.
+     */
+    public List<String> getOrderedList() {
+        Set<UUID> referenced = read(s -> s
+                .map(Employee::getManagerId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<UUID, String> managerNames = read(s -> s
+                .filter(e -> referenced.contains(e.getId()))
+                .collect(Collectors.toMap(Employee::getId, Employee::getFullName, (first, second) -> first)));
+
+        return read(s -> s
+                .sorted(OrderedEmployeeListing.ORDER)
+                .map(e -> EmployeeService.formatRow(e,
+                        e.getManagerId() == null ? "-" : managerNames.getOrDefault(e.getManagerId(), "Unknown Manager")))
+                .toList());
+    }
+
+    // ---------- helpers ----------
+
+    /** Opens a fresh stream over the file, applies the query and closes the file. */
+    private <R> R read(Function<Stream<Employee>, R> query) {
+        try (Stream<Employee> employees = repository.stream()) {
+            return query.apply(parallel ? employees.parallel() : employees);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.employees.stats;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Salary statistics for the whole organization, per {@link Department} and per {@link Role},
+ * accumulated in a single pass over the employees.
+ *
+ * Works as a {@link Collector}: with a parallel stream each thread fills its own
+ * partial result and the partials are merged at the end.
+ */
+public final class CompensationStatistics implements Consumer<Employee> {
+
+    private final SalaryStatistics overall = new SalaryStatistics();
+    private final Map<Department, SalaryStatistics> byDepartment = new LinkedHashMap<>();
+    private final Map<Role, SalaryStatistics> byRole = new EnumMap<>(Role.class);
+
+    public static Collector<Employee, ?, CompensationStatistics> collector() {
+        return Collector.of(CompensationStatistics::new, CompensationStatistics::accept, CompensationStatistics::merge);
+    }
+
+    @Override
+    public void accept(Employee e) {
+        overall.accept(e.getSalary());
+        if (e.getDepartment() != null) {
+            byDepartment.computeIfAbsent(e.getDepartment(), d -> new SalaryStatistics()).accept(e.getSalary());
+        }
+        if (e.getRole() != null) {
+            byRole.computeIfAbsent(e.getRole(), r -> new SalaryStatistics()).accept(e.getSalary());
+        }
+    }
+
+    public CompensationStatistics merge(CompensationStatistics other) {
+        overall.merge(other.overall);
+        other.byDepartment.forEach((d, s) -> byDepartment.computeIfAbsent(d, k -> new SalaryStatistics()).merge(s));
+        other.byRole.forEach((r, s) -> byRole.computeIfAbsent(r, k -> new SalaryStatistics()).merge(s));
+        return this;
+    }
+
+    public SalaryStatistics overall() {
+        return overall;
+    }
+
+    public Map<Department, SalaryStatistics> byDepartment() {
+        return Collections.unmodifiableMap(byDepartment);
+    }
+
+    public Map<Role, SalaryStatistics> byRole() {
+        return Collections.unmodifiableMap(byRole);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.employees.stats;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with logarithmic buckets (relative-error guarantee).
+ *
+ * A positive value v falls in bucket k = ceil(log_gamma(v)), with gamma = (1 + a) / (1 - a),
+ * and the bucket reports the midpoint 2·gamma^k / (gamma + 1). Every quantile is therefore
+ * within a relative error {@code a} of the exact value, independently of the number of values.
+ *
+ * Memory depends on the value range, not on the count: salaries between 1 and 10^7
+ * at 1% accuracy need at most ~810 buckets. Two sketches with the same accuracy merge
+ * by adding bucket counts, so per-thread sketches can be combined in any order.
+ */
+public final class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    /** counts[i] holds bucket (offset + i) */
+    private long[] counts = new long[0];
+    private int offset;
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void accept(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Value must be finite and non-negative: " + value);
+        }
+        count++;
+        if (value == 0) {
+            zeroCount++;
+            return;
+        }
+        int bucket = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureBucket(bucket);
+        counts[bucket - offset]++;
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        if (Double.compare(relativeAccuracy, other.relativeAccuracy) != 0) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy: "
+                    + relativeAccuracy + " vs " + other.relativeAccuracy);
+        }
+        if (other.counts.length > 0) {
+            ensureBucket(other.offset);
+            ensureBucket(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Nearest-rank quantile (0 ≤ q ≤ 1), within {@link #relativeAccuracy()} of the exact value.
+     *
+     * @return NaN when the sketch is empty
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1]: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        if (rank <= zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketValue(offset + i);
+            }
+        }
+        return bucketValue(offset + counts.length - 1);
+    }
+
+    /**
+     * Counts per histogram bin, using each bucket's representative value.
+     * With boundaries b0 < b1 < ... the bins are (-inf, b0), [b0, b1), ..., [bn-1, +inf).
+     */
+    public long[] histogram(double... boundaries) {
+        long[] bins = new long[boundaries.length + 1];
+        bins[binOf(0.0, boundaries)] += zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                bins[binOf(bucketValue(offset + i), boundaries)] += counts[i];
+            }
+        }
+        return bins;
+    }
+
+    // ---------- helpers ----------
+
+    private double bucketValue(int bucket) {
+        return 2 * Math.pow(gamma, bucket) / (gamma + 1);
+    }
+
+    private static int binOf(double value, double[] boundaries) {
+        int position = Arrays.binarySearch(boundaries, value);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private void ensureBucket(int bucket) {
+        if (counts.length == 0) {
+            counts = new long[8];
+            offset = bucket;
+        } else if (bucket < offset) {
+            int grow = Math.max(offset - bucket, counts.length / 2);
+            long[] larger = new long[counts.length + grow];
+            System.arraycopy(counts, 0, larger, grow, counts.length);
+            counts = larger;
+            offset -= grow;
+        } else if (bucket >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(bucket - offset + 1, counts.length + counts.length / 2));
+        }
+    }
+}
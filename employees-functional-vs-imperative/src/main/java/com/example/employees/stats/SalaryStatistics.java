@@ -0,0 +1,109 @@
+package com.example.employees.stats;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * One-pass salary statistics: count, min, max, mean and variance (Welford),
+ * plus quantiles and histograms from a {@link QuantileSketch}.
+ *
+ * Memory is bounded (a few hundred buckets at most), and partial results merge
+ * with Chan's pairwise formula, so per-thread statistics can be combined.
+ */
+public final class SalaryStatistics implements DoubleConsumer {
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private final QuantileSketch sketch;
+
+    public SalaryStatistics() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public SalaryStatistics(double relativeAccuracy) {
+        this.sketch = new QuantileSketch(relativeAccuracy);
+    }
+
+    @Override
+    public void accept(double salary) {
+        sketch.accept(salary);
+        count++;
+        double delta = salary - mean;
+        mean += delta / count;
+        m2 += delta * (salary - mean);
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+    }
+
+    public SalaryStatistics merge(SalaryStatistics other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sketch.merge(other.sketch);
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /** @return NaN when empty */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /** Population variance; NaN when empty */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /** Nearest-rank quantile, within the sketch accuracy and clamped to [min, max]. */
+    public double getQuantile(double q) {
+        double estimate = sketch.quantile(q);
+        return count == 0 ? estimate : Math.max(min, Math.min(max, estimate));
+    }
+
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    public double getP90() {
+        return getQuantile(0.9);
+    }
+
+    public double getP99() {
+        return getQuantile(0.99);
+    }
+
+    /** @see QuantileSketch#histogram(double...) */
+    public long[] getHistogram(double... boundaries) {
+        return sketch.histogram(boundaries);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.2f, stddev=%.2f, min=%.2f, p50=%.2f, p90=%.2f, p99=%.2f, max=%.2f",
+                count, getMean(), getStandardDeviation(), getMin(), getMedian(), getP90(), getP99(), getMax());
+    }
+}
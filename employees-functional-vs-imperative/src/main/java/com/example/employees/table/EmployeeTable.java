@@ -0,0 +1,341 @@
+package com.example.employees.table;
+
+import com.example.employees.model.Department;
+import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Columnar, compact representation of a workforce.
+ *
+ * One primitive array per field instead of one object graph per employee:
+ * <pre>
+ * id          long msb[] + long lsb[]         16 B
+ * first/last  int[] codes into a name dictionary  8 B
+ * role        byte[] ordinal (-1 = none)       1 B
+ * salary      double[]                         8 B
+ * department  int[] code into a dictionary     4 B
+ * manager id  long msb[] + long lsb[] + bit   16 B
+ * hire date   int[] epoch day                  4 B
+ * isManager   bit
+ * </pre>
+ * About 57 bytes per employee versus several hundred for the object form
+ * (Employee + 2 UUIDs + 2 Strings + LocalDate). Names and departments repeat
+ * heavily in practice, so their dictionaries stay small.
+ *
+ * {@link Row} is a flyweight accessor exposing the Employee getters over a row index;
+ * {@link #get(int)} and {@link #asList()} materialize Employee objects for existing APIs.
+ */
+public final class EmployeeTable {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final int size;
+    private final long[] idMsb;
+    private final long[] idLsb;
+    private final int[] firstName;
+    private final int[] lastName;
+    private final byte[] role;
+    private final double[] salary;
+    private final int[] department;
+    private final BitSet manager;
+    private final BitSet hasManagerId;
+    private final long[] managerMsb;
+    private final long[] managerLsb;
+    private final int[] hireEpochDay;
+
+    private final String[] names;
+    private final Department[] departments;
+
+    private static final Role[] ROLES = Role.values();
+
+    private EmployeeTable(Builder b) {
+        this.size = b.size;
+        this.idMsb = Arrays.copyOf(b.idMsb, size);
+        this.idLsb = Arrays.copyOf(b.idLsb, size);
+        this.firstName = Arrays.copyOf(b.firstName, size);
+        this.lastName = Arrays.copyOf(b.lastName, size);
+        this.role = Arrays.copyOf(b.role, size);
+        this.salary = Arrays.copyOf(b.salary, size);
+        this.department = Arrays.copyOf(b.department, size);
+        this.manager = (BitSet) b.manager.clone();
+        this.hasManagerId = (BitSet) b.hasManagerId.clone();
+        this.managerMsb = Arrays.copyOf(b.managerMsb, size);
+        this.managerLsb = Arrays.copyOf(b.managerLsb, size);
+        this.hireEpochDay = Arrays.copyOf(b.hireEpochDay, size);
+        this.names = b.names.toArray(String[]::new);
+        this.departments = b.departments.toArray(Department[]::new);
+    }
+
+    public static EmployeeTable of(Iterable<Employee> employees) {
+        Builder builder = builder();
+        employees.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Loads a stream without materializing a list (e.g. {@code FileEmployeeRepository.stream()}).
+     */
+    public static EmployeeTable from(Stream<Employee> employees) {
+        Builder builder = builder();
+        employees.forEachOrdered(builder::add);
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Distinct first and last names stored in the dictionary. */
+    public int distinctNames() {
+        return names.length;
+    }
+
+    public int distinctDepartments() {
+        return departments.length;
+    }
+
+    /** Flyweight positioned at {@code row}; call {@link Row#moveTo(int)} to reuse it. */
+    public Row row(int row) {
+        return new Row().moveTo(row);
+    }
+
+    /** Visits every row with a single reused flyweight (do not keep references to it). */
+    public void forEach(Consumer<Row> action) {
+        Row cursor = new Row();
+        for (int i = 0; i < size; i++) {
+            action.accept(cursor.moveTo(i));
+        }
+    }
+
+    /** Materializes the employee at {@code row}. */
+    public Employee get(int row) {
+        return row(row).toEmployee();
+    }
+
+    /** List view materializing employees on access (compatibility with List-based APIs). */
+    public List<Employee> asList() {
+        return new AbstractList<>() {
+            @Override
+            public Employee get(int index) {
+                return EmployeeTable.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /** Column scan: no objects are touched. */
+    public double totalSalary() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += salary[i];
+        }
+        return total;
+    }
+
+    /** Count, sum, min and max of the salary column, with {@link SalaryAggregator#best()}. */
+    public SalarySummary salarySummary() {
+        return SalaryAggregator.best().summarize(salary, size);
+    }
+
+    /**
+     * Salary summary per department code (masked vector passes for a few departments,
+     * one grouped pass otherwise). Rows without department are not counted.
+     */
+    public Map<Department, SalarySummary> salarySummaryByDepartment() {
+        SalarySummary[] byCode = SalaryAggregator.best().summarizeByGroup(salary, department, departments.length, size);
+        Map<Department, SalarySummary> result = new LinkedHashMap<>();
+        for (int code = 0; code < departments.length; code++) {
+            result.put(departments[code], byCode[code]);
+        }
+        return result;
+    }
+
+    /** Rows (ascending) whose salary is strictly greater than {@code threshold}. */
+    public int[] rowsWithSalaryAbove(double threshold) {
+        return SalaryAggregator.best().rowsAbove(salary, size, threshold);
+    }
+
+    /** Full names (in row order) of the employees earning strictly more than the average salary. */
+    public List<String> namesAboveAverageSalary() {
+        if (size == 0) {
+            return List.of();
+        }
+        Row cursor = new Row();
+        int[] rows = rowsWithSalaryAbove(salarySummary().average());
+        List<String> result = new ArrayList<>(rows.length);
+        for (int r : rows) {
+            result.add(cursor.moveTo(r).getFullName());
+        }
+        return result;
+    }
+
+    /**
+     * Flyweight over one row: same getters as {@link Employee}, read from the columns.
+     */
+    public final class Row {
+        private int index;
+
+        private Row() {
+        }
+
+        public Row moveTo(int row) {
+            this.index = Objects.checkIndex(row, size);
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public UUID getId() {
+            return new UUID(idMsb[index], idLsb[index]);
+        }
+
+        public long getIdMostSignificantBits() {
+            return idMsb[index];
+        }
+
+        public long getIdLeastSignificantBits() {
+            return idLsb[index];
+        }
+
+        public String getFirstName() {
+            return name(firstName[index]);
+        }
+
+        public String getLastName() {
+            return name(lastName[index]);
+        }
+
+        public String getFullName() {
+            return getFirstName() + " " + getLastName();
+        }
+
+        public Role getRole() {
+            return role[index] < 0 ? null : ROLES[role[index]];
+        }
+
+        public double getSalary() {
+            return salary[index];
+        }
+
+        public Department getDepartment() {
+            return department[index] < 0 ? null : departments[department[index]];
+        }
+
+        public boolean isManager() {
+            return manager.get(index);
+        }
+
+        public UUID getManagerId() {
+            return hasManagerId.get(index) ? new UUID(managerMsb[index], managerLsb[index]) : null;
+        }
+
+        public LocalDate getHireDate() {
+            return hireEpochDay[index] == NO_DATE ? null : LocalDate.ofEpochDay(hireEpochDay[index]);
+        }
+
+        public Employee toEmployee() {
+            return new Employee(getId(), getFirstName(), getLastName(), getRole(), getSalary(),
+                    getDepartment(), isManager(), getManagerId(), getHireDate());
+        }
+
+        private String name(int code) {
+            return code < 0 ? null : names[code];
+        }
+    }
+
+    /**
+     * Appends employees column by column; arrays grow geometrically and are trimmed on build.
+     */
+    public static final class Builder {
+        private int size;
+        private long[] idMsb = new long[16];
+        private long[] idLsb = new long[16];
+        private int[] firstName = new int[16];
+        private int[] lastName = new int[16];
+        private byte[] role = new byte[16];
+        private double[] salary = new double[16];
+        private int[] department = new int[16];
+        private final BitSet manager = new BitSet();
+        private final BitSet hasManagerId = new BitSet();
+        private long[] managerMsb = new long[16];
+        private long[] managerLsb = new long[16];
+        private int[] hireEpochDay = new int[16];
+
+        private final List<String> names = new ArrayList<>();
+        private final Map<String, Integer> nameCodes = new HashMap<>();
+        private final List<Department> departments = new ArrayList<>();
+        private final Map<Department, Integer> departmentCodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder add(Employee e) {
+            Objects.requireNonNull(e.getId(), "id");
+            if (size == idMsb.length) {
+                grow(size * 2);
+            }
+            int i = size++;
+            idMsb[i] = e.getId().getMostSignificantBits();
+            idLsb[i] = e.getId().getLeastSignificantBits();
+            firstName[i] = nameCode(e.getFirstName());
+            lastName[i] = nameCode(e.getLastName());
+            role[i] = e.getRole() == null ? -1 : (byte) e.getRole().ordinal();
+            salary[i] = e.getSalary();
+            department[i] = e.getDepartment() == null ? -1
+                    : departmentCodes.computeIfAbsent(e.getDepartment(), d -> {
+                        departments.add(d);
+                        return departments.size() - 1;
+                    });
+            manager.set(i, e.isManager());
+            if (e.getManagerId() != null) {
+                hasManagerId.set(i);
+                managerMsb[i] = e.getManagerId().getMostSignificantBits();
+                managerLsb[i] = e.getManagerId().getLeastSignificantBits();
+            }
+            hireEpochDay[i] = e.getHireDate() == null ? NO_DATE : Math.toIntExact(e.getHireDate().toEpochDay());
+            return this;
+        }
+
+        public EmployeeTable build() {
+            return new EmployeeTable(this);
+        }
+
+        private int nameCode(String name) {
+            if (name == null) {
+                return -1;
+            }
+            return nameCodes.computeIfAbsent(name, n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+        }
+
+        private void grow(int capacity) {
+            idMsb = Arrays.copyOf(idMsb, capacity);
+            idLsb = Arrays.copyOf(idLsb, capacity);
+            firstName = Arrays.copyOf(firstName, capacity);
+            lastName = Arrays.copyOf(lastName, capacity);
+            role = Arrays.copyOf(role, capacity);
+            salary = Arrays.copyOf(salary, capacity);
+            department = Arrays.copyOf(department, capacity);
+            managerMsb = Arrays.copyOf(managerMsb, capacity);
+            managerLsb = Arrays.copyOf(managerLsb, capacity);
+            hireEpochDay = Arrays.copyOf(hireEpochDay, capacity);
+        }
+    }
+}
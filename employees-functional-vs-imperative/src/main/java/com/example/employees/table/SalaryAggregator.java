@@ -0,0 +1,62 @@
+package com.example.employees.table;
+
+/**
+ * Reductions over a primitive salary column, optionally restricted to one group
+ * (e.g. a department code column with one int per row).
+ *
+ * Two implementations: {@link VectorSalaryAggregator} (SIMD through jdk.incubator.vector)
+ * and {@link ScalarSalaryAggregator}. {@link #best()} picks the vector one when the
+ * incubator module is available at runtime ({@code --add-modules jdk.incubator.vector})
+ * and falls back to scalar loops otherwise.
+ *
+ * Vector sums add lanes in a different order than a scalar loop, so totals may differ
+ * in the last bits; counts, min, max and threshold filters are exact.
+ */
+public interface SalaryAggregator {
+
+    SalarySummary summarize(double[] salaries, int length);
+
+    /** Rows whose group equals {@code group}. */
+    SalarySummary summarize(double[] salaries, int[] groups, int group, int length);
+
+    /** Number of rows with salary strictly greater than {@code threshold}. */
+    int countAbove(double[] salaries, int length, double threshold);
+
+    /** Ascending row indexes with salary strictly greater than {@code threshold}. */
+    int[] rowsAbove(double[] salaries, int length, double threshold);
+
+    /** One summary per group code in [0, groupCount). */
+    default SalarySummary[] summarizeByGroup(double[] salaries, int[] groups, int groupCount, int length) {
+        SalarySummary[] result = new SalarySummary[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            result[g] = summarize(salaries, groups, g, length);
+        }
+        return result;
+    }
+
+    /** Vector implementation when available, scalar otherwise. */
+    static SalaryAggregator best() {
+        return Holder.BEST;
+    }
+
+    final class Holder {
+        private static final SalaryAggregator BEST = select();
+
+        private Holder() {
+        }
+
+        private static SalaryAggregator select() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return new ScalarSalaryAggregator();
+            }
+            try {
+                // Loaded reflectively so the scalar path never touches the incubator classes
+                return (SalaryAggregator) Class.forName("com.example.employees.table.VectorSalaryAggregator")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new ScalarSalaryAggregator();
+            }
+        }
+    }
+}
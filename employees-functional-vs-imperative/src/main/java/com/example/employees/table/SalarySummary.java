@@ -0,0 +1,14 @@
+package com.example.employees.table;
+
+/**
+ * Count, sum, min and max of a set of salaries (min/max are NaN when count is 0).
+ */
+public record SalarySummary(long count, double sum, double min, double max) {
+
+    public static final SalarySummary EMPTY = new SalarySummary(0, 0.0, Double.NaN, Double.NaN);
+
+    /** @return NaN when empty */
+    public double average() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+}
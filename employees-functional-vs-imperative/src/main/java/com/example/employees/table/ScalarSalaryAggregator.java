@@ -0,0 +1,91 @@
+package com.example.employees.table;
+
+import java.util.Arrays;
+
+/**
+ * Plain loops over the salary column; the fallback when the Vector API is not available.
+ */
+public final class ScalarSalaryAggregator implements SalaryAggregator {
+
+    @Override
+    public SalarySummary summarize(double[] salaries, int length) {
+        if (length == 0) {
+            return SalarySummary.EMPTY;
+        }
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            double s = salaries[i];
+            sum += s;
+            min = Math.min(min, s);
+            max = Math.max(max, s);
+        }
+        return new SalarySummary(length, sum, min, max);
+    }
+
+    @Override
+    public SalarySummary summarize(double[] salaries, int[] groups, int group, int length) {
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < length; i++) {
+            if (groups[i] == group) {
+                double s = salaries[i];
+                count++;
+                sum += s;
+                min = Math.min(min, s);
+                max = Math.max(max, s);
+            }
+        }
+        return count == 0 ? SalarySummary.EMPTY : new SalarySummary(count, sum, min, max);
+    }
+
+    /** Single pass with one accumulator slot per group. */
+    @Override
+    public SalarySummary[] summarizeByGroup(double[] salaries, int[] groups, int groupCount, int length) {
+        long[] counts = new long[groupCount];
+        double[] sums = new double[groupCount];
+        double[] mins = new double[groupCount];
+        double[] maxs = new double[groupCount];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        for (int i = 0; i < length; i++) {
+            int g = groups[i];
+            if (g >= 0 && g < groupCount) {
+                double s = salaries[i];
+                counts[g]++;
+                sums[g] += s;
+                mins[g] = Math.min(mins[g], s);
+                maxs[g] = Math.max(maxs[g], s);
+            }
+        }
+        SalarySummary[] result = new SalarySummary[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            result[g] = counts[g] == 0 ? SalarySummary.EMPTY : new SalarySummary(counts[g], sums[g], mins[g], maxs[g]);
+        }
+        return result;
+    }
+
+    @Override
+    public int countAbove(double[] salaries, int length, double threshold) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            count += salaries[i] > threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsAbove(double[] salaries, int length, double threshold) {
+        int[] rows = new int[countAbove(salaries, length, threshold)];
+        int n = 0;
+        for (int i = 0; i < length && n < rows.length; i++) {
+            if (salaries[i] > threshold) {
+                rows[n++] = i;
+            }
+        }
+        return rows;
+    }
+}
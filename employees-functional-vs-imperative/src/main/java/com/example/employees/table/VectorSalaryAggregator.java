@@ -0,0 +1,135 @@
+package com.example.employees.table;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD reductions with the Vector API (jdk.incubator.vector).
+ *
+ * - Sums keep one partial per lane and reduce across lanes once at the end.
+ * - Group filters load the group codes with an int species of the same lane count
+ *   as the double species, so the comparison mask applies lane by lane to the salaries.
+ *   Summaries for many groups at once use a single scalar pass instead (see {@link #MASKED_PASS_LIMIT}).
+ * - Threshold filters count with {@code trueCount()} and extract row indexes from
+ *   the mask bits; tails shorter than a vector use scalar code.
+ *
+ * Requires {@code --add-modules jdk.incubator.vector}; use {@link SalaryAggregator#best()}
+ * to fall back to {@link ScalarSalaryAggregator} when the module is absent.
+ */
+public final class VectorSalaryAggregator implements SalaryAggregator {
+
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            IntVector.SPECIES_PREFERRED.withShape(VectorShape.forBitSize(DOUBLES.vectorBitSize() / 2));
+
+    /**
+     * Above this many groups one scalar pass with per-group accumulators beats
+     * one masked vector pass per group (about 4 with 8 departments, 1M rows, AVX2).
+     */
+    private static final int MASKED_PASS_LIMIT = 4;
+
+    private final ScalarSalaryAggregator scalar = new ScalarSalaryAggregator();
+
+    @Override
+    public SalarySummary summarize(double[] salaries, int length) {
+        if (length == 0) {
+            return SalarySummary.EMPTY;
+        }
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int bound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, salaries, i);
+            sum = sum.add(v);
+            min = min.min(v);
+            max = max.max(v);
+        }
+        double total = sum.reduceLanes(VectorOperators.ADD);
+        double lo = min.reduceLanes(VectorOperators.MIN);
+        double hi = max.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            total += salaries[i];
+            lo = Math.min(lo, salaries[i]);
+            hi = Math.max(hi, salaries[i]);
+        }
+        return new SalarySummary(length, total, lo, hi);
+    }
+
+    @Override
+    public SalarySummary summarize(double[] salaries, int[] groups, int group, int length) {
+        DoubleVector sum = DoubleVector.zero(DOUBLES);
+        DoubleVector min = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        DoubleVector max = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        long count = 0;
+        int bound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            VectorMask<Double> inGroup = IntVector.fromArray(INTS, groups, i).eq(group).cast(DOUBLES);
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, salaries, i);
+            sum = sum.add(v, inGroup);
+            min = min.lanewise(VectorOperators.MIN, v, inGroup);
+            max = max.lanewise(VectorOperators.MAX, v, inGroup);
+            count += inGroup.trueCount();
+        }
+        double total = sum.reduceLanes(VectorOperators.ADD);
+        double lo = min.reduceLanes(VectorOperators.MIN);
+        double hi = max.reduceLanes(VectorOperators.MAX);
+        for (; i < length; i++) {
+            if (groups[i] == group) {
+                count++;
+                total += salaries[i];
+                lo = Math.min(lo, salaries[i]);
+                hi = Math.max(hi, salaries[i]);
+            }
+        }
+        return count == 0 ? SalarySummary.EMPTY : new SalarySummary(count, total, lo, hi);
+    }
+
+    @Override
+    public SalarySummary[] summarizeByGroup(double[] salaries, int[] groups, int groupCount, int length) {
+        return groupCount > MASKED_PASS_LIMIT
+                ? scalar.summarizeByGroup(salaries, groups, groupCount, length)
+                : SalaryAggregator.super.summarizeByGroup(salaries, groups, groupCount, length);
+    }
+
+    @Override
+    public int countAbove(double[] salaries, int length, double threshold) {
+        int count = 0;
+        int bound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += DOUBLES.length()) {
+            count += DoubleVector.fromArray(DOUBLES, salaries, i).compare(VectorOperators.GT, threshold).trueCount();
+        }
+        for (; i < length; i++) {
+            count += salaries[i] > threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsAbove(double[] salaries, int length, double threshold) {
+        int[] rows = new int[countAbove(salaries, length, threshold)];
+        int n = 0;
+        int bound = DOUBLES.loopBound(length);
+        int i = 0;
+        for (; i < bound && n < rows.length; i += DOUBLES.length()) {
+            long bits = DoubleVector.fromArray(DOUBLES, salaries, i).compare(VectorOperators.GT, threshold).toLong();
+            while (bits != 0) {
+                rows[n++] = i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        for (; i < length && n < rows.length; i++) {
+            if (salaries[i] > threshold) {
+                rows[n++] = i;
+            }
+        }
+        return rows;
+    }
+}
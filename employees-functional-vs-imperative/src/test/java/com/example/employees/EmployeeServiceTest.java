@@ -1,14 +1,41 @@
 package com.example.employees;
 
+import com.example.employees.index.EmployeeDirectory;
+import com.example.employees.index.HireDateIndex;
+import com.example.employees.index.OrderedEmployeeListing;
+import com.example.employees.index.OrgHierarchy;
+import com.example.employees.model.Department;
 import com.example.employees.model.Employee;
+import com.example.employees.model.Role;
+import com.example.employees.payroll.PayrollLedger;
 import com.example.employees.repository.EmployeeRepository;
+import com.example.employees.repository.FileEmployeeRepository;
 import com.example.employees.service.EmployeeService;
+import com.example.employees.service.StreamingEmployeeService;
+import com.example.employees.stats.CompensationStatistics;
+import com.example.employees.stats.SalaryStatistics;
+import com.example.employees.table.EmployeeTable;
+import com.example.employees.table.SalaryAggregator;
+import com.example.employees.table.SalarySummary;
+import com.example.employees.table.ScalarSalaryAggregator;
+import com.example.employees.table.VectorSalaryAggregator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -149,4 +176,528 @@ class EmployeeServiceTest {
         assertEquals(functional, imperative,
                 "Ordered lists should be identical in content and order");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDirectoryIndexesMatchLinearScans() {
+        AtomicInteger loads = new AtomicInteger();
+        EmployeeRepository countingRepo = new EmployeeRepository() {
+            @Override
+            public List<Employee> getAllEmployees() {
+                loads.incrementAndGet();
+                return super.getAllEmployees();
+            }
+        };
+        EmployeeService indexed = new EmployeeService(countingRepo);
+        EmployeeDirectory directory = indexed.getDirectory();
+
+        for (Employee e : allEmployees) {
+            assertEquals(e, directory.findById(e.getId()).orElseThrow());
+            assertEquals(allEmployees.stream()
+                            .filter(x -> x.getDepartment().getId().equals(e.getDepartment().getId()))
+                            .toList(),
+                    directory.byDepartment(e.getDepartment().getId()),
+                    "Department bucket should keep repository order");
+            assertEquals(allEmployees.stream()
+                            .filter(x -> e.getId().equals(x.getManagerId()))
+                            .toList(),
+                    directory.byManager(e.getId()));
+        }
+        for (Role role : Role.values()) {
+            assertEquals(allEmployees.stream().filter(e -> e.getRole() == role).toList(),
+                    directory.byRole(role));
+        }
+        assertTrue(directory.findById(UUID.randomUUID()).isEmpty());
+        assertTrue(directory.byManager(UUID.randomUUID()).isEmpty());
+        assertEquals(service.findDepartmentIdByName("Development"), indexed.findDepartmentIdByName("development"));
+
+        // Answers come from the indexes: the repository is read only once
+        indexed.getOrderedListFunctional();
+        indexed.getOrderedListImperative();
+        indexed.getNamesAboveAverageSalaryFunctional();
+        indexed.getEmployeesByManagerImperative(allEmployees.get(0).getId());
+        assertEquals(1, loads.get());
+        assertEquals(service.getOrderedListFunctional(), indexed.getOrderedListImperative());
+    }
+
+    @Test
+    void testOrgHierarchySubtreeQueries() {
+        // Three levels under John Doe: John -> Jane -> (Carlos -> Diana), Natalia
+        Department dev = allEmployees.get(0).getDepartment();
+        UUID john = allEmployees.get(0).getId();
+        UUID jane = UUID.randomUUID();
+        UUID carlos = UUID.randomUUID();
+        UUID diana = UUID.randomUUID();
+        UUID natalia = UUID.randomUUID();
+        List<Employee> org = new ArrayList<>(allEmployees);
+        org.add(new Employee(diana, "Diana", "Low", Role.DESIGNER, 1000, dev, false, carlos, LocalDate.of(2024, 1, 1)));
+        org.add(new Employee(jane, "Jane", "Lead", Role.MANAGER, 3000, dev, true, john, LocalDate.of(2020, 1, 1)));
+        org.add(new Employee(carlos, "Carlos", "Mid", Role.DEVELOPER, 2000, dev, false, jane, LocalDate.of(2022, 1, 1)));
+        org.add(new Employee(natalia, "Natalia", "Mid", Role.DEVELOPER, 2500, dev, false, jane, LocalDate.of(2023, 1, 1)));
+
+        OrgHierarchy hierarchy = OrgHierarchy.of(org);
+
+        assertTrue(hierarchy.isUnder(diana, john), "Transitive report should be under the top manager");
+        assertTrue(hierarchy.isUnder(diana, jane));
+        assertFalse(hierarchy.isUnder(jane, diana));
+        assertFalse(hierarchy.isUnder(john, john), "Nobody is under themselves");
+        assertFalse(hierarchy.isUnder(diana, allEmployees.get(4).getId()), "Laura's subtree is disjoint");
+
+        assertEquals(4, hierarchy.subtreeSize(jane));
+        assertEquals(3, hierarchy.headcountUnder(jane));
+        assertEquals(3000 + 2000 + 1000 + 2500, hierarchy.subtreeSalary(jane), 0.001);
+        assertEquals(List.of(carlos, diana, natalia),
+                hierarchy.reportsUnder(jane).stream().map(Employee::getId).toList(),
+                "Reports should come in depth-first order");
+
+        // Subtree totals agree with a brute-force walk of managerId chains
+        for (Employee root : hierarchy.roots()) {
+            double expected = org.stream()
+                    .filter(e -> e.getId().equals(root.getId()) || hierarchy.isUnder(e.getId(), root.getId()))
+                    .mapToDouble(Employee::getSalary)
+                    .sum();
+            assertEquals(expected, hierarchy.subtreeSalary(root.getId()), 0.001);
+        }
+        assertEquals(0, hierarchy.depth(john).orElseThrow());
+        assertEquals(3, hierarchy.depth(diana).orElseThrow());
+        assertTrue(hierarchy.depth(UUID.randomUUID()).isEmpty());
+        assertEquals(org.stream().mapToDouble(Employee::getSalary).sum(),
+                hierarchy.roots().stream().mapToDouble(r -> hierarchy.subtreeSalary(r.getId())).sum(), 0.001);
+
+        // The service exposes the same answers for the flat sample org
+        assertEquals(service.getEmployeesByManagerFunctional(john), service.getAllReportsUnder(john));
+        assertEquals(service.getTotalSalaryFunctional(),
+                service.getManagersFunctional().stream().mapToDouble(m -> service.getSubtreePayroll(m.getId())).sum(),
+                0.001);
+    }
+
+    @Test
+    void testParallelEqualsFunctional() {
+        UUID devId = service.findDepartmentIdByName("Development");
+        UUID johnId = service.findManagerIdByName("John Doe");
+
+        assertEquals(service.getTotalSalaryFunctional(), service.getTotalSalaryParallel(), 0.001,
+                "Parallel total should match the sequential one");
+        assertEquals(service.getEmployeesByDepartmentFunctional(devId), service.getEmployeesByDepartmentParallel(devId),
+                "Parallel department filter should keep encounter order");
+        assertIterableEquals(service.getNamesAboveAverageSalaryFunctional(), service.getNamesAboveAverageSalaryParallel());
+        assertEquals(service.getManagersFunctional(), service.getManagersParallel());
+        assertEquals(service.getEmployeesByManagerFunctional(johnId), service.getEmployeesByManagerParallel(johnId));
+        assertTrue(service.getEmployeesByManagerParallel(null).isEmpty());
+        assertEquals(service.getOrderedListFunctional(), service.getOrderedListParallel(),
+                "Parallel ordered list should be identical in content and order");
+    }
+
+    @Test
+    void testSalaryStatisticsMatchExactValues() {
+        CompensationStatistics functional = service.getSalaryStatisticsFunctional();
+        CompensationStatistics imperative = service.getSalaryStatisticsImperative();
+        CompensationStatistics parallel = service.getSalaryStatisticsParallel();
+
+        double[] salaries = allEmployees.stream().mapToDouble(Employee::getSalary).sorted().toArray();
+        double mean = Arrays.stream(salaries).average().orElseThrow();
+        double variance = Arrays.stream(salaries).map(s -> (s - mean) * (s - mean)).sum() / salaries.length;
+
+        for (CompensationStatistics stats : List.of(functional, imperative, parallel)) {
+            SalaryStatistics overall = stats.overall();
+            assertEquals(salaries.length, overall.getCount());
+            assertEquals(mean, overall.getMean(), 1e-9);
+            assertEquals(Math.sqrt(variance), overall.getStandardDeviation(), 1e-9);
+            assertEquals(salaries[0], overall.getMin());
+            assertEquals(salaries[salaries.length - 1], overall.getMax());
+            assertEquals(salaries[9], overall.getMedian(), salaries[9] * 0.01, "Nearest-rank median within 1%");
+            assertEquals(salaries[17], overall.getP90(), salaries[17] * 0.01);
+            assertEquals(allEmployees.stream().filter(e -> e.getRole() == Role.MANAGER).count(),
+                    stats.byRole().get(Role.MANAGER).getCount());
+            assertEquals(4, stats.byDepartment().size());
+            assertEquals(salaries.length, Arrays.stream(overall.getHistogram(5000, 7000)).sum());
+        }
+        assertEquals(functional.overall().toString(), imperative.overall().toString());
+
+        // Merged partial results equal a single pass, with quantiles within 1% at scale
+        Random random = new Random(7);
+        double[] large = random.doubles(200_000, 1_000, 20_000).toArray();
+        SalaryStatistics single = new SalaryStatistics();
+        SalaryStatistics left = new SalaryStatistics();
+        SalaryStatistics right = new SalaryStatistics();
+        for (int i = 0; i < large.length; i++) {
+            single.accept(large[i]);
+            (i % 3 == 0 ? left : right).accept(large[i]);
+        }
+        SalaryStatistics merged = left.merge(right);
+        Arrays.sort(large);
+        assertEquals(single.getMean(), merged.getMean(), 1e-6);
+        assertEquals(single.getVariance(), merged.getVariance(), single.getVariance() * 1e-9);
+        assertEquals(single.getP99(), merged.getP99());
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            double exact = large[(int) Math.ceil(q * large.length) - 1];
+            assertEquals(exact, merged.getQuantile(q), exact * 0.01, "Quantile " + q + " within relative accuracy");
+        }
+    }
+
+    @Test
+    void testPayrollLedgerMatchesFullRecomputation() {
+        PayrollLedger ledger = PayrollLedger.from(repo);
+        assertEquals(service.getTotalSalaryImperative(), ledger.getTotalSalary(), 0.001);
+        assertEquals(service.getNamesAboveAverageSalaryFunctional(), ledger.getNamesAboveAverage());
+
+        List<Department> departments = allEmployees.stream().map(Employee::getDepartment).distinct().toList();
+        List<UUID> managers = service.getManagersFunctional().stream().map(Employee::getId).toList();
+        List<UUID> active = new ArrayList<>(allEmployees.stream().map(Employee::getId).toList());
+        Random random = new Random(11);
+
+        for (int step = 0; step < 2_000; step++) {
+            UUID target = active.get(random.nextInt(active.size()));
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    UUID id = UUID.randomUUID();
+                    ledger.hire(new Employee(id, "New", "Hire" + step, Role.DEVELOPER, 3000 + random.nextInt(6000),
+                            departments.get(random.nextInt(departments.size())), false,
+                            managers.get(random.nextInt(managers.size())), LocalDate.of(2024, 1, 1)));
+                    active.add(id);
+                }
+                case 1 -> {
+                    if (active.size() > 5 && !managers.contains(target)) {
+                        ledger.terminate(target);
+                        active.remove(target);
+                    }
+                }
+                case 2 -> ledger.changeSalary(target, 3000 + random.nextInt(6000) + random.nextDouble());
+                case 3 -> ledger.moveDepartment(target, departments.get(random.nextInt(departments.size())));
+                default -> ledger.changeManager(target, managers.contains(target) ? null : managers.get(random.nextInt(managers.size())));
+            }
+        }
+
+        // Incremental aggregates agree with a full rescan of the current workforce
+        List<Employee> current = ledger.getDirectory().all();
+        assertEquals(active.size(), ledger.headcount());
+        double total = current.stream().mapToDouble(Employee::getSalary).sum();
+        assertEquals(total, ledger.getTotalSalary(), 1e-6);
+        assertEquals(total / current.size(), ledger.getAverageSalary(), 1e-9);
+        for (Department d : departments) {
+            List<Employee> members = ledger.getDirectory().byDepartment(d.getId());
+            assertEquals(members.size(), ledger.getDepartmentHeadcount(d.getId()));
+            assertEquals(members.stream().mapToDouble(Employee::getSalary).sum(), ledger.getDepartmentTotal(d.getId()), 1e-6);
+        }
+        assertEquals(current.stream()
+                        .filter(e -> e.getSalary() > total / current.size())
+                        .map(Employee::getFullName)
+                        .sorted()
+                        .toList(),
+                ledger.getNamesAboveAverage());
+        assertTrue(ledger.getAboveAverage().stream().allMatch(e -> e.getSalary() > ledger.getAverageSalary()));
+
+        assertThrows(IllegalArgumentException.class, () -> ledger.hire(current.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> ledger.terminate(UUID.randomUUID()));
+    }
+
+    @Test
+    void testServiceEventsUpdateQueriesAndIndexes() {
+        Employee john = allEmployees.get(0);
+        Employee laura = allEmployees.get(4);
+        Department dev = john.getDepartment();
+        UUID hireId = UUID.randomUUID();
+        LocalDate hired = LocalDate.of(2030, 1, 1);
+
+        // Read every index before the events so the service has to rebuild them
+        int headcountBefore = service.getCurrentHeadcountHiredBy(hired);
+        int reportsBefore = service.getAllReportsUnder(john.getId()).size();
+        double totalBefore = service.getTotalSalaryFunctional();
+
+        service.hire(new Employee(hireId, "Zoe", "Zeta", Role.DEVELOPER, 99_000, dev, false, john.getId(), hired));
+        assertEquals(totalBefore + 99_000, service.getTotalSalaryImperative(), 0.001);
+        assertEquals(headcountBefore + 1, service.getCurrentHeadcountHiredBy(hired));
+        assertEquals(reportsBefore + 1, service.getAllReportsUnder(john.getId()).size());
+        assertTrue(service.getNamesAboveAverageSalaryParallel().contains("Zoe Zeta"));
+        assertEquals(service.getOrderedListFunctional(),
+                service.getOrderedListPage(null, allEmployees.size() + 1).rows());
+
+        service.changeManager(hireId, laura.getId());
+        assertTrue(service.getHierarchy().isUnder(hireId, laura.getId()));
+        assertFalse(service.getHierarchy().isUnder(hireId, john.getId()));
+        assertEquals(reportsBefore, service.getAllReportsUnder(john.getId()).size());
+        assertEquals(List.of(hireId), service.getEmployeesByManagerFunctional(laura.getId()).stream()
+                .map(Employee::getId)
+                .filter(hireId::equals)
+                .toList());
+
+        service.changeSalary(hireId, 1);
+        assertFalse(service.getNamesAboveAverageSalaryFunctional().contains("Zoe Zeta"));
+        assertEquals(service.getTotalSalaryParallel(), service.getTotalSalaryIncremental(), 0.001);
+
+        // The fast paths agree with the style variants after the events
+        assertEquals(service.getNamesAboveAverageSalaryImperative(), service.getNamesAboveAverageSalaryIncremental());
+        assertEquals(service.getEmployeesByDepartmentParallel(dev.getId()), service.getEmployeesByDepartmentIndexed(dev.getId()));
+        assertEquals(service.getManagersImperative(), service.getManagersIndexed());
+        assertEquals(service.getEmployeesByManagerFunctional(laura.getId()), service.getEmployeesByManagerIndexed(laura.getId()));
+        assertTrue(service.getEmployeesByManagerIndexed(null).isEmpty());
+        assertEquals(service.getEmployeesByDepartmentImperative(dev.getId()).stream().mapToDouble(Employee::getSalary).sum(),
+                service.getDepartmentSalaryTotal(dev.getId()), 0.001);
+
+        // Unknown managers and cycles are rejected and leave the state untouched
+        assertThrows(IllegalArgumentException.class, () -> service.changeManager(hireId, UUID.randomUUID()));
+        assertThrows(IllegalArgumentException.class, () -> service.changeManager(hireId, hireId));
+        service.changeManager(laura.getId(), john.getId());
+        assertThrows(IllegalArgumentException.class, () -> service.changeManager(john.getId(), hireId));
+        assertTrue(service.getHierarchy().isUnder(hireId, john.getId()));
+
+        service.terminate(hireId);
+        assertEquals(headcountBefore, service.getCurrentHeadcountHiredBy(hired));
+        assertTrue(service.getDirectory().findById(hireId).isEmpty());
+    }
+
+    @Test
+    void testFileRepositoryStreamsSameResults(@TempDir Path dir) {
+        Path sample = dir.resolve("employees.csv");
+        FileEmployeeRepository.write(sample, allEmployees);
+        FileEmployeeRepository fileRepo = new FileEmployeeRepository(sample);
+
+        assertEquals(allEmployees, fileRepo.getAllEmployees(), "Round trip should preserve every field");
+
+        UUID devId = service.findDepartmentIdByName("Development");
+        UUID johnId = service.findManagerIdByName("John Doe");
+        for (boolean parallel : new boolean[]{false, true}) {
+            StreamingEmployeeService streaming = new StreamingEmployeeService(fileRepo, parallel);
+            assertEquals(service.getTotalSalaryFunctional(), streaming.getTotalSalary(), 0.001);
+            assertEquals(service.getEmployeesByDepartmentFunctional(devId), streaming.getEmployeesByDepartment(devId));
+            assertEquals(service.getNamesAboveAverageSalaryFunctional(), streaming.getNamesAboveAverageSalary());
+            assertEquals(service.getManagersFunctional(), streaming.getManagers());
+            assertEquals(service.getEmployeesByManagerFunctional(johnId), streaming.getEmployeesByManager(johnId));
+            assertEquals(service.getOrderedListFunctional(), streaming.getOrderedList());
+        }
+
+        // A larger file splits on line boundaries; parallel and sequential reads agree
+        Department dev = allEmployees.get(0).getDepartment();
+        Random random = new Random(3);
+        List<Employee> many = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            many.add(new Employee(new UUID(random.nextLong(), random.nextLong()), "First" + i, "Last" + (i % 97),
+                    Role.values()[i % Role.values().length], 1000 + random.nextInt(9000) + (i % 4) * 0.25, dev,
+                    i % 50 == 0, i % 50 == 0 ? null : johnId, LocalDate.of(2000, 1, 1).plusDays(i % 9000)));
+        }
+        Path large = dir.resolve("large.csv");
+        FileEmployeeRepository.write(large, many);
+        FileEmployeeRepository largeRepo = new FileEmployeeRepository(large);
+
+        try (Stream<Employee> stream = largeRepo.stream()) {
+            Spliterator<Employee> spliterator = stream.spliterator();
+            assertNotNull(spliterator.trySplit(), "Multi-megabyte file should split for parallel reads");
+        }
+        try (Stream<Employee> stream = largeRepo.stream().parallel()) {
+            assertEquals(many, stream.toList(), "Parallel read should keep file order");
+        }
+        assertEquals(many.stream().mapToDouble(Employee::getSalary).sum(),
+                new StreamingEmployeeService(largeRepo, true).getTotalSalary(), 0.01);
+        assertEquals(new StreamingEmployeeService(largeRepo).getNamesAboveAverageSalary(),
+                new StreamingEmployeeService(largeRepo, true).getNamesAboveAverageSalary());
+    }
+
+    @Test
+    void testEmployeeTableRoundTripsThroughColumns(@TempDir Path dir) {
+        EmployeeTable table = EmployeeTable.of(allEmployees);
+
+        assertEquals(allEmployees.size(), table.size());
+        assertEquals(allEmployees, table.asList(), "Materialized rows should equal the original employees");
+        assertEquals(4, table.distinctDepartments(), "Departments are dictionary-encoded");
+        assertEquals(service.getTotalSalaryImperative(), table.totalSalary(), 0.001);
+
+        EmployeeTable.Row row = table.row(1);
+        Employee jane = allEmployees.get(1);
+        assertEquals(jane.getId(), row.getId());
+        assertEquals(jane.getFullName(), row.getFullName());
+        assertEquals(jane.getManagerId(), row.getManagerId());
+        assertSame(table.row(2).getDepartment(), row.getDepartment(), "Rows share the department instance");
+        assertNull(row.moveTo(0).getManagerId(), "John Doe has no manager");
+        assertTrue(row.isManager());
+
+        List<UUID> visited = new ArrayList<>();
+        table.forEach(r -> visited.add(r.getId()));
+        assertEquals(allEmployees.stream().map(Employee::getId).toList(), visited);
+
+        // Loading straight from the streaming repository
+        Path file = dir.resolve("employees.csv");
+        FileEmployeeRepository.write(file, allEmployees);
+        try (Stream<Employee> stream = new FileEmployeeRepository(file).stream()) {
+            assertEquals(allEmployees, EmployeeTable.from(stream).asList());
+        }
+        assertEquals(service.getOrderedListFunctional(),
+                new EmployeeService(new EmployeeRepository() {
+                    @Override
+                    public List<Employee> getAllEmployees() {
+                        return table.asList();
+                    }
+                }).getOrderedListFunctional());
+    }
+
+    @Test
+    void testVectorAndScalarSalaryAggregatorsAgree() {
+        assertInstanceOf(VectorSalaryAggregator.class, SalaryAggregator.best(),
+                "Tests run with --add-modules jdk.incubator.vector");
+
+        // Odd length so the scalar tail after the last full vector is exercised
+        Random random = new Random(48);
+        int length = 10_007;
+        double[] salaries = new double[length];
+        int[] groups = new int[length];
+        for (int i = 0; i < length; i++) {
+            salaries[i] = 30_000 + random.nextInt(150_000) + random.nextInt(100) / 100.0;
+            groups[i] = random.nextInt(5);
+        }
+        groups[length - 1] = 7; // group seen only in the tail
+
+        SalaryAggregator scalar = new ScalarSalaryAggregator();
+        SalaryAggregator vector = new VectorSalaryAggregator();
+
+        assertSummaryEquals(scalar.summarize(salaries, length), vector.summarize(salaries, length));
+        for (int g = 0; g <= 8; g++) {
+            assertSummaryEquals(scalar.summarize(salaries, groups, g, length), vector.summarize(salaries, groups, g, length));
+        }
+        assertEquals(SalarySummary.EMPTY, vector.summarize(salaries, groups, 8, length));
+        SalarySummary[] scalarGroups = scalar.summarizeByGroup(salaries, groups, 8, length);
+        SalarySummary[] vectorGroups = vector.summarizeByGroup(salaries, groups, 8, length);
+        for (int g = 0; g < 8; g++) {
+            assertSummaryEquals(scalarGroups[g], vectorGroups[g]);
+        }
+        SalarySummary[] fewGroups = vector.summarizeByGroup(salaries, groups, 3, length); // masked passes
+        for (int g = 0; g < 3; g++) {
+            assertSummaryEquals(scalarGroups[g], fewGroups[g]);
+        }
+
+        double threshold = scalar.summarize(salaries, length).average();
+        assertEquals(scalar.countAbove(salaries, length, threshold), vector.countAbove(salaries, length, threshold));
+        assertArrayEquals(scalar.rowsAbove(salaries, length, threshold), vector.rowsAbove(salaries, length, threshold));
+        assertEquals(0, vector.rowsAbove(salaries, length, Double.MAX_VALUE).length);
+        assertEquals(SalarySummary.EMPTY, vector.summarize(salaries, 0));
+
+        // Same answers as the object-based service over the sample data
+        EmployeeTable table = EmployeeTable.of(allEmployees);
+        assertEquals(service.getTotalSalaryImperative(), table.salarySummary().sum(), 0.001);
+        assertEquals(service.getNamesAboveAverageSalaryImperative(),
+                table.namesAboveAverageSalary().stream().sorted().toList());
+        table.salarySummaryByDepartment().forEach((department, summary) -> assertEquals(
+                service.getEmployeesByDepartmentImperative(department.getId()).size(), summary.count()));
+    }
+
+    @Test
+    void testHireDateIndexMatchesLinearScans() {
+        HireDateIndex index = service.getHireDateIndex();
+        UUID devId = service.findDepartmentIdByName("Development");
+        LocalDate asOf = LocalDate.of(2019, 12, 31);
+
+        // Sample data: hires on or before the end of 2019
+        List<Employee> hired = allEmployees.stream().filter(e -> !e.getHireDate().isAfter(asOf)).toList();
+        assertEquals(hired.size(), service.getCurrentHeadcountHiredBy(asOf));
+        assertEquals(hired.stream().mapToDouble(Employee::getSalary).sum(), service.getCurrentPayrollHiredBy(asOf), 0.001);
+        assertEquals(hired.stream().filter(e -> e.getDepartment().getId().equals(devId)).count(),
+                index.headcountHiredBy(devId, asOf));
+        assertEquals(0, index.headcountHiredBy(LocalDate.of(2013, 7, 21)), "Lucia Rios is the first hire");
+        assertEquals(1, index.headcountHiredBy(LocalDate.of(2013, 7, 22)), "Hired-by includes the date itself");
+
+        // Current staff only: a termination or a raise also changes the answer for a past date
+        EmployeeService events = new EmployeeService();
+        Employee leaving = hired.stream()
+                .filter(e -> allEmployees.stream().noneMatch(x -> e.getId().equals(x.getManagerId())))
+                .findFirst().orElseThrow();
+        Employee raised = hired.stream().filter(e -> e != leaving).findFirst().orElseThrow();
+        events.terminate(leaving.getId());
+        events.changeSalary(raised.getId(), raised.getSalary() + 500);
+        assertEquals(hired.size() - 1, events.getCurrentHeadcountHiredBy(asOf));
+        assertEquals(hired.stream().mapToDouble(Employee::getSalary).sum() - leaving.getSalary() + 500,
+                events.getCurrentPayrollHiredBy(asOf), 0.001);
+
+        assertEquals(List.of("Jane Smith"), service.getHiresBetween(LocalDate.of(2018, 3, 15), LocalDate.of(2018, 3, 15))
+                .stream().map(Employee::getFullName).toList());
+        assertEquals(List.of(), index.hiresBetween(LocalDate.of(2020, 1, 1), LocalDate.of(2019, 1, 1)));
+        assertEquals(2, index.hiresPerQuarter().get("2022-Q1"), "Veronica Pena and Camila Ruiz");
+        assertEquals(0, index.hiresPerQuarter().get("2015-Q1"), "Empty quarters are listed");
+        assertEquals(allEmployees.size(), index.hiresPerQuarter().values().stream().mapToInt(Integer::intValue).sum());
+
+        // Random workforce against brute force, including missing hire dates and repeated days
+        Random random = new Random(49);
+        Department[] departments = {new Department(UUID.randomUUID(), "A"), new Department(UUID.randomUUID(), "B")};
+        List<Employee> workforce = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate hireDate = random.nextInt(50) == 0 ? null : LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9_000));
+            workforce.add(new Employee(UUID.randomUUID(), "F" + i, "L" + i, Role.DEVELOPER, 1_000 + random.nextInt(9_000),
+                    departments[random.nextInt(2)], false, null, hireDate));
+        }
+        HireDateIndex large = HireDateIndex.of(workforce);
+        List<Employee> dated = workforce.stream().filter(e -> e.getHireDate() != null).toList();
+        assertEquals(workforce.size() - dated.size(), large.withoutHireDate());
+
+        for (int q = 0; q < 50; q++) {
+            LocalDate a = LocalDate.of(1999, 6, 1).plusDays(random.nextInt(10_000));
+            LocalDate b = a.plusDays(random.nextInt(1_000));
+            UUID dept = departments[q % 2].getId();
+            assertEquals(dated.stream().filter(e -> !e.getHireDate().isAfter(a)).count(), large.headcountHiredBy(a));
+            assertEquals(dated.stream().filter(e -> !e.getHireDate().isAfter(a) && e.getDepartment().getId().equals(dept))
+                    .mapToDouble(Employee::getSalary).sum(), large.payrollHiredBy(dept, a), 0.001);
+            List<Employee> expected = dated.stream()
+                    .filter(e -> !e.getHireDate().isBefore(a) && !e.getHireDate().isAfter(b))
+                    .sorted(Comparator.comparing(Employee::getHireDate).thenComparing(Employee::getId))
+                    .toList();
+            assertEquals(expected, large.hiresBetween(a, b));
+            assertEquals(expected.stream().filter(e -> e.getDepartment().getId().equals(dept)).count(),
+                    large.countHiresBetween(dept, a, b));
+        }
+
+        LocalDate today = LocalDate.of(2024, 6, 30);
+        int[] cohorts = large.tenureCohorts(today, 1, 5, 10);
+        int[] expected = new int[4];
+        dated.stream().filter(e -> !e.getHireDate().isAfter(today)).forEach(e -> {
+            int years = Period.between(e.getHireDate(), today).getYears();
+            expected[years < 1 ? 0 : years < 5 ? 1 : years < 10 ? 2 : 3]++;
+        });
+        assertArrayEquals(expected, cohorts);
+        assertThrows(IllegalArgumentException.class, () -> large.tenureCohorts(today, 5, 1));
+    }
+
+    @Test
+    void testOrderedListPagesMatchFullListing() {
+        List<String> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderedEmployeeListing.Page<String> page = service.getOrderedListPage(cursor, 6);
+            assertTrue(page.rows().size() <= 6);
+            paged.addAll(page.rows());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(service.getOrderedListFunctional(), paged);
+        assertEquals(4, pages, "20 employees in pages of 6");
+        assertThrows(IllegalArgumentException.class, () -> service.getOrderedListPage("not a cursor", 5));
+        assertThrows(IllegalArgumentException.class, () -> service.getOrderedListPage(null, 0));
+
+        // Repeated full names are ordered by id; the cursor survives a rebuild with a new hire
+        Random random = new Random(50);
+        Department[] departments = {new Department(UUID.randomUUID(), "Ops"), new Department(UUID.randomUUID(), "Dev")};
+        List<Employee> workforce = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            workforce.add(new Employee(UUID.randomUUID(), "F" + random.nextInt(10), "L" + random.nextInt(10), Role.DEVELOPER,
+                    1_000, departments[random.nextInt(2)], false, null, LocalDate.of(2020, 1, 1)));
+        }
+        OrderedEmployeeListing listing = OrderedEmployeeListing.of(workforce);
+        Comparator<Employee> order = Comparator.comparing((Employee e) -> e.getDepartment().getName())
+                .thenComparing(Employee::getLastName)
+                .thenComparing(Employee::getFirstName)
+                .thenComparing(Employee::getId);
+        assertEquals(workforce.stream().sorted(order).toList(), listing.asList());
+
+        OrderedEmployeeListing.Page<Employee> first = listing.page(null, 100, e -> e);
+        Employee hire = new Employee(UUID.randomUUID(), "A", "A", Role.TESTER, 1_000, departments[1], false, null, null);
+        assertTrue(order.compare(hire, first.rows().get(0)) < 0, "The hire sorts first");
+        List<Employee> grown = new ArrayList<>(workforce);
+        grown.add(hire);
+        List<Employee> second = OrderedEmployeeListing.of(grown).page(first.nextCursor(), 100, e -> e).rows();
+        assertEquals(listing.page(first.nextCursor(), 100, e -> e).rows(), second,
+                "A hire sorting before the cursor does not shift the next page");
+    }
+
+    private static void assertSummaryEquals(SalarySummary expected, SalarySummary actual) {
+        assertEquals(expected.count(), actual.count());
+        // Lane-wise partial sums change the addition order
+        assertEquals(expected.sum(), actual.sum(), Math.abs(expected.sum()) * 1e-12);
+        assertEquals(expected.min(), actual.min());
+        assertEquals(expected.max(), actual.max());
+    }
+}
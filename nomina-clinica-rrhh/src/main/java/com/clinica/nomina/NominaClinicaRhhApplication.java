@@ -1,5 +1,7 @@
 package com.clinica.nomina;
 
+import com.clinica.nomina.batch.CierreMesJob;
+import com.clinica.nomina.batch.FuenteTurnos;
 import com.clinica.nomina.model.Empleado;
 import com.clinica.nomina.model.RegistroTurno;
 import com.clinica.nomina.model.TipoTurno;
@@ -7,9 +9,13 @@ import com.clinica.nomina.service.RRHHFunctionalService;
 import com.clinica.nomina.service.RRHHFunctionalService.EmpleadoCarga;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
@@ -27,7 +33,7 @@ public class NominaClinicaRhhApplication {
 
 	public static void main(String[] args) {
 
-		SpringApplication.run(NominaClinicaRhhApplication.class, args);
+		ConfigurableApplicationContext ctx = SpringApplication.run(NominaClinicaRhhApplication.class, args);
 
 		RRHHFunctionalService rrHHService = new RRHHFunctionalService();
 
@@ -108,7 +114,13 @@ public class NominaClinicaRhhApplication {
 		// -------------------------------------------------------------------------
 		System.out.println("\n✅ 8) Cobertura para 1-Oct-2024 (mínimo 2 empleados):");
 
-		boolean cobertura = rrHHService.verificarCobertura(LocalDate.of(2024, 10, 1), 2);
+		LocalDate fechaCobertura = LocalDate.of(2024, 10, 1);
+		System.out.println("👥 Empleados cubriendo el turno del " + fechaCobertura + ":");
+		rrHHService.empleadosEnTurno(fechaCobertura)
+				.forEach(turno -> System.out.printf("  - %s | Tipo: %s | ⏱ %d hrs%n",
+						rrHHService.getMapaPorId().get(turno.idEmpleado()).nombre(), turno.tipo(), turno.horas()));
+
+		boolean cobertura = rrHHService.verificarCobertura(fechaCobertura, 2);
 		System.out.println(cobertura
 				? "✔ Cobertura suficiente"
 				: "❌ Cobertura insuficiente"
@@ -148,5 +160,36 @@ public class NominaClinicaRhhApplication {
 					System.out.printf("👤 %s | Tipo: %s | ⏱ %d hrs | 📅 %s%n",
 							emp.nombre(), turno.tipo(), turno.horas(), turno.fecha());
 				});
+
+		// -------------------------------------------------------------------------
+		// 🧩 Ejercicio 12 – Cierre de mes por chunks (reanudable)
+		// -------------------------------------------------------------------------
+		System.out.println("\n📦 12) Cierre de mes por chunks:");
+
+		Environment env = ctx.getEnvironment();
+		CierreMesJob cierre = new CierreMesJob(new CierreMesJob.Configuracion(
+				env.getProperty("nomina.cierre.tamanio-chunk", Integer.class, 10_000),
+				env.getProperty("nomina.cierre.paralelismo", Integer.class, Runtime.getRuntime().availableProcessors()),
+				Path.of(env.getProperty("nomina.cierre.punto-control", "cierre/cierre-mes.ckpt")),
+				env.getProperty("nomina.cierre.chunks-por-punto-control", Integer.class,
+						CierreMesJob.CHUNKS_POR_PUNTO_CONTROL_DEFECTO)));
+
+		CierreMesJob.ResultadoCierre resultadoCierre = cierre.ejecutar(
+				"cierre-2024-10",
+				FuenteTurnos.de(rrHHService.getRegistros()),
+				rrHHService.getPersonal(),
+				tipo -> tipo == TipoTurno.NOCHE ? 1.5 : 1.0);
+
+		Function<CierreMesJob.ResultadoCierre, String> origen = r ->
+				r.posicionInicial() == r.registrosTotales() && r.reanudado() ? "✔ Cierre ya completado en el punto de control"
+						: r.reanudado() ? "↩ Reanudado desde el registro " + r.posicionInicial()
+						: "▶ Iniciado desde el primer registro";
+		System.out.println(origen.apply(resultadoCierre)
+				+ " | chunks procesados: " + resultadoCierre.chunksProcesados()
+				+ " | registros: " + resultadoCierre.registrosTotales());
+		resultadoCierre.salarios()
+				.forEach((id, salario) ->
+						System.out.println("👤 " + rrHHService.getMapaPorId().get(id).nombre() + " -> 💵 $" + salario)
+				);
 	}
 }
@@ -0,0 +1,90 @@
+package com.clinica.nomina.batch;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Totales parciales del cierre de mes: horas y cantidad de turnos por empleado y TipoTurno.
+ *
+ * - Solo guarda enteros: el pago se calcula al final a partir de las horas por tipo,
+ *   por lo que el resultado no depende del tamaño de chunk ni del reparto entre hilos.
+ * - Es combinable (admite parallelStream) y serializable en el punto de control.
+ */
+final class AcumuladoCierre {
+
+    private static final int TIPOS = TipoTurno.values().length;
+
+    /** idEmpleado → [horas por tipo..., turnos por tipo...] */
+    private final Map<String, long[]> porEmpleado = new HashMap<>();
+
+    static Collector<RegistroTurno, ?, AcumuladoCierre> recolector() {
+        return Collector.of(AcumuladoCierre::new, AcumuladoCierre::agregar, AcumuladoCierre::combinar);
+    }
+
+    void agregar(RegistroTurno r) {
+        if (r == null || r.idEmpleado() == null || r.tipo() == null) {
+            return;
+        }
+        long[] totales = porEmpleado.computeIfAbsent(r.idEmpleado(), id -> new long[TIPOS * 2]);
+        totales[r.tipo().ordinal()] += r.horas();
+        totales[TIPOS + r.tipo().ordinal()]++;
+    }
+
+    AcumuladoCierre combinar(AcumuladoCierre otro) {
+        otro.porEmpleado.forEach((id, totales) -> {
+            long[] propios = porEmpleado.computeIfAbsent(id, k -> new long[TIPOS * 2]);
+            Arrays.setAll(propios, i -> propios[i] + totales[i]);
+        });
+        return this;
+    }
+
+    long horas(String idEmpleado, TipoTurno tipo) {
+        return Optional.ofNullable(porEmpleado.get(idEmpleado)).map(t -> t[tipo.ordinal()]).orElse(0L);
+    }
+
+    long turnos(String idEmpleado, TipoTurno tipo) {
+        return Optional.ofNullable(porEmpleado.get(idEmpleado)).map(t -> t[TIPOS + tipo.ordinal()]).orElse(0L);
+    }
+
+    /** Recorre los empleados en orden de id (determinista). */
+    void recorrer(BiConsumer<String, AcumuladoCierre> visitante) {
+        new TreeSet<>(porEmpleado.keySet()).forEach(id -> visitante.accept(id, this));
+    }
+
+    /* --- Serialización --- */
+
+    void escribir(DataOutput out) throws IOException {
+        out.writeInt(TIPOS);
+        out.writeInt(porEmpleado.size());
+        for (Map.Entry<String, long[]> e : porEmpleado.entrySet()) {
+            out.writeUTF(e.getKey());
+            for (long valor : e.getValue()) {
+                out.writeLong(valor);
+            }
+        }
+    }
+
+    static AcumuladoCierre leer(DataInput in) throws IOException {
+        if (in.readInt() != TIPOS) {
+            throw new IOException("El punto de control corresponde a otra versión de TipoTurno");
+        }
+        AcumuladoCierre acumulado = new AcumuladoCierre();
+        int empleados = in.readInt();
+        for (int i = 0; i < empleados; i++) {
+            String id = in.readUTF();
+            long[] totales = new long[TIPOS * 2];
+            for (int k = 0; k < totales.length; k++) {
+                totales[k] = in.readLong();
+            }
+            acumulado.porEmpleado.put(id, totales);
+        }
+        return acumulado;
+    }
+}
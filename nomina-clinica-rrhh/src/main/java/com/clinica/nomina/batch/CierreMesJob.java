@@ -0,0 +1,171 @@
+package com.clinica.nomina.batch;
+
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Job de cierre de mes orientado a chunks y reanudable.
+ *
+ * Ciclo por chunk: leer → procesar → confirmar.
+ * - leer:      {@link FuenteTurnos#leer(long, int)} desde la última posición confirmada
+ * - procesar:  acumula horas y turnos por empleado y tipo (en paralelo si paralelismo > 1)
+ * - confirmar: suma el chunk al acumulado; cada {@code chunksPorPuntoControl} chunks (y al
+ *              terminar) escribe el punto de control (tmp + move atómico)
+ *
+ * El punto de control guarda el acumulado completo (O(empleados)), por eso no se escribe en
+ * cada chunk: la E/S total es O(chunks / chunksPorPuntoControl × empleados) y una caída
+ * reprocesa como mucho chunksPorPuntoControl - 1 chunks.
+ *
+ * Si el proceso cae, la siguiente ejecución con el mismo idTrabajo y la misma fuente
+ * (tamaño y {@link FuenteTurnos#huella()}, que por defecto solo lee una muestra) reanuda
+ * desde el último punto de control; un cierre ya completado se devuelve sin volver a
+ * procesar la fuente.
+ * Al final se calcula el salario de cada empleado del personal con los factores por tipo.
+ *
+ * ✅ El resultado no depende del tamaño de chunk, del paralelismo ni de las reanudaciones.
+ */
+public class CierreMesJob {
+
+    /** Chunks entre dos escrituras del punto de control, si no se indica otro valor. */
+    public static final int CHUNKS_POR_PUNTO_CONTROL_DEFECTO = 16;
+
+    /**
+     * @param tamanioChunk          registros por chunk
+     * @param paralelismo           hilos para procesar cada chunk (1 = secuencial)
+     * @param puntoControl          archivo local del punto de control
+     * @param chunksPorPuntoControl chunks confirmados entre dos escrituras del punto de control
+     */
+    public record Configuracion(int tamanioChunk, int paralelismo, Path puntoControl, int chunksPorPuntoControl) {
+        public Configuracion {
+            if (tamanioChunk <= 0) {
+                throw new IllegalArgumentException("tamanioChunk debe ser positivo: " + tamanioChunk);
+            }
+            if (paralelismo <= 0) {
+                throw new IllegalArgumentException("paralelismo debe ser positivo: " + paralelismo);
+            }
+            Objects.requireNonNull(puntoControl, "puntoControl");
+            if (chunksPorPuntoControl <= 0) {
+                throw new IllegalArgumentException("chunksPorPuntoControl debe ser positivo: " + chunksPorPuntoControl);
+            }
+        }
+
+        public Configuracion(int tamanioChunk, int paralelismo, Path puntoControl) {
+            this(tamanioChunk, paralelismo, puntoControl, CHUNKS_POR_PUNTO_CONTROL_DEFECTO);
+        }
+    }
+
+    /**
+     * @param horasTrabajadas    idEmpleado → horas (sin ausencias)
+     * @param ausencias          idEmpleado → cantidad de ausencias
+     * @param salarios           idEmpleado → salario del mes (solo personal conocido)
+     * @param registrosTotales   registros de la fuente
+     * @param posicionInicial    posición desde la que se reanudó esta ejecución (0 = desde el inicio)
+     * @param chunksProcesados   chunks procesados en esta ejecución
+     */
+    public record ResultadoCierre(Map<String, Long> horasTrabajadas,
+                                  Map<String, Long> ausencias,
+                                  Map<String, Double> salarios,
+                                  long registrosTotales,
+                                  long posicionInicial,
+                                  int chunksProcesados) {
+
+        public boolean reanudado() {
+            return posicionInicial > 0;
+        }
+    }
+
+    private final Configuracion configuracion;
+
+    public CierreMesJob(Configuracion configuracion) {
+        this.configuracion = Objects.requireNonNull(configuracion, "configuracion");
+    }
+
+    /**
+     * Ejecuta (o reanuda) el cierre de mes.
+     *
+     * @param idTrabajo     identifica el cierre en el punto de control (p. ej. "cierre-2024-10")
+     * @param fuente        turnos del mes, siempre en el mismo orden
+     * @param personal      empleados a liquidar
+     * @param factorPorTipo factor de pago por TipoTurno (las ausencias no se pagan)
+     */
+    public ResultadoCierre ejecutar(String idTrabajo, FuenteTurnos fuente, List<Empleado> personal,
+                                    Function<TipoTurno, Double> factorPorTipo) {
+        Objects.requireNonNull(idTrabajo, "idTrabajo");
+        long tamanio = fuente.tamanio();
+        String huella = fuente.huella();
+
+        PuntoControlCierre punto = PuntoControlCierre.cargar(configuracion.puntoControl(), idTrabajo, tamanio, huella)
+                .orElseGet(() -> new PuntoControlCierre(idTrabajo, tamanio, huella, 0, new AcumuladoCierre()));
+        long posicionInicial = punto.posicionConfirmada();
+        long posicion = posicionInicial;
+        AcumuladoCierre acumulado = punto.acumulado();
+        int chunks = 0;
+
+        try (ForkJoinPool pool = new ForkJoinPool(configuracion.paralelismo())) {
+            while (posicion < tamanio) {
+                List<RegistroTurno> chunk = fuente.leer(posicion, configuracion.tamanioChunk());
+                if (chunk.isEmpty()) {
+                    throw new IllegalStateException("La fuente terminó antes de lo esperado en la posición "
+                            + posicion + " de " + tamanio);
+                }
+                acumulado.combinar(procesar(pool, chunk));
+                posicion += chunk.size();
+                chunks++;
+                if (chunks % configuracion.chunksPorPuntoControl() == 0 || posicion >= tamanio) {
+                    new PuntoControlCierre(idTrabajo, tamanio, huella, posicion, acumulado)
+                            .guardar(configuracion.puntoControl());
+                }
+            }
+        }
+        return resultado(new PuntoControlCierre(idTrabajo, tamanio, huella, posicion, acumulado),
+                personal, factorPorTipo, posicionInicial, chunks);
+    }
+
+    /** Descarta el punto de control: la próxima ejecución empieza desde el inicio. */
+    public void reiniciar() {
+        try {
+            Files.deleteIfExists(configuracion.puntoControl());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* --- Helpers --- */
+
+    private AcumuladoCierre procesar(ForkJoinPool pool, List<RegistroTurno> chunk) {
+        return configuracion.paralelismo() == 1
+                ? chunk.stream().collect(AcumuladoCierre.recolector())
+                : pool.submit(() -> chunk.parallelStream().collect(AcumuladoCierre.recolector())).join();
+    }
+
+    private static ResultadoCierre resultado(PuntoControlCierre punto, List<Empleado> personal,
+                                             Function<TipoTurno, Double> factorPorTipo,
+                                             long posicionInicial, int chunks) {
+        AcumuladoCierre acumulado = punto.acumulado();
+        List<TipoTurno> trabajados = Arrays.stream(TipoTurno.values()).filter(t -> t != TipoTurno.AUSENCIA).toList();
+
+        Map<String, Long> horas = new LinkedHashMap<>();
+        Map<String, Long> ausencias = new LinkedHashMap<>();
+        acumulado.recorrer((id, a) -> {
+            horas.put(id, trabajados.stream().mapToLong(t -> a.horas(id, t)).sum());
+            ausencias.put(id, a.turnos(id, TipoTurno.AUSENCIA));
+        });
+
+        Map<String, Double> salarios = new LinkedHashMap<>();
+        personal.forEach(e -> salarios.putIfAbsent(e.id(), trabajados.stream()
+                .mapToDouble(t -> acumulado.horas(e.id(), t) * e.salarioBaseHora() * factorPorTipo.apply(t))
+                .sum()));
+
+        return new ResultadoCierre(Collections.unmodifiableMap(horas), Collections.unmodifiableMap(ausencias),
+                Collections.unmodifiableMap(salarios), punto.tamanioFuente(), posicionInicial, chunks);
+    }
+}
@@ -0,0 +1,94 @@
+package com.clinica.nomina.batch;
+
+import com.clinica.nomina.model.RegistroTurno;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fuente posicional de turnos para el cierre de mes.
+ *
+ * El job lee por chunks a partir de una posición absoluta, de modo que al
+ * reanudar tras una caída puede continuar desde el último chunk confirmado
+ * sin releer lo ya procesado. La fuente debe entregar siempre los mismos
+ * registros en el mismo orden.
+ */
+public interface FuenteTurnos {
+
+    /** Registros del inicio y del final que entran en la huella por defecto. */
+    int MUESTRA_HUELLA = 1024;
+
+    /** Cantidad total de registros de la fuente. */
+    long tamanio();
+
+    /**
+     * @return hasta {@code maximo} registros a partir de la posición {@code desde}
+     */
+    List<RegistroTurno> leer(long desde, int maximo);
+
+    /**
+     * Huella SHA-256 (hex) de la fuente. El punto de control la guarda para no reanudar
+     * un cierre con datos distintos del mismo tamaño (p. ej. otro mes).
+     *
+     * Por defecto es barata: el tamaño más los primeros y los últimos {@value #MUESTRA_HUELLA}
+     * registros (dos lecturas, sin importar el tamaño de la fuente), suficiente para distinguir
+     * otro periodo u otro lote. Una fuente que conozca una huella propia (tamaño + fecha de
+     * modificación del archivo, checksum del export, versión del lote) debe sobrescribirla.
+     */
+    default String huella() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        long total = tamanio();
+        digest.update(buffer.clear().putLong(total).flip());
+        long inicioFinal = Math.max(0, total - MUESTRA_HUELLA);
+        List<RegistroTurno> muestra = new ArrayList<>(leer(0, (int) Math.min(total, MUESTRA_HUELLA)));
+        if (inicioFinal >= MUESTRA_HUELLA) {
+            muestra.addAll(leer(inicioFinal, MUESTRA_HUELLA));
+        } else if (inicioFinal > 0) {
+            // Las dos muestras se solapan: basta con completar desde donde terminó la primera
+            muestra.addAll(leer(MUESTRA_HUELLA, (int) (total - MUESTRA_HUELLA)));
+        }
+        for (RegistroTurno r : muestra) {
+            byte[] id = r == null || r.idEmpleado() == null
+                    ? new byte[0] : r.idEmpleado().getBytes(StandardCharsets.UTF_8);
+            digest.update(buffer.clear()
+                    .putInt(r == null || r.idEmpleado() == null ? -1 : id.length)
+                    .putLong(r == null || r.fecha() == null ? Long.MIN_VALUE : r.fecha().toEpochDay())
+                    .putInt(r == null || r.tipo() == null ? -1 : r.tipo().ordinal())
+                    .putInt(r == null ? 0 : r.horas())
+                    .flip());
+            digest.update(id);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Fuente respaldada por una lista en memoria (los chunks son vistas, sin copias).
+     */
+    static FuenteTurnos de(List<RegistroTurno> registros) {
+        Objects.requireNonNull(registros, "registros");
+        return new FuenteTurnos() {
+            @Override
+            public long tamanio() {
+                return registros.size();
+            }
+
+            @Override
+            public List<RegistroTurno> leer(long desde, int maximo) {
+                int inicio = (int) Math.min(desde, registros.size());
+                return registros.subList(inicio, (int) Math.min((long) inicio + maximo, registros.size()));
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.clinica.nomina.batch;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Punto de control del cierre de mes en un archivo local.
+ *
+ * Formato: MAGIC | VERSION | idTrabajo | tamaño de la fuente | huella de la fuente
+ *          | posición confirmada | acumulado.
+ *
+ * - Cada escritura (cada N chunks, ver {@link CierreMesJob.Configuracion}) va a un archivo
+ *   temporal que se mueve atómicamente:
+ *   tras una caída queda el punto de control anterior o el nuevo, nunca uno a medias;
+ *   si la escritura falla, el temporal se borra.
+ * - Un archivo de otro trabajo, de una fuente de distinto tamaño o contenido
+ *   ({@link FuenteTurnos#huella()}) o ilegible se ignora y el cierre empieza desde cero.
+ *
+ * @param idTrabajo          identificador del cierre (p. ej. "cierre-2024-10")
+ * @param tamanioFuente      registros de la fuente al iniciar el trabajo
+ * @param huellaFuente       huella de la fuente ({@link FuenteTurnos#huella()})
+ * @param posicionConfirmada registros ya procesados y acumulados
+ */
+record PuntoControlCierre(String idTrabajo, long tamanioFuente, String huellaFuente,
+                          long posicionConfirmada, AcumuladoCierre acumulado) {
+
+    private static final int MAGIC = 0x4E434B50; // "NCKP"
+    private static final int VERSION = 2;
+
+    static Optional<PuntoControlCierre> cargar(Path archivo, String idTrabajo, long tamanioFuente,
+                                               String huellaFuente) {
+        if (!Files.isRegularFile(archivo)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return Optional.empty();
+            }
+            String id = in.readUTF();
+            long tamanio = in.readLong();
+            String huella = in.readUTF();
+            long posicion = in.readLong();
+            if (!id.equals(idTrabajo) || tamanio != tamanioFuente || !huella.equals(huellaFuente)
+                    || posicion < 0 || posicion > tamanio) {
+                return Optional.empty();
+            }
+            return Optional.of(new PuntoControlCierre(id, tamanio, huella, posicion, AcumuladoCierre.leer(in)));
+        } catch (IOException | RuntimeException e) {
+            // Archivo truncado o corrupto: se reprocesa desde el inicio
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Escribe el punto de control en un archivo temporal y lo mueve atómicamente.
+     * Si algo falla antes del movimiento, el temporal se borra.
+     */
+    void guardar(Path archivo) {
+        Path temporal = null;
+        try {
+            Path directorio = Optional.ofNullable(archivo.toAbsolutePath().getParent()).orElse(Path.of("."));
+            Files.createDirectories(directorio);
+            temporal = Files.createTempFile(directorio, archivo.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(idTrabajo);
+                out.writeLong(tamanioFuente);
+                out.writeUTF(huellaFuente);
+                out.writeLong(posicionConfirmada);
+                acumulado.escribir(out);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporal = null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    private static void borrarTemporal(Path temporal) {
+        if (temporal == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo borrar el temporal " + temporal + ": " + e.getMessage());
+        }
+    }
+}
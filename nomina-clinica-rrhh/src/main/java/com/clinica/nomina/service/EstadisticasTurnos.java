@@ -0,0 +1,195 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Area;
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Estadísticas de orden sobre la duración de los turnos trabajados (sin ausencias).
+ *
+ * - Top N por horas (general, por área y por tipo) con montículos acotados:
+ *   cada montículo guarda a lo sumo N turnos, O(n log N) en una sola pasada.
+ * - Mediana y percentiles sobre un histograma de horas (turnos por cantidad de horas):
+ *   memoria O(rango de horas) en vez de O(turnos), y cada consulta es un recorrido
+ *   acumulado del histograma, sin copiar ni ordenar.
+ * - Es un acumulador combinable: {@link #recolector(int, Function)} funciona igual
+ *   con streams secuenciales y paralelos.
+ *
+ * Orden de los turnos: más horas primero; en empate, fecha más antigua y luego idEmpleado,
+ * de modo que el resultado no depende del orden ni del reparto entre hilos.
+ */
+public final class EstadisticasTurnos {
+
+    /** Orden descendente de "más largo" (más horas, fecha más antigua, menor id). */
+    public static final Comparator<RegistroTurno> MAS_LARGO_PRIMERO =
+            Comparator.comparingInt(RegistroTurno::horas).reversed()
+                    .thenComparing(RegistroTurno::fecha)
+                    .thenComparing(RegistroTurno::idEmpleado);
+
+    /** Rango inicial del histograma: jornadas de 0 a 24 horas */
+    private static final int HORAS_DIA = 24;
+
+    private final int n;
+    private final Function<String, Area> areaDe;
+
+    private final PriorityQueue<RegistroTurno> top;
+    private final Map<Area, PriorityQueue<RegistroTurno>> topPorArea = new EnumMap<>(Area.class);
+    private final Map<TipoTurno, PriorityQueue<RegistroTurno>> topPorTipo = new EnumMap<>(TipoTurno.class);
+
+    /** Histograma: conteoHoras[h - horaBase] = turnos de h horas; crece según el rango visto */
+    private int[] conteoHoras = new int[HORAS_DIA + 1];
+    private int horaBase;
+    private int cantidad;
+
+    /**
+     * @param n      tamaño de los rankings
+     * @param areaDe área de cada idEmpleado (null si se desconoce: no entra al ranking por área)
+     */
+    public EstadisticasTurnos(int n, Function<String, Area> areaDe) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n debe ser positivo: " + n);
+        }
+        this.n = n;
+        this.areaDe = areaDe;
+        this.top = nuevoMonticulo();
+    }
+
+    /**
+     * Collector combinable (admite parallelStream) que acumula en EstadisticasTurnos.
+     */
+    public static Collector<RegistroTurno, ?, EstadisticasTurnos> recolector(int n, Function<String, Area> areaDe) {
+        return Collector.of(
+                () -> new EstadisticasTurnos(n, areaDe),
+                EstadisticasTurnos::agregar,
+                EstadisticasTurnos::combinar);
+    }
+
+    /* --- Acumulación --- */
+
+    /**
+     * Turno trabajado con datos completos: los únicos que cuentan en las estadísticas
+     * y en {@link RRHHFunctionalService#turnoMasLargo()}.
+     */
+    static boolean esTurnoTrabajado(RegistroTurno r) {
+        return r != null && r.idEmpleado() != null && r.fecha() != null
+                && r.tipo() != null && r.tipo() != TipoTurno.AUSENCIA;
+    }
+
+    public void agregar(RegistroTurno r) {
+        if (!esTurnoTrabajado(r)) {
+            return;
+        }
+        ofrecer(top, r);
+        ofrecer(topPorTipo.computeIfAbsent(r.tipo(), t -> nuevoMonticulo()), r);
+        Optional.ofNullable(areaDe.apply(r.idEmpleado()))
+                .ifPresent(area -> ofrecer(topPorArea.computeIfAbsent(area, a -> nuevoMonticulo()), r));
+
+        contar(r.horas(), 1);
+    }
+
+    public EstadisticasTurnos combinar(EstadisticasTurnos otro) {
+        otro.top.forEach(r -> ofrecer(top, r));
+        otro.topPorTipo.forEach((tipo, m) -> m.forEach(r -> ofrecer(topPorTipo.computeIfAbsent(tipo, t -> nuevoMonticulo()), r)));
+        otro.topPorArea.forEach((area, m) -> m.forEach(r -> ofrecer(topPorArea.computeIfAbsent(area, a -> nuevoMonticulo()), r)));
+
+        for (int i = 0; i < otro.conteoHoras.length; i++) {
+            if (otro.conteoHoras[i] > 0) {
+                contar(otro.horaBase + i, otro.conteoHoras[i]);
+            }
+        }
+        return this;
+    }
+
+    /* --- Consultas --- */
+
+    /** Los N turnos más largos, del más largo al más corto. */
+    public List<RegistroTurno> topN() {
+        return ordenar(top);
+    }
+
+    public Map<Area, List<RegistroTurno>> topNPorArea() {
+        Map<Area, List<RegistroTurno>> resultado = new EnumMap<>(Area.class);
+        topPorArea.forEach((area, m) -> resultado.put(area, ordenar(m)));
+        return resultado;
+    }
+
+    public Map<TipoTurno, List<RegistroTurno>> topNPorTipo() {
+        Map<TipoTurno, List<RegistroTurno>> resultado = new EnumMap<>(TipoTurno.class);
+        topPorTipo.forEach((tipo, m) -> resultado.put(tipo, ordenar(m)));
+        return resultado;
+    }
+
+    /** Cantidad de turnos trabajados considerados. */
+    public int cantidad() {
+        return cantidad;
+    }
+
+    public OptionalInt mediana() {
+        return percentil(50);
+    }
+
+    /**
+     * Percentil por rango más cercano (0 < p ≤ 100) de las horas por turno.
+     */
+    public OptionalInt percentil(double p) {
+        if (p <= 0 || p > 100) {
+            throw new IllegalArgumentException("percentil fuera de (0, 100]: " + p);
+        }
+        if (cantidad == 0) {
+            return OptionalInt.empty();
+        }
+        int rango = Math.max((int) Math.ceil(p / 100.0 * cantidad) - 1, 0);
+
+        // Primer valor de horas cuyo conteo acumulado supera el rango buscado
+        int acumulado = 0;
+        int i = 0;
+        while ((acumulado += conteoHoras[i]) <= rango) {
+            i++;
+        }
+        return OptionalInt.of(horaBase + i);
+    }
+
+    /* --- Helpers --- */
+
+    private PriorityQueue<RegistroTurno> nuevoMonticulo() {
+        // Montículo de mínimos respecto a "más largo": la raíz es el candidato a descartar
+        return new PriorityQueue<>(n + 1, MAS_LARGO_PRIMERO.reversed());
+    }
+
+    private void ofrecer(PriorityQueue<RegistroTurno> monticulo, RegistroTurno r) {
+        if (monticulo.size() < n) {
+            monticulo.add(r);
+        } else if (MAS_LARGO_PRIMERO.compare(r, monticulo.peek()) < 0) {
+            monticulo.poll();
+            monticulo.add(r);
+        }
+    }
+
+    private static List<RegistroTurno> ordenar(PriorityQueue<RegistroTurno> monticulo) {
+        List<RegistroTurno> lista = new ArrayList<>(monticulo);
+        lista.sort(MAS_LARGO_PRIMERO);
+        return lista;
+    }
+
+    /**
+     * Suma {@code veces} turnos de {@code horas} al histograma; lo amplía (hacia abajo
+     * o hacia arriba) si las horas caen fuera del rango cubierto. Con jornadas de
+     * 0 a 24 horas nunca crece.
+     */
+    private void contar(int horas, int veces) {
+        if (horas < horaBase) {
+            int[] ampliado = new int[conteoHoras.length + (horaBase - horas)];
+            System.arraycopy(conteoHoras, 0, ampliado, horaBase - horas, conteoHoras.length);
+            conteoHoras = ampliado;
+            horaBase = horas;
+        } else if (horas - horaBase >= conteoHoras.length) {
+            conteoHoras = Arrays.copyOf(conteoHoras, Math.max(conteoHoras.length * 2, horas - horaBase + 1));
+        }
+        conteoHoras[horas - horaBase] += veces;
+        cantidad += veces;
+    }
+}
@@ -0,0 +1,206 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.service.RRHHFunctionalService.EventoCalendario;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Exportador de calendarios iCalendar (RFC 5545) de turnos, un archivo .ics por empleado.
+ *
+ * Los eventos se codifican línea a línea en un único ByteBuffer reutilizable
+ * que se vacía al FileChannel cuando se llena: no se arma el calendario
+ * completo en memoria. Con el índice por empleado del servicio, publicar
+ * el calendario de todo el personal es una sola pasada lineal por los registros.
+ *
+ * Cada turno es un evento de día completo (DTSTART/DTEND con VALUE=DATE).
+ * Las líneas de más de 75 octetos se pliegan (RFC 5545 §3.1) sin partir
+ * secuencias UTF-8, y el nombre del archivo escapa de forma reversible el id
+ * (ver {@link #nombreArchivo(String)}): ids distintos nunca comparten archivo.
+ * No es seguro entre hilos: todas las exportaciones comparten el buffer.
+ */
+public class ExportadorICalendar {
+
+    private static final int CAPACIDAD_BUFFER = 64 * 1024;
+    private static final byte[] FIN_LINEA = {'\r', '\n'};
+    private static final int OCTETOS_POR_LINEA = 75;
+    private static final String PRODID = "-//Clinica//Nomina RRHH//ES";
+
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter FORMATO_MARCA =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+
+    private final Path directorio;
+    private final Clock reloj;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(CAPACIDAD_BUFFER);
+
+    public ExportadorICalendar(Path directorio) {
+        this(directorio, Clock.systemUTC());
+    }
+
+    /**
+     * @param reloj fuente del DTSTAMP de los eventos (fijo en pruebas)
+     */
+    public ExportadorICalendar(Path directorio, Clock reloj) {
+        this.directorio = directorio;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Exporta el calendario de cada empleado del personal a {@code <idEmpleado>.ics}
+     * (ver {@link #nombreArchivo(String)}).
+     *
+     * @return archivos escritos, en el orden del personal
+     */
+    public List<Path> exportarPersonal(RRHHFunctionalService service) {
+        List<Path> archivos = new ArrayList<>();
+        Consumer<Empleado> exportar = e ->
+                archivos.add(exportar(e, service.convertirRegistrosAEventos(e.id())));
+
+        service.getPersonal().forEach(exportar);
+        return archivos;
+    }
+
+    /**
+     * Escribe el calendario de un empleado.
+     */
+    public Path exportar(Empleado empleado, List<EventoCalendario> eventos) {
+        crearDirectorio();
+        Path archivo = directorio.resolve(nombreArchivo(empleado.id()));
+        String marca = FORMATO_MARCA.format(reloj.instant());
+
+        try (FileChannel canal = FileChannel.open(archivo,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.clear();
+            escribir(canal, "BEGIN:VCALENDAR");
+            escribir(canal, "VERSION:2.0");
+            escribir(canal, "PRODID:" + PRODID);
+            escribir(canal, "X-WR-CALNAME:Turnos " + escapar(empleado.nombre()));
+
+            int secuencia = 0;
+            for (EventoCalendario evento : eventos) {
+                escribir(canal, "BEGIN:VEVENT");
+                escribir(canal, "UID:" + empleado.id() + "-" + FORMATO_FECHA.format(evento.fecha())
+                        + "-" + secuencia++ + "@clinica");
+                escribir(canal, "DTSTAMP:" + marca);
+                escribir(canal, "DTSTART;VALUE=DATE:" + FORMATO_FECHA.format(evento.fecha()));
+                escribir(canal, "DTEND;VALUE=DATE:" + FORMATO_FECHA.format(evento.fecha().plusDays(1)));
+                escribir(canal, "SUMMARY:" + escapar(evento.titulo()));
+                escribir(canal, "END:VEVENT");
+            }
+
+            escribir(canal, "END:VCALENDAR");
+            vaciar(canal);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo exportar el calendario de " + empleado.id(), e);
+        }
+        return archivo;
+    }
+
+    /**
+     * Nombre del .ics de un empleado: se conservan [A-Za-z0-9.-] y cada otro octeto
+     * UTF-8 del id (incluido el propio '_') se escribe como '_' + dos dígitos hex.
+     * El escape es reversible, así "E/01" → "E_2F01" y "E_01" → "E_5F01" no chocan,
+     * y un id como "../E01" no sale del directorio. Un id nulo o vacío da "_.ics".
+     */
+    public static String nombreArchivo(String idEmpleado) {
+        if (idEmpleado == null || idEmpleado.isEmpty()) {
+            return "_.ics";
+        }
+        StringBuilder nombre = new StringBuilder(idEmpleado.length() + 4);
+        for (byte b : idEmpleado.getBytes(StandardCharsets.UTF_8)) {
+            if (esSeguroEnNombre(b)) {
+                nombre.append((char) b);
+            } else {
+                nombre.append('_').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+            }
+        }
+        return nombre.append(".ics").toString();
+    }
+
+    /* --- Helpers --- */
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static boolean esSeguroEnNombre(byte b) {
+        return (b >= 'A' && b <= 'Z') || (b >= 'a' && b <= 'z') || (b >= '0' && b <= '9')
+                || b == '.' || b == '-';
+    }
+
+    private void escribir(FileChannel canal, String linea) throws IOException {
+        byte[] bytes = plegar(linea.getBytes(StandardCharsets.UTF_8));
+        if (bytes.length > buffer.remaining()) {
+            vaciar(canal);
+        }
+        if (bytes.length > buffer.capacity()) {
+            canal.write(ByteBuffer.wrap(bytes));
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Agrega el fin de línea y pliega a {@value #OCTETOS_POR_LINEA} octetos: cada
+     * continuación empieza con un espacio, que cuenta dentro de su límite.
+     * El corte retrocede hasta el inicio de un carácter UTF-8.
+     */
+    static byte[] plegar(byte[] linea) {
+        int cortes = Math.max(0, (linea.length - 2) / (OCTETOS_POR_LINEA - 1));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(linea.length + cortes * 3 + 2);
+        int inicio = 0;
+        int limite = OCTETOS_POR_LINEA;
+        while (linea.length - inicio > limite) {
+            int corte = inicio + limite;
+            while (corte > inicio && (linea[corte] & 0xC0) == 0x80) {
+                corte--;
+            }
+            salida.write(linea, inicio, corte - inicio);
+            salida.write(FIN_LINEA, 0, FIN_LINEA.length);
+            salida.write(' ');
+            inicio = corte;
+            limite = OCTETOS_POR_LINEA - 1;
+        }
+        salida.write(linea, inicio, linea.length - inicio);
+        salida.write(FIN_LINEA, 0, FIN_LINEA.length);
+        return salida.toByteArray();
+    }
+
+    private void vaciar(FileChannel canal) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Escapa los caracteres reservados de los valores de texto (RFC 5545 §3.3.11). */
+    private static String escapar(String texto) {
+        return texto == null ? "" : texto
+                .replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\n", "\\n");
+    }
+
+    private void crearDirectorio() {
+        try {
+            Files.createDirectories(directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
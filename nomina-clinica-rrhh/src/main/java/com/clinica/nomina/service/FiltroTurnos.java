@@ -0,0 +1,119 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Filtro estructurado de turnos: condiciones por campo combinables con y / o.
+ *
+ * A diferencia de un Predicate opaco, el planificador del servicio puede
+ * inspeccionar la estructura del filtro y resolverlo con el índice más
+ * selectivo disponible (fecha, empleado o tipo) en vez de recorrer todos
+ * los registros. Sigue siendo un Predicate, por lo que también se puede
+ * evaluar directamente sobre cualquier registro.
+ *
+ * ✅ Rangos inclusivos en ambos extremos (fechas y horas).
+ */
+public sealed interface FiltroTurnos extends Predicate<RegistroTurno> {
+
+    record PorEmpleado(String idEmpleado) implements FiltroTurnos {
+        public PorEmpleado {
+            Objects.requireNonNull(idEmpleado, "idEmpleado");
+        }
+
+        @Override
+        public boolean test(RegistroTurno r) {
+            return idEmpleado.equals(r.idEmpleado());
+        }
+    }
+
+    record EntreFechas(LocalDate desde, LocalDate hasta) implements FiltroTurnos {
+        public EntreFechas {
+            Objects.requireNonNull(desde, "desde");
+            Objects.requireNonNull(hasta, "hasta");
+        }
+
+        @Override
+        public boolean test(RegistroTurno r) {
+            return r.fecha() != null && !r.fecha().isBefore(desde) && !r.fecha().isAfter(hasta);
+        }
+    }
+
+    record PorTipo(TipoTurno tipo) implements FiltroTurnos {
+        public PorTipo {
+            Objects.requireNonNull(tipo, "tipo");
+        }
+
+        @Override
+        public boolean test(RegistroTurno r) {
+            return r.tipo() == tipo;
+        }
+    }
+
+    record HorasEntre(int minimo, int maximo) implements FiltroTurnos {
+        @Override
+        public boolean test(RegistroTurno r) {
+            return r.horas() >= minimo && r.horas() <= maximo;
+        }
+    }
+
+    record Y(FiltroTurnos izquierdo, FiltroTurnos derecho) implements FiltroTurnos {
+        @Override
+        public boolean test(RegistroTurno r) {
+            return izquierdo.test(r) && derecho.test(r);
+        }
+    }
+
+    record O(FiltroTurnos izquierdo, FiltroTurnos derecho) implements FiltroTurnos {
+        @Override
+        public boolean test(RegistroTurno r) {
+            return izquierdo.test(r) || derecho.test(r);
+        }
+    }
+
+    /* --- Composición --- */
+
+    default FiltroTurnos y(FiltroTurnos otro) {
+        return new Y(this, otro);
+    }
+
+    default FiltroTurnos o(FiltroTurnos otro) {
+        return new O(this, otro);
+    }
+
+    /* --- Fábricas --- */
+
+    static FiltroTurnos porEmpleado(String idEmpleado) {
+        return new PorEmpleado(idEmpleado);
+    }
+
+    static FiltroTurnos entreFechas(LocalDate desde, LocalDate hasta) {
+        return new EntreFechas(desde, hasta);
+    }
+
+    static FiltroTurnos enFecha(LocalDate fecha) {
+        return new EntreFechas(fecha, fecha);
+    }
+
+    static FiltroTurnos porTipo(TipoTurno tipo) {
+        return new PorTipo(tipo);
+    }
+
+    static FiltroTurnos horasEntre(int minimo, int maximo) {
+        return new HorasEntre(minimo, maximo);
+    }
+
+    /**
+     * Horas estrictamente mayores a {@code horas}; con Integer.MAX_VALUE no hay
+     * ninguna, y el rango vacío evita que {@code horas + 1} desborde.
+     */
+    static FiltroTurnos horasMayoresA(int horas) {
+        return horas == Integer.MAX_VALUE
+                ? new HorasEntre(1, 0)
+                : new HorasEntre(horas + 1, Integer.MAX_VALUE);
+    }
+}
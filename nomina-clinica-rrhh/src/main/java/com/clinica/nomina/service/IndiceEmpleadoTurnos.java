@@ -0,0 +1,118 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Índice secundario idEmpleado → registros del empleado (listas de postings).
+ *
+ * La casilla de cada empleado es su ordinal en el {@link CodificadorIdsEmpleado}
+ * del servicio, y el índice se construye en dos pasadas (conteo y llenado) sobre
+ * los ordinales ya calculados de los registros. Los postings de todos los empleados
+ * comparten un único arreglo de posiciones (formato CSR), en el orden original de
+ * los registros: los del empleado con ordinal c ocupan [inicio[c], inicio[c + 1]).
+ *
+ * ✅ Consulta por empleado: el codificador ubica la casilla sin hashing de Strings
+ *    + O(k) sobre sus turnos.
+ * ✅ Recorrer a todo el personal es una sola pasada lineal por el índice.
+ */
+public final class IndiceEmpleadoTurnos {
+
+    private final List<RegistroTurno> registros;
+    private final CodificadorIdsEmpleado codificador;
+    private final int[] inicio;
+    private final int[] posiciones;
+
+    private IndiceEmpleadoTurnos(List<RegistroTurno> registros, int[] ordinalPorRegistro,
+                                 CodificadorIdsEmpleado codificador) {
+        this.registros = registros;
+        this.codificador = codificador;
+
+        // 1. Conteo de postings por ordinal, sumado en la posición siguiente
+        int casillas = codificador.tamanio();
+        this.inicio = new int[casillas + 1];
+        IntStream.range(0, ordinalPorRegistro.length)
+                .filter(i -> ordinalPorRegistro[i] >= 0)
+                .forEach(i -> inicio[ordinalPorRegistro[i] + 1]++);
+
+        // 2. Desplazamientos por casilla (suma de prefijos)
+        Arrays.parallelPrefix(inicio, Integer::sum);
+
+        // 3. Llenado estable: conserva el orden de los registros de cada empleado
+        this.posiciones = new int[inicio[casillas]];
+        int[] siguiente = Arrays.copyOf(inicio, casillas);
+        IntStream.range(0, ordinalPorRegistro.length)
+                .filter(i -> ordinalPorRegistro[i] >= 0)
+                .forEach(i -> posiciones[siguiente[ordinalPorRegistro[i]]++] = i);
+    }
+
+    /**
+     * @param ordinalPorRegistro ordinal de cada registro según {@code codificador} (-1 = sin empleado)
+     */
+    public static IndiceEmpleadoTurnos de(List<RegistroTurno> registros, int[] ordinalPorRegistro,
+                                          CodificadorIdsEmpleado codificador) {
+        if (registros.size() != ordinalPorRegistro.length) {
+            throw new IllegalArgumentException("ordinalPorRegistro no está alineado con los registros");
+        }
+        return new IndiceEmpleadoTurnos(registros, ordinalPorRegistro, codificador);
+    }
+
+    /**
+     * Registros del empleado en el orden original; vacío si no tiene turnos.
+     */
+    public List<RegistroTurno> registrosDe(String idEmpleado) {
+        int casilla = codificador.ordinal(idEmpleado);
+        return casilla < 0 ? List.of() : new Postings(inicio[casilla], inicio[casilla + 1]);
+    }
+
+    /** Cantidad de registros del empleado. */
+    public int cantidad(String idEmpleado) {
+        int casilla = codificador.ordinal(idEmpleado);
+        return casilla < 0 ? 0 : inicio[casilla + 1] - inicio[casilla];
+    }
+
+    /**
+     * Posiciones (en la lista de registros) de los turnos del empleado, en orden ascendente.
+     */
+    public int[] posicionesDe(String idEmpleado) {
+        int casilla = codificador.ordinal(idEmpleado);
+        return casilla < 0 ? new int[0] : Arrays.copyOfRange(posiciones, inicio[casilla], inicio[casilla + 1]);
+    }
+
+    /** Ids con al menos un registro, en orden de ordinal. */
+    public Set<String> ids() {
+        Set<String> ids = new LinkedHashSet<>();
+        IntStream.range(0, inicio.length - 1)
+                .filter(c -> inicio[c + 1] > inicio[c])
+                .forEach(c -> ids.add(codificador.id(c)));
+        return Collections.unmodifiableSet(ids);
+    }
+
+    /**
+     * Vista de solo lectura sobre un rango del arreglo de posiciones.
+     */
+    private final class Postings extends AbstractList<RegistroTurno> implements RandomAccess {
+
+        private final int desde;
+        private final int hasta;
+
+        private Postings(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        public RegistroTurno get(int indice) {
+            Objects.checkIndex(indice, size());
+            return registros.get(posiciones[desde + indice]);
+        }
+
+        @Override
+        public int size() {
+            return hasta - desde;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Índice de registros de turno por fecha (epochDay → rango de registros).
+ *
+ * Los registros se ordenan una sola vez por (fecha, idEmpleado) y se guarda
+ * un arreglo de desplazamientos por día (formato CSR): los turnos del día d
+ * ocupan las posiciones [inicio[d - primerDia], inicio[d - primerDia + 1]).
+ *
+ * ✅ Consulta de un día: O(1) para ubicar el rango + O(k) sobre sus turnos.
+ * ✅ Empleados distintos por día sin Set: dentro del rango los ids quedan contiguos.
+ * ✅ Un rango de fechas se recorre en una sola pasada sobre el arreglo ordenado.
+ * ✅ Conserva la posición original de cada registro, para combinarlo con otros índices.
+ * ✅ Los registros sin idEmpleado también se indexan (primeros en su día): un rango de
+ *    fechas resuelto con el índice devuelve las mismas filas que un recorrido completo.
+ *    Las consultas de cobertura y de turnos efectivos los excluyen, no son de un empleado.
+ */
+public final class IndiceFechasTurnos {
+
+    private static final Predicate<RegistroTurno> ES_TURNO_VALIDO =
+            r -> r.tipo() != TipoTurno.AUSENCIA && r.idEmpleado() != null;
+
+    /** Registros ordenados por (fecha, idEmpleado) */
+    private final RegistroTurno[] ordenados;
+
+    /** Posición original (en la lista de entrada) de cada registro ordenado */
+    private final int[] posiciones;
+
+    /** epochDay del primer día indexado */
+    private final long primerDia;
+
+    /** Desplazamientos por día: longitud = días del rango + 1 */
+    private final int[] inicio;
+
+    private IndiceFechasTurnos(List<RegistroTurno> registros, int[] posiciones) {
+        this.posiciones = posiciones;
+        this.ordenados = Arrays.stream(posiciones).mapToObj(registros::get).toArray(RegistroTurno[]::new);
+        this.primerDia = ordenados.length == 0 ? 0 : epochDay(0);
+
+        int dias = ordenados.length == 0 ? 0 : Math.toIntExact(epochDay(ordenados.length - 1) - primerDia + 1);
+        this.inicio = new int[dias + 1];
+
+        // Conteo por día y suma de prefijos (sin bucles explícitos)
+        IntStream.range(0, ordenados.length).forEach(i -> inicio[(int) (epochDay(i) - primerDia) + 1]++);
+        Arrays.parallelPrefix(inicio, Integer::sum);
+    }
+
+    /**
+     * Construye el índice a partir de los registros (los nulos o sin fecha se ignoran;
+     * {@link FiltroTurnos.EntreFechas} tampoco los acepta).
+     */
+    public static IndiceFechasTurnos de(List<RegistroTurno> registros) {
+        List<RegistroTurno> fuente = Optional.ofNullable(registros).orElse(List.of());
+        Comparator<Integer> porFechaYEmpleado = Comparator
+                .comparing((Integer i) -> fuente.get(i).fecha())
+                .thenComparing(i -> fuente.get(i).idEmpleado(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        int[] posiciones = IntStream.range(0, fuente.size())
+                .filter(i -> fuente.get(i) != null && fuente.get(i).fecha() != null)
+                .boxed()
+                .sorted(porFechaYEmpleado)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new IndiceFechasTurnos(fuente, posiciones);
+    }
+
+    /**
+     * Turnos del día (incluidas ausencias y registros sin idEmpleado), ordenados por idEmpleado.
+     */
+    public List<RegistroTurno> registrosDel(LocalDate fecha) {
+        int dia = posicionDia(fecha.toEpochDay());
+        return dia < 0
+                ? List.of()
+                : Collections.unmodifiableList(Arrays.asList(ordenados).subList(inicio[dia], inicio[dia + 1]));
+    }
+
+    /**
+     * Turnos efectivos (sin ausencias ni registros sin idEmpleado) del día, ordenados por idEmpleado.
+     */
+    public List<RegistroTurno> turnosEfectivosDel(LocalDate fecha) {
+        return registrosDel(fecha).stream().filter(ES_TURNO_VALIDO).toList();
+    }
+
+    /**
+     * Cantidad de empleados distintos con turno efectivo en la fecha.
+     */
+    public int empleadosDistintos(LocalDate fecha) {
+        int dia = posicionDia(fecha.toEpochDay());
+        return dia < 0 ? 0 : contarDistintos(inicio[dia], inicio[dia + 1]);
+    }
+
+    /**
+     * Empleados distintos con turno efectivo para cada día de [desde, hasta],
+     * en una sola pasada por el índice. Los días sin turnos valen 0.
+     */
+    public int[] empleadosDistintosEntre(LocalDate desde, LocalDate hasta) {
+        long primero = desde.toEpochDay();
+        int dias = Math.toIntExact(hasta.toEpochDay() - primero + 1);
+        int[] conteos = new int[Math.max(dias, 0)];
+
+        IntPredicate estaIndexado = d -> posicionDia(primero + d) >= 0;
+        IntStream.range(0, conteos.length)
+                .filter(estaIndexado)
+                .forEach(d -> {
+                    int dia = posicionDia(primero + d);
+                    conteos[d] = contarDistintos(inicio[dia], inicio[dia + 1]);
+                });
+        return conteos;
+    }
+
+    /**
+     * Cantidad de registros (incluidas ausencias) con fecha en [desde, hasta].
+     */
+    public int cantidadEntre(LocalDate desde, LocalDate hasta) {
+        int[] rango = rango(desde, hasta);
+        return rango[1] - rango[0];
+    }
+
+    /**
+     * Posiciones originales de los registros con fecha en [desde, hasta], en orden ascendente.
+     */
+    public int[] posicionesEntre(LocalDate desde, LocalDate hasta) {
+        int[] rango = rango(desde, hasta);
+        int[] resultado = Arrays.copyOfRange(posiciones, rango[0], rango[1]);
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    public int tamanio() {
+        return ordenados.length;
+    }
+
+    /* --- Helpers --- */
+
+    /**
+     * Los ids de un día están ordenados: un empleado nuevo empieza donde
+     * cambia el id respecto al turno efectivo anterior.
+     */
+    private int contarDistintos(int desde, int hasta) {
+        String[] anterior = {null};
+        return (int) IntStream.range(desde, hasta)
+                .mapToObj(i -> ordenados[i])
+                .filter(ES_TURNO_VALIDO)
+                .filter(r -> {
+                    boolean nuevo = !r.idEmpleado().equals(anterior[0]);
+                    anterior[0] = r.idEmpleado();
+                    return nuevo;
+                })
+                .count();
+    }
+
+    /** Rango [desde, hasta) del arreglo ordenado para las fechas dadas, acotado a los días indexados. */
+    private int[] rango(LocalDate desde, LocalDate hasta) {
+        long dias = inicio.length - 1;
+        long primero = Math.max(desde.toEpochDay() - primerDia, 0);
+        long ultimo = Math.min(hasta.toEpochDay() - primerDia, dias - 1);
+        return primero > ultimo
+                ? new int[]{0, 0}
+                : new int[]{inicio[(int) primero], inicio[(int) ultimo + 1]};
+    }
+
+    /** Posición del día dentro del arreglo de desplazamientos, o -1 si está fuera del rango indexado. */
+    private int posicionDia(long epochDay) {
+        long dia = epochDay - primerDia;
+        return dia < 0 || dia >= inicio.length - 1 ? -1 : (int) dia;
+    }
+
+    private long epochDay(int posicion) {
+        return ordenados[posicion].fecha().toEpochDay();
+    }
+}
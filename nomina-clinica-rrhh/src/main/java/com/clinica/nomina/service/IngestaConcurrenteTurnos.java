@@ -0,0 +1,154 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Ingesta concurrente de turnos para varios hilos productores (p. ej. uno por piso de la clínica).
+ *
+ * - Los registros se guardan en franjas (stripes) independientes: cada hilo escribe
+ *   en la franja que le corresponde por su id, con un lock propio, de modo que
+ *   los productores casi nunca compiten entre sí.
+ * - Los totales en vivo por empleado usan LongAdder (celdas por núcleo, sin locks).
+ * - {@link #instantanea()} toma los locks de todas las franjas, siempre en el mismo
+ *   orden, y los mantiene solo mientras copia las listas: el RRHHFunctionalService
+ *   se construye después de soltarlos. Ve un corte consistente (de cada productor,
+ *   un prefijo de lo que registró) y se puede consultar sin sincronización.
+ * - Cada franja lleva una versión que sube con cada registro (bajo su propio lock);
+ *   si la suma de versiones no cambió desde la última instantánea, se devuelve la
+ *   misma sin copiar nada. Un registro solo toca el lock y la versión de su franja,
+ *   no hay ningún contador o lock compartido por todos los productores.
+ *
+ * ✅ El rendimiento de la ingesta escala con la cantidad de núcleos.
+ */
+public class IngestaConcurrenteTurnos {
+
+    /** Totales en vivo de un empleado (sin locks). */
+    private static final class Acumulador {
+        final LongAdder horas = new LongAdder();
+        final LongAdder ausencias = new LongAdder();
+        final LongAdder turnos = new LongAdder();
+    }
+
+    private static final class Franja {
+        final ReentrantLock lock = new ReentrantLock();
+        final List<RegistroTurno> registros = new ArrayList<>();
+        /** Registros agregados a la franja; solo se lee y escribe con el lock tomado */
+        long version;
+    }
+
+    /** Última instantánea construida y la suma de versiones de las franjas que refleja. */
+    private record Instantanea(long version, RRHHFunctionalService servicio) {}
+
+    private final List<Empleado> personal;
+    private final Franja[] franjas;
+    private final int mascara;
+    private final Map<String, Acumulador> acumuladores = new ConcurrentHashMap<>();
+    private volatile Instantanea ultima;
+
+    public IngestaConcurrenteTurnos(List<Empleado> personal) {
+        this(personal, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * @param franjasMinimas cantidad mínima de franjas (se redondea a potencia de 2)
+     */
+    public IngestaConcurrenteTurnos(List<Empleado> personal, int franjasMinimas) {
+        this.personal = List.copyOf(personal);
+        int cantidad = Integer.highestOneBit(Math.max(1, franjasMinimas - 1)) << 1;
+        this.franjas = IntStream.range(0, cantidad).mapToObj(i -> new Franja()).toArray(Franja[]::new);
+        this.mascara = cantidad - 1;
+        this.personal.forEach(e -> acumuladores.put(e.id(), new Acumulador()));
+    }
+
+    /**
+     * Registra un turno; se puede invocar desde cualquier hilo.
+     */
+    public void registrar(RegistroTurno registro) {
+        Objects.requireNonNull(registro, "registro");
+        Objects.requireNonNull(registro.idEmpleado(), "idEmpleado");
+
+        Franja franja = franjas[(int) Thread.currentThread().threadId() & mascara];
+        franja.lock.lock();
+        try {
+            franja.registros.add(registro);
+            franja.version++;
+        } finally {
+            franja.lock.unlock();
+        }
+        acumular(registro);
+    }
+
+    /** Registra todos los turnos de la fuente desde el hilo actual. */
+    public void registrarTodos(Iterable<RegistroTurno> fuente) {
+        Consumer<RegistroTurno> registrar = this::registrar;
+        fuente.forEach(registrar);
+    }
+
+    /**
+     * Copia consistente de todo lo ingerido, como servicio de consultas de solo lectura.
+     * Si no se registró nada desde la anterior, devuelve la misma instancia.
+     */
+    public RRHHFunctionalService instantanea() {
+        Instantanea previa = ultima;
+        List<RegistroTurno> copia = new ArrayList<>();
+        long version = 0;
+        int tomados = 0;
+        try {
+            // Orden fijo por índice: dos instantáneas simultáneas no se bloquean mutuamente
+            for (; tomados < franjas.length; tomados++) {
+                franjas[tomados].lock.lock();
+                version += franjas[tomados].version;
+            }
+            // Las versiones solo crecen: misma suma, mismas franjas
+            if (previa != null && previa.version() == version) {
+                return previa.servicio();
+            }
+            Arrays.stream(franjas).forEach(f -> copia.addAll(f.registros));
+        } finally {
+            while (tomados > 0) {
+                franjas[--tomados].lock.unlock();
+            }
+        }
+
+        RRHHFunctionalService servicio = new RRHHFunctionalService(personal, Collections.unmodifiableList(copia));
+        ultima = new Instantanea(version, servicio);
+        return servicio;
+    }
+
+    /* --- Totales en vivo (pueden avanzar mientras se leen) --- */
+
+    /** Horas trabajadas (sin ausencias) del empleado hasta el momento. */
+    public long horasTrabajadas(String idEmpleado) {
+        return Optional.ofNullable(acumuladores.get(idEmpleado)).map(a -> a.horas.sum()).orElse(0L);
+    }
+
+    public long ausencias(String idEmpleado) {
+        return Optional.ofNullable(acumuladores.get(idEmpleado)).map(a -> a.ausencias.sum()).orElse(0L);
+    }
+
+    /** Cantidad total de turnos ingeridos hasta el momento. */
+    public long totalRegistros() {
+        return acumuladores.values().stream().mapToLong(a -> a.turnos.sum()).sum();
+    }
+
+    /* --- Helpers --- */
+
+    private void acumular(RegistroTurno r) {
+        Acumulador acumulador = acumuladores.computeIfAbsent(r.idEmpleado(), id -> new Acumulador());
+        acumulador.turnos.increment();
+        if (r.tipo() == TipoTurno.AUSENCIA) {
+            acumulador.ausencias.increment();
+        } else {
+            acumulador.horas.add(r.horas());
+        }
+    }
+}
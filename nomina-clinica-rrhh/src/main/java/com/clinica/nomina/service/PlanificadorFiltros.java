@@ -0,0 +1,118 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+import com.clinica.nomina.service.FiltroTurnos.*;
+
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Planificador de {@link FiltroTurnos}: elige el acceso más selectivo
+ * entre los índices disponibles y recurre al recorrido completo solo
+ * cuando ninguna condición es indexable.
+ *
+ * - PorEmpleado → índice por empleado
+ * - EntreFechas → índice por fecha
+ * - PorTipo     → índice por tipo de turno
+ * - HorasEntre  → sin índice (recorrido)
+ * - Y           → el hijo con menos candidatos; el otro se evalúa como filtro residual
+ * - O           → unión de candidatos si ambos hijos son indexables; si no, recorrido
+ *
+ * Los candidatos son posiciones ascendentes en la lista de registros, de modo
+ * que el resultado conserva el orden original, igual que el recorrido completo.
+ * El costo de cada acceso se estima sin materializar los candidatos.
+ */
+final class PlanificadorFiltros {
+
+    /** Plan de acceso: candidatos estimados y cómo obtenerlos (null = recorrido completo). */
+    record Plan(int costo, String acceso, Supplier<int[]> candidatos) {
+        boolean esRecorrido() {
+            return candidatos == null;
+        }
+    }
+
+    private final List<RegistroTurno> registros;
+    private final IndiceFechasTurnos indiceFechas;
+    private final IndiceEmpleadoTurnos indiceEmpleados;
+    private final Map<TipoTurno, int[]> posicionesPorTipo = new EnumMap<>(TipoTurno.class);
+
+    PlanificadorFiltros(List<RegistroTurno> registros,
+                        IndiceFechasTurnos indiceFechas,
+                        IndiceEmpleadoTurnos indiceEmpleados) {
+        this.registros = registros;
+        this.indiceFechas = indiceFechas;
+        this.indiceEmpleados = indiceEmpleados;
+
+        // Índice por tipo: posiciones ascendentes de cada TipoTurno
+        Arrays.stream(TipoTurno.values()).forEach(t -> posicionesPorTipo.put(t,
+                IntStream.range(0, registros.size())
+                        .filter(i -> registros.get(i) != null && registros.get(i).tipo() == t)
+                        .toArray()));
+    }
+
+    /**
+     * Ejecuta el filtro con el plan elegido; el filtro completo se reevalúa sobre los candidatos.
+     */
+    List<RegistroTurno> ejecutar(FiltroTurnos filtro) {
+        Plan plan = planificar(filtro);
+        IntStream posiciones = plan.esRecorrido()
+                ? IntStream.range(0, registros.size())
+                : Arrays.stream(plan.candidatos().get());
+
+        return posiciones
+                .mapToObj(registros::get)
+                .filter(Objects::nonNull)
+                .filter(filtro)
+                .toList();
+    }
+
+    Plan planificar(FiltroTurnos filtro) {
+        return switch (filtro) {
+            case PorEmpleado f -> new Plan(indiceEmpleados.cantidad(f.idEmpleado()),
+                    "indice-empleado(" + f.idEmpleado() + ")",
+                    () -> indiceEmpleados.posicionesDe(f.idEmpleado()));
+            case EntreFechas f -> new Plan(indiceFechas.cantidadEntre(f.desde(), f.hasta()),
+                    "indice-fecha(" + f.desde() + ".." + f.hasta() + ")",
+                    () -> indiceFechas.posicionesEntre(f.desde(), f.hasta()));
+            case PorTipo f -> new Plan(posicionesPorTipo.get(f.tipo()).length,
+                    "indice-tipo(" + f.tipo() + ")",
+                    () -> posicionesPorTipo.get(f.tipo()));
+            case HorasEntre f -> recorrido();
+            case Y f -> masSelectivo(planificar(f.izquierdo()), planificar(f.derecho()));
+            case O f -> union(planificar(f.izquierdo()), planificar(f.derecho()));
+        };
+    }
+
+    /* --- Helpers --- */
+
+    private Plan recorrido() {
+        return new Plan(registros.size(), "recorrido", null);
+    }
+
+    private static Plan masSelectivo(Plan a, Plan b) {
+        return b.costo() < a.costo() ? b : a;
+    }
+
+    private Plan union(Plan a, Plan b) {
+        return a.esRecorrido() || b.esRecorrido() || a.costo() + b.costo() >= registros.size()
+                ? recorrido()
+                : new Plan(a.costo() + b.costo(),
+                        "union(" + a.acceso() + ", " + b.acceso() + ")",
+                        () -> unir(a.candidatos().get(), b.candidatos().get()));
+    }
+
+    /** Mezcla de dos arreglos ascendentes sin repetidos. */
+    private static int[] unir(int[] a, int[] b) {
+        int[] resultado = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            int siguiente = j == b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            i += i < a.length && a[i] == siguiente ? 1 : 0;
+            j += j < b.length && b[j] == siguiente ? 1 : 0;
+            resultado[n++] = siguiente;
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+}
@@ -1,13 +1,19 @@
 package com.clinica.nomina.service;
 
+import com.clinica.nomina.model.Area;
 import com.clinica.nomina.model.Empleado;
 import com.clinica.nomina.model.RegistroTurno;
 import com.clinica.nomina.model.TipoTurno;
 import com.clinica.nomina.repository.DatosRepository;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
+import com.clinica.nomina.util.MapaIntDouble;
+import com.clinica.nomina.util.MapaIntInt;
+import com.clinica.nomina.util.MapaIntLong;
 
 import java.time.LocalDate;
 import java.util.*;
 import java.util.function.*;
+import java.util.stream.IntStream;
 
 /**
  * Servicio funcional del módulo de RRHH.
@@ -30,47 +36,116 @@ public class RRHHFunctionalService {
     /** Registros de turnos del mes actual */
     private final List<RegistroTurno> registros;
 
-    /** Mapa auxiliar empleadoId → Empleado, para búsquedas rápidas */
+    /** Mapa empleadoId → Empleado expuesto por {@link #getMapaPorId()}; los recorridos usan ordinales */
     private final Map<String, Empleado> mapaPorId = new HashMap<>();
 
-    /** Fuente de datos simulada */
-    private final DatosRepository datosRepository = new DatosRepository();
+    /**
+     * Codificador idEmpleado → ordinal (hash perfecto, sin boxing): posición en el personal,
+     * y a continuación los ids que solo aparecen en registros
+     */
+    private final CodificadorIdsEmpleado codificador;
+
+    /** Tabla de empleados direccionada por ordinal */
+    private final Empleado[] empleadoPorOrdinal;
+
+    /** Ordinal del empleado de cada registro (-1 si el registro no tiene id); los ids ajenos al personal van al final */
+    private final int[] ordinalPorRegistro;
+
+    /** Ordinal → idEmpleado: personal primero, luego los ids que solo aparecen en registros */
+    private final List<String> idPorOrdinal;
+
+    /** Índice ordinal → turnos del empleado, para las consultas por empleado */
+    private final IndiceEmpleadoTurnos indiceEmpleados;
+
+    /** Índice fecha → turnos del día, para las consultas de cobertura */
+    private final IndiceFechasTurnos indiceFechas;
+
+    /** Planificador de filtros estructurados sobre los índices anteriores */
+    private final PlanificadorFiltros planificador;
 
     /**
      * Constructor por defecto que inicializa los datos desde el repositorio
      * y crea el mapa de empleados a partir de la lista cargada.
      */
     public RRHHFunctionalService() {
-        this.personal = datosRepository.obtenerEmpleados();
-        this.registros = datosRepository.obtenerRegistrosMes();
+        this(new DatosRepository());
+    }
+
+    /** Inicializa desde la fuente de datos simulada. */
+    private RRHHFunctionalService(DatosRepository datosRepository) {
+        this(datosRepository.obtenerEmpleados(), datosRepository.obtenerRegistrosMes());
+    }
+
+    /**
+     * Constructor con datos explícitos (otra fuente, otro periodo o volúmenes de prueba).
+     */
+    public RRHHFunctionalService(List<Empleado> personal, List<RegistroTurno> registros) {
+        this.personal = personal;
+        this.registros = registros;
 
         // Consumer funcional para poblar el mapa por id (sin bucle imperativo)
         Consumer<Empleado> agregarAMapa = e -> mapaPorId.put(e.id(), e);
         personal.forEach(agregarAMapa);
+        this.empleadoPorOrdinal = personal.toArray(Empleado[]::new);
+
+        // Codificación de ids a ordinales, una sola vez por periodo: los ids ajenos al
+        // personal (en orden de primera aparición) se agregan al final del mismo codificador
+        List<String> idsPersonal = personal.stream().map(Empleado::id).toList();
+        CodificadorIdsEmpleado delPersonal = CodificadorIdsEmpleado.de(idsPersonal);
+        List<String> ids = new ArrayList<>(idsPersonal);
+        registros.stream()
+                .filter(r -> r != null && r.idEmpleado() != null && !delPersonal.esConocido(r.idEmpleado()))
+                .map(RegistroTurno::idEmpleado)
+                .distinct()
+                .forEach(ids::add);
+        this.idPorOrdinal = Collections.unmodifiableList(ids);
+        this.codificador = ids.size() == idsPersonal.size() ? delPersonal : CodificadorIdsEmpleado.de(ids);
+        this.ordinalPorRegistro = registros.stream()
+                .mapToInt(r -> r == null ? -1 : codificador.ordinal(r.idEmpleado()))
+                .toArray();
+
+        this.indiceFechas = IndiceFechasTurnos.de(registros);
+        this.indiceEmpleados = IndiceEmpleadoTurnos.de(registros, ordinalPorRegistro, codificador);
+        this.planificador = new PlanificadorFiltros(registros, indiceFechas, indiceEmpleados);
+    }
+
+    /**
+     * Decodifica un ordinal a idEmpleado (solo en el borde, al construir los reportes).
+     */
+    public String idDe(int ordinal) {
+        return idPorOrdinal.get(ordinal);
     }
 
     /**
      * 1. Genera un reporte de horas trabajadas por empleado.
      *
      * Implementación funcional:
-     * - Predicate para excluir ausencias
-     * - BiConsumer para acumular horas en el mapa
-     * - Consumer que combina Predicate y efecto lateral sin condicional if explícito
+     * - La agregación se hace por ordinal en un mapa primitivo (sin boxing por turno)
+     * - Los ids se decodifican solo al construir el mapa de salida
      */
     public Map<String, Integer> reporteHorasTrabajadas() {
         Map<String, Integer> horas = new HashMap<>();
+        horasTrabajadasPorOrdinal().recorrer((ordinal, total) -> horas.put(idDe(ordinal), total));
+        return horas;
+    }
 
-        Predicate<RegistroTurno> esAusencia = r -> r.tipo() == TipoTurno.AUSENCIA;
-
-        BiConsumer<String, Integer> acumular = (id, h) -> horas.merge(id, h, Integer::sum);
+    /**
+     * Horas trabajadas (sin ausencias) por ordinal de empleado.
+     *
+     * - IntPredicate para excluir ausencias y registros sin empleado
+     * - IntConsumer que acumula en el mapa primitivo
+     * ✅ No crea objetos por registro: apto para millones de turnos.
+     */
+    public MapaIntInt horasTrabajadasPorOrdinal() {
+        MapaIntInt horas = new MapaIntInt(idPorOrdinal.size());
 
-        // Consumer que, si el registro NO es ausencia, acumula horas (sin usar if)
-        Consumer<RegistroTurno> procesar = r ->
-                esAusencia.negate()
-                        .and(x -> { acumular.accept(x.idEmpleado(), x.horas()); return true; })
-                        .test(r);
+        IntPredicate tieneEmpleado = i -> ordinalPorRegistro[i] >= 0;
+        IntPredicate esAusencia = i -> registros.get(i).tipo() == TipoTurno.AUSENCIA;
+        IntConsumer acumular = i -> horas.sumar(ordinalPorRegistro[i], registros.get(i).horas());
 
-        registros.forEach(procesar);
+        IntStream.range(0, ordinalPorRegistro.length)
+                .filter(tieneEmpleado.and(esAusencia.negate()))
+                .forEach(acumular);
         return horas;
     }
 
@@ -89,16 +164,21 @@ public class RRHHFunctionalService {
         // Predicado para identificar los registros de tipo GUARDIA
         Predicate<RegistroTurno> esGuardia = r -> r.tipo().equals(TipoTurno.GUARDIA);
 
-        // Funciones para transformar registro -> id -> nombre
-        Function<RegistroTurno, String> obtenerId = RegistroTurno::idEmpleado;
-        Function<String, String> obtenerNombre = id -> mapaPorId.get(id).nombre();
+        // Ordinal del registro en curso (alineado con la lista) -> nombre
+        int[] posicion = {0};
+        IntFunction<String> obtenerNombre = o -> o < empleadoPorOrdinal.length ? empleadoPorOrdinal[o].nombre() : idDe(o);
 
-        // Estructura de almacenamiento sin duplicados y con orden estable
-        Set<String> ids = new LinkedHashSet<>();
+        // Ordinales ya vistos (sin hashing de Strings) y ordinales en orden de primera aparición
+        BitSet vistos = new BitSet(idPorOrdinal.size());
+        List<Integer> ordinales = new ArrayList<>();
 
-        // Consumer funcional: agrega el ID si cumple el predicado, sin usar "if"
-        Consumer<RegistroTurno> agregarSiGuardia = r ->
-                esGuardia.and(x -> ids.add(obtenerId.apply(x))).test(r);
+        // Consumer funcional: agrega el ordinal si cumple el predicado, sin usar "if"
+        Consumer<RegistroTurno> agregarSiGuardia = r -> {
+            int o = ordinalPorRegistro[posicion[0]++];
+            esGuardia.and(x -> o >= 0 && !vistos.get(o))
+                    .and(x -> { vistos.set(o); return ordinales.add(o); })
+                    .test(r);
+        };
 
         // Aplicar el Consumer a cada registro
         registros.forEach(agregarSiGuardia);
@@ -106,7 +186,7 @@ public class RRHHFunctionalService {
         // Supplier que construye la lista final de nombres (sin streams)
         Supplier<List<String>> construirResultado = () -> {
             List<String> lista = new ArrayList<>();
-            ids.forEach(id -> lista.add(obtenerNombre.apply(id)));
+            ordinales.forEach(o -> lista.add(obtenerNombre.apply(o)));
             return lista;
         };
 
@@ -137,11 +217,53 @@ public class RRHHFunctionalService {
         return total[0];
     }
 
+    /**
+     * 3b. Calcula el salario mensual de todo el personal en una sola pasada.
+     *
+     * Implementación funcional:
+     * - La Function de factores se resuelve a lo sumo una vez por TipoTurno, en una tabla
+     *   primitiva, y solo al aparecer el primer registro de ese tipo: igual que
+     *   {@link #calcularSalarioMensual}, nunca se consulta para ausencias ni para tipos sin
+     *   registros (un factor null solo falla si hay turnos de ese tipo)
+     * - Consumer que acumula en un arreglo indexado por el ordinal del empleado
+     * ✅ O(registros + empleados) en vez de O(empleados × registros), sin boxing por fila.
+     */
+    public SalariosMensuales calcularSalariosMensuales(Function<TipoTurno, Double> factorPorTipo) {
+        TipoTurno[] tipos = TipoTurno.values();
+        double[] factores = new double[tipos.length];
+        boolean[] resuelto = new boolean[tipos.length];
+        IntUnaryOperator resolver = t -> {
+            factores[t] = factorPorTipo.apply(tipos[t]);
+            resuelto[t] = true;
+            return t;
+        };
+
+        double[] salarioHora = personal.stream().mapToDouble(Empleado::salarioBaseHora).toArray();
+        double[] totales = new double[personal.size()];
+
+        IntPredicate esDelPersonal = i -> ordinalPorRegistro[i] >= 0 && ordinalPorRegistro[i] < totales.length;
+        IntPredicate tieneTipo = i -> registros.get(i).tipo() != null;
+        IntPredicate noEsAusencia = i -> registros.get(i).tipo() != TipoTurno.AUSENCIA;
+
+        IntConsumer acumular = i -> {
+            RegistroTurno r = registros.get(i);
+            int o = ordinalPorRegistro[i];
+            int t = r.tipo().ordinal();
+            totales[o] += r.horas() * salarioHora[o] * factores[resuelto[t] ? t : resolver.applyAsInt(t)];
+        };
+
+        IntStream.range(0, ordinalPorRegistro.length).filter(esDelPersonal.and(tieneTipo).and(noEsAusencia)).forEach(acumular);
+        return new SalariosMensuales(personal, codificador, totales);
+    }
+
     /**
      * 4. Genera validador de horas máximas.
+     *
+     * Se retorna como FiltroTurnos para que {@link #filtrarTurnos(Predicate)} pueda
+     * planificarlo y combinarlo con otras condiciones (y / o).
      */
-    public Predicate<RegistroTurno> generarValidadorHoras(int maxHoras) {
-        return r -> r.horas() > maxHoras;
+    public FiltroTurnos generarValidadorHoras(int maxHoras) {
+        return FiltroTurnos.horasMayoresA(maxHoras);
     }
 
     /**
@@ -154,8 +276,8 @@ public class RRHHFunctionalService {
      */
     public List<EmpleadoCarga> listadoPorCargaLaboral() {
 
-        // 1. Mapa de horas totales por empleado
-        Map<String, Integer> horas = reporteHorasTrabajadas();
+        // 1. Mapa primitivo de horas totales por ordinal de empleado
+        MapaIntInt horas = horasTrabajadasPorOrdinal();
 
         // 2. Lista resultado
         List<EmpleadoCarga> listado = new ArrayList<>();
@@ -165,7 +287,7 @@ public class RRHHFunctionalService {
                 (empleado, totalHoras) -> new EmpleadoCarga(empleado, totalHoras);
 
         // 4. Consumer para agregar EmpleadoCarga a la lista (sin bucles explícitos)
-        Consumer<Empleado> agregar = e -> listado.add(crearCarga.apply(e, horas.getOrDefault(e.id(), 0)));
+        Consumer<Empleado> agregar = e -> listado.add(crearCarga.apply(e, horas.obtener(codificador.ordinal(e.id()), 0)));
 
         personal.forEach(agregar);
 
@@ -187,18 +309,27 @@ public class RRHHFunctionalService {
      * -------------------------------------------------------------------------
      *
      * Implementación funcional:
-     * - Predicate para detectar ausencias
-     * - Consumer que acumula en el mapa vía merge (efecto lateral controlado)
+     * - Conteo por ordinal en un mapa primitivo int → long (sin boxing por ausencia)
+     * - Decodificación de ids solo en el mapa de salida
      */
     public Map<String, Long> consolidadoAusencias() {
         Map<String, Long> ausencias = new HashMap<>();
+        ausenciasPorOrdinal().recorrer((ordinal, cantidad) -> ausencias.put(idDe(ordinal), cantidad));
+        return ausencias;
+    }
 
-        Predicate<RegistroTurno> esAusencia = r -> r.tipo() == TipoTurno.AUSENCIA;
+    /**
+     * Cantidad de ausencias por ordinal de empleado, en un mapa primitivo.
+     */
+    public MapaIntLong ausenciasPorOrdinal() {
+        MapaIntLong ausencias = new MapaIntLong(idPorOrdinal.size());
 
-        Consumer<RegistroTurno> acumularAusencia = r ->
-                esAusencia.and(x -> { ausencias.merge(x.idEmpleado(), 1L, Long::sum); return true; }).test(r);
+        IntPredicate tieneEmpleado = i -> ordinalPorRegistro[i] >= 0;
+        IntPredicate esAusencia = i -> registros.get(i).tipo() == TipoTurno.AUSENCIA;
 
-        registros.forEach(acumularAusencia);
+        IntStream.range(0, ordinalPorRegistro.length)
+                .filter(tieneEmpleado.and(esAusencia))
+                .forEach(i -> ausencias.sumar(ordinalPorRegistro[i], 1L));
         return ausencias;
     }
 
@@ -209,18 +340,16 @@ public class RRHHFunctionalService {
      *
      * Implementación funcional:
      * - Function para convertir RegistroTurno → EventoCalendario
-     * - Consumer que agrega eventos solo cuando el registro pertenece al empleado (composición de Predicate)
+     * - El índice por empleado entrega solo los registros del empleado (O(k), sin recorrer el mes)
      */
     public List<EventoCalendario> convertirRegistrosAEventos(String idEmpleado) {
         List<EventoCalendario> eventos = new ArrayList<>();
 
-        Predicate<RegistroTurno> esDelEmpleado = r -> r.idEmpleado().equals(idEmpleado);
         Function<RegistroTurno, EventoCalendario> toEvento = r -> new EventoCalendario(r.tipo().name(), r.fecha());
 
-        Consumer<RegistroTurno> agregarEvento = r ->
-                esDelEmpleado.and(x -> { eventos.add(toEvento.apply(x)); return true; }).test(r);
+        Consumer<RegistroTurno> agregarEvento = r -> eventos.add(toEvento.apply(r));
 
-        registros.forEach(agregarEvento);
+        indiceEmpleados.registrosDe(idEmpleado).forEach(agregarEvento);
         return eventos;
     }
 
@@ -228,93 +357,142 @@ public class RRHHFunctionalService {
      * 🧩 Ejercicio 8 – Verificar cobertura mínima.
      *
      * Implementación funcional:
-     * - Predicate para validar registro por fecha y excluir ausencias
-     * - Consumer que acumula ids y muestra información (efecto lateral controlado)
+     * - El índice por fecha ubica el rango de turnos del día sin recorrer todo el mes
      * - Function para evaluar si se cumple el mínimo
+     * ✅ Sin efectos laterales: la impresión queda a cargo de quien consulta
+     *    (ver {@link #empleadosEnTurno(LocalDate)}).
      */
     public boolean verificarCobertura(LocalDate fecha, int minimo) {
+        Function<Integer, Boolean> cumpleCobertura = empleados -> empleados >= minimo;
+        return cumpleCobertura.apply(indiceFechas.empleadosDistintos(fecha));
+    }
 
-        Predicate<RegistroTurno> esTurnoValido = r ->
-                r.fecha().equals(fecha) && r.tipo() != TipoTurno.AUSENCIA;
-
-        Set<String> ids = new HashSet<>();
+    /**
+     * Turnos efectivos (sin ausencias) de la fecha, ordenados por empleado.
+     */
+    public List<RegistroTurno> empleadosEnTurno(LocalDate fecha) {
+        return indiceFechas.turnosEfectivosDel(fecha);
+    }
 
-        Consumer<RegistroTurno> registrarEmpleado = r ->
-                esTurnoValido.and(x -> {
-                    ids.add(x.idEmpleado());
-                    Empleado e = mapaPorId.get(x.idEmpleado());
-                    System.out.printf("  - %s | Tipo: %s | ⏱ %d hrs%n", e.nombre(), x.tipo(), x.horas());
-                    return true;
-                }).test(r);
+    /**
+     * Cobertura mínima para cada día de [desde, hasta] en una sola consulta al índice.
+     *
+     * ✅ Auditar un año completo es un recorrido lineal sobre los turnos del rango.
+     */
+    public List<CoberturaDia> verificarCoberturaEntre(LocalDate desde, LocalDate hasta, int minimo) {
+        int[] empleadosPorDia = indiceFechas.empleadosDistintosEntre(desde, hasta);
 
-        System.out.println("👥 Empleados cubriendo el turno del " + fecha + ":");
-        registros.forEach(registrarEmpleado);
+        IntFunction<CoberturaDia> aCobertura = d ->
+                new CoberturaDia(desde.plusDays(d), empleadosPorDia[d], empleadosPorDia[d] >= minimo);
 
-        Function<Set<String>, Boolean> cumpleCobertura = s -> s.size() >= minimo;
-        boolean cumple = cumpleCobertura.apply(ids);
-        System.out.println(cumple ? "✅ Cobertura mínima alcanzada" : "⚠️ Cobertura insuficiente");
-        return cumple;
+        List<CoberturaDia> resultado = new ArrayList<>(empleadosPorDia.length);
+        IntStream.range(0, empleadosPorDia.length).mapToObj(aCobertura).forEach(resultado::add);
+        return resultado;
     }
 
+    public record CoberturaDia(LocalDate fecha, int empleados, boolean cumpleMinimo) {}
+
     /**
      * 9. Turno más largo.
      *
      * Implementación funcional:
-     * - Se usa un Consumer que actualiza una referencia mutable (efecto lateral controlado)
-     * - Se utiliza un Supplier para construir el String resultante (evita if en cuerpo principal)
+     * - Una sola pasada (min) con el orden de {@link EstadisticasTurnos#MAS_LARGO_PRIMERO}:
+     *   en empate de horas gana la fecha más antigua y luego el menor idEmpleado
+     * - Function que formatea el turno; Supplier para el caso sin registros (evita if)
      */
     public String turnoMasLargo() {
-        final RegistroTurno[] max = {null};
+        Function<RegistroTurno, String> formatear = t -> String.format(
+                "🏆 Turno más largo -> Empleado: %s | Fecha: %s | Tipo: %s | ⏱ %d hrs",
+                nombreDe(t.idEmpleado()), t.fecha(), t.tipo(), t.horas());
+        Supplier<String> sinRegistros = () -> "No hay registros disponibles.";
+
+        return registros.stream()
+                .filter(EstadisticasTurnos::esTurnoTrabajado)
+                .min(EstadisticasTurnos.MAS_LARGO_PRIMERO)
+                .map(formatear)
+                .orElseGet(sinRegistros);
+    }
 
-        Consumer<RegistroTurno> actualizar = r ->
-                ((Predicate<RegistroTurno>) rr -> max[0] == null)
-                        .or(rr -> r.horas() > (max[0] == null ? -1 : max[0].horas()))
-                        .and(rr -> { max[0] = (max[0] == null || r.horas() > max[0].horas()) ? r : max[0]; return true; })
-                        .test(r);
+    /**
+     * 9b. Estadísticas de orden de la duración de los turnos trabajados:
+     * top N (general, por área y por tipo), mediana y percentiles, en una sola pasada.
+     */
+    public EstadisticasTurnos estadisticasTurnos(int n) {
+        return estadisticasTurnos(n, false);
+    }
+
+    /**
+     * @param paralelo si es true la pasada se reparte entre núcleos (conveniente con muchos registros)
+     */
+    public EstadisticasTurnos estadisticasTurnos(int n, boolean paralelo) {
+        Function<String, Area> areaDe = id -> Optional.ofNullable(empleado(id)).map(Empleado::area).orElse(null);
+        return (paralelo ? registros.parallelStream() : registros.stream())
+                .collect(EstadisticasTurnos.recolector(n, areaDe));
+    }
 
-        registros.forEach(actualizar);
+    private String nombreDe(String idEmpleado) {
+        return Optional.ofNullable(empleado(idEmpleado)).map(Empleado::nombre).orElse(idEmpleado);
+    }
 
-        Supplier<String> construir = () -> {
-            if (max[0] == null) return "No hay registros disponibles.";
-            RegistroTurno t = max[0];
-            return String.format("🏆 Turno más largo -> Empleado: %s | Fecha: %s | Tipo: %s | ⏱ %d hrs",
-                    mapaPorId.get(t.idEmpleado()).nombre(), t.fecha(), t.tipo(), t.horas());
-        };
+    /** Empleado del personal por id (una carga de arreglo); null si el id no es del personal. */
+    private Empleado empleado(String idEmpleado) {
+        int ordinal = ordinalDelPersonal(idEmpleado);
+        return ordinal == CodificadorIdsEmpleado.DESCONOCIDO ? null : empleadoPorOrdinal[ordinal];
+    }
 
-        return construir.get();
+    /** Posición del id en el personal, o DESCONOCIDO (también para los ids que solo están en registros). */
+    private int ordinalDelPersonal(String idEmpleado) {
+        int ordinal = codificador.ordinal(idEmpleado);
+        return ordinal < empleadoPorOrdinal.length ? ordinal : CodificadorIdsEmpleado.DESCONOCIDO;
     }
 
     /**
      * 10️⃣ Genera un reporte con el total de nómina para los turnos de tipo NOCHE.
      *
-     * Implementación funcional mediante recursión controlada (sin streams).
-     * La recursión utiliza caso base y acumulador; se evita mutación externa.
+     * Delegado del reporte genérico por tipo de turno.
      */
     public Map<String, Double> reporteNominaTurnosNoche(double factor) {
-        return registros == null || registros.isEmpty()
-                ? Map.of()
-                : calcularNominaTurnosNoche(new ArrayList<>(registros), factor, new HashMap<>());
+        return reporteNominaPorTipoTurno(TipoTurno.NOCHE, factor);
     }
 
     /**
-     * Función recursiva auxiliar que acumula los valores de nómina nocturna
-     * para cada empleado sin usar estructuras imperativas en el cuerpo superior.
+     * Reporte de nómina (nombre → total) para un tipo de turno sobre los registros del servicio.
+     */
+    public Map<String, Double> reporteNominaPorTipoTurno(TipoTurno tipo, double factor) {
+        return reporteNominaPorTipoTurno(registros, tipo, factor);
+    }
+
+    /**
+     * Reporte de nómina por tipo de turno sobre cualquier fuente de registros.
+     *
+     * Implementación funcional en una sola pasada:
+     * - Predicate compuesto (tipo de turno y empleado conocido)
+     * - Consumer que acumula por ordinal en un mapa primitivo int → double
+     * - Los nombres se resuelven solo al construir el mapa de salida
+     * ✅ O(n) sin copiar la fuente y con profundidad de pila constante,
+     *    por lo que admite fuentes arbitrariamente grandes (Iterable perezoso).
      */
-    private Map<String, Double> calcularNominaTurnosNoche(
-            List<RegistroTurno> lista,
-            double factor,
-            Map<String, Double> acumulado) {
+    public Map<String, Double> reporteNominaPorTipoTurno(Iterable<RegistroTurno> fuente, TipoTurno tipo, double factor) {
+        MapaIntDouble acumulado = new MapaIntDouble(personal.size());
 
-        if (lista.isEmpty()) return acumulado;
+        Predicate<RegistroTurno> esDelTipo = r -> r.tipo() == tipo;
 
-        RegistroTurno actual = lista.remove(0);
-        if (actual.tipo() == TipoTurno.NOCHE) {
-            Empleado e = mapaPorId.get(actual.idEmpleado());
-            double valor = e.salarioBaseHora() * actual.horas() * factor;
-            acumulado.merge(e.nombre(), valor, Double::sum);
-        }
+        ObjIntConsumer<RegistroTurno> acumular = (r, o) ->
+                acumulado.sumar(o, empleadoPorOrdinal[o].salarioBaseHora() * r.horas() * factor);
 
-        return calcularNominaTurnosNoche(lista, factor, acumulado);
+        // El ordinal se resuelve una sola vez por registro; los desconocidos se descartan
+        Consumer<RegistroTurno> procesar = r -> {
+            int o = ordinalDelPersonal(r.idEmpleado());
+            esDelTipo.and(x -> o != CodificadorIdsEmpleado.DESCONOCIDO)
+                    .and(x -> { acumular.accept(x, o); return true; })
+                    .test(r);
+        };
+
+        Optional.ofNullable(fuente).ifPresent(f -> f.forEach(procesar));
+
+        Map<String, Double> reporte = new HashMap<>();
+        acumulado.recorrer((o, total) -> reporte.merge(empleadoPorOrdinal[o].nombre(), total, Double::sum));
+        return reporte;
     }
 
     /** Devuelve el mapa inmutable de empleados por ID. */
@@ -335,10 +513,26 @@ public class RRHHFunctionalService {
     /**
      * 11. Método agregado: filtrarTurnos según predicado.
      * Implementado de forma funcional (sin removeIf ni streams).
-     * Utiliza un Consumer que aplica un Predicate sobre cada elemento
-     * y agrega los registros válidos a la lista resultado.
+     *
+     * - Si el predicado es un {@link FiltroTurnos}, el planificador lo resuelve con el
+     *   índice más selectivo (fecha, empleado o tipo) y solo recorre todo si no hay índice aplicable.
+     * - Un Predicate opaco se aplica con un Consumer sobre cada registro.
+     * ✅ En ambos casos el resultado conserva el orden original de los registros.
      */
     public List<RegistroTurno> filtrarTurnos(Predicate<RegistroTurno> filtro) {
+        return filtro instanceof FiltroTurnos estructurado
+                ? planificador.ejecutar(estructurado)
+                : recorrerConFiltro(filtro);
+    }
+
+    /**
+     * Describe el acceso que el planificador elegiría para el filtro (p. ej. "indice-fecha(...)").
+     */
+    public String explicarFiltro(FiltroTurnos filtro) {
+        return planificador.planificar(filtro).acceso();
+    }
+
+    private List<RegistroTurno> recorrerConFiltro(Predicate<RegistroTurno> filtro) {
         List<RegistroTurno> resultado = new ArrayList<>();
 
         // ✅ Aplicación funcional del predicado sin condicionales ni bucles explícitos.
@@ -0,0 +1,64 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Resultado de la nómina mensual de todo el personal.
+ *
+ * Los totales se guardan en un arreglo primitivo indexado por el ordinal
+ * del empleado (posición en la lista de personal); el id solo se resuelve
+ * en las consultas puntuales y al convertir a mapa para los reportes.
+ */
+public final class SalariosMensuales {
+
+    private final List<Empleado> personal;
+    private final CodificadorIdsEmpleado codificador;
+    private final double[] totales;
+
+    SalariosMensuales(List<Empleado> personal, CodificadorIdsEmpleado codificador, double[] totales) {
+        this.personal = personal;
+        this.codificador = codificador;
+        this.totales = totales;
+    }
+
+    /** Salario del empleado en la posición indicada del personal. */
+    public double salario(int ordinal) {
+        return totales[ordinal];
+    }
+
+    /** Salario del empleado por id; 0 si no pertenece al personal. */
+    public double salario(String idEmpleado) {
+        // El codificador también conoce los ids que solo aparecen en registros (ordinales >= personal)
+        int ordinal = codificador.ordinal(idEmpleado);
+        return ordinal == CodificadorIdsEmpleado.DESCONOCIDO || ordinal >= totales.length ? 0.0 : totales[ordinal];
+    }
+
+    public Empleado empleado(int ordinal) {
+        return personal.get(ordinal);
+    }
+
+    public int tamanio() {
+        return totales.length;
+    }
+
+    public double total() {
+        return Arrays.stream(totales).sum();
+    }
+
+    /** Recorre los resultados sin crear entradas de mapa (empleado, ordinal). */
+    public void forEach(ObjIntConsumer<Empleado> accion) {
+        IntStream.range(0, totales.length).forEach(o -> accion.accept(personal.get(o), o));
+    }
+
+    /** Vista idEmpleado → salario en el orden del personal. */
+    public Map<String, Double> comoMapa() {
+        Map<String, Double> mapa = new LinkedHashMap<>();
+        forEach((e, o) -> mapa.put(e.id(), totales[o]));
+        return mapa;
+    }
+}
@@ -0,0 +1,212 @@
+package com.clinica.nomina.util;
+
+import java.util.*;
+
+/**
+ * Codificador de ids de empleado a ordinales densos (0..n-1, posición en el personal).
+ *
+ * Dos caminos de búsqueda, ambos O(1) y sin crear objetos:
+ *
+ * - Camino rápido para el patrón "E" + dígitos (p. ej. "E01"): el número se
+ *   interpreta directamente desde los caracteres y se usa como índice de un arreglo.
+ * - Hash perfecto (hash-and-displace) para el resto de ids: cada cubeta guarda
+ *   una semilla que ubica a sus ids en casillas libres de una tabla sin colisiones.
+ *
+ * En ambos casos se confirma el id contra el personal (un "E1" no coincide con "E01"),
+ * por lo que un id desconocido se detecta con una sola comparación.
+ * Ante ids repetidos en el personal se conserva la primera posición.
+ * La lista puede seguir, después del personal, con los ids que solo aparecen en los
+ * registros: reciben las posiciones siguientes y se resuelven por el mismo camino.
+ *
+ * nomina-clinica-rrhh y nomina-clinica-streams tienen esta misma clase (mismo paquete
+ * y contenido): un cambio se aplica en las dos copias.
+ */
+public final class CodificadorIdsEmpleado {
+
+    /** Ordinal devuelto para ids que no pertenecen al personal. */
+    public static final int DESCONOCIDO = -1;
+
+    private static final char PREFIJO = 'E';
+    private static final int MAX_DIGITOS = 9;
+
+    /** Tamaño máximo del arreglo del camino rápido, relativo al personal (evita arreglos dispersos). */
+    private static final int FACTOR_DISPERSION = 8;
+
+    private static final int INTENTOS_POR_CUBETA = 1 << 16;
+
+    private final String[] ids;
+
+    /** Camino rápido: número del id → ordinal + 1 (0 = libre) */
+    private final int[] ordinalPorNumero;
+
+    /** Hash perfecto: semilla por cubeta y ordinal + 1 por casilla */
+    private final int[] semillas;
+    private final int[] ordinalPorCasilla;
+    private final int mascaraCasillas;
+
+    /** Ids cuyo hashCode coincide exactamente con otro (no separables por semilla) */
+    private final Map<String, Integer> residuales = new HashMap<>();
+
+    private CodificadorIdsEmpleado(List<String> idsPersonal) {
+        this.ids = idsPersonal.toArray(String[]::new);
+
+        Map<String, Integer> primeros = new LinkedHashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != null) {
+                primeros.putIfAbsent(ids[i], i);
+            }
+        }
+
+        // 1. Camino rápido para los ids con patrón E + dígitos (si el rango no es demasiado disperso)
+        int maximo = primeros.keySet().stream().mapToInt(CodificadorIdsEmpleado::numero).max().orElse(-1);
+        boolean usarRapido = maximo >= 0 && maximo < Math.max(1024, primeros.size() * FACTOR_DISPERSION);
+        this.ordinalPorNumero = new int[usarRapido ? maximo + 1 : 0];
+
+        List<String> resto = new ArrayList<>();
+        primeros.forEach((id, ordinal) -> {
+            int numero = usarRapido ? numero(id) : -1;
+            if (numero >= 0 && ordinalPorNumero[numero] == 0) {
+                ordinalPorNumero[numero] = ordinal + 1;
+            } else {
+                resto.add(id);
+            }
+        });
+
+        // 2. Hash perfecto para el resto
+        int cubetas = Math.max(1, (resto.size() + 3) / 4);
+        int casillas = Integer.highestOneBit(Math.max(1, resto.size() * 2 - 1)) << 1;
+        this.semillas = new int[cubetas];
+        this.ordinalPorCasilla = new int[casillas];
+        this.mascaraCasillas = casillas - 1;
+        construirHashPerfecto(resto, primeros);
+    }
+
+    public static CodificadorIdsEmpleado de(List<String> idsPersonal) {
+        return new CodificadorIdsEmpleado(Optional.ofNullable(idsPersonal).orElse(List.of()));
+    }
+
+    /**
+     * @return posición del id en la lista (personal y, a continuación, ids externos) o {@link #DESCONOCIDO}
+     */
+    public int ordinal(String id) {
+        if (id == null) {
+            return DESCONOCIDO;
+        }
+        int numero = numero(id);
+        if (numero >= 0 && numero < ordinalPorNumero.length && ordinalPorNumero[numero] != 0) {
+            int ordinal = ordinalPorNumero[numero] - 1;
+            if (ids[ordinal].equals(id)) {
+                return ordinal;
+            }
+        }
+        if (ordinalPorCasilla.length > 0) {
+            int h = id.hashCode();
+            int casilla = mezclar(h, semillas[cubeta(h)]) & mascaraCasillas;
+            int ordinal = ordinalPorCasilla[casilla] - 1;
+            if (ordinal >= 0 && ids[ordinal].equals(id)) {
+                return ordinal;
+            }
+        }
+        return residuales.isEmpty() ? DESCONOCIDO : residuales.getOrDefault(id, DESCONOCIDO);
+    }
+
+    public boolean esConocido(String id) {
+        return ordinal(id) != DESCONOCIDO;
+    }
+
+    public String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    /** Cantidad de posiciones del personal (incluye repetidos). */
+    public int tamanio() {
+        return ids.length;
+    }
+
+    /* --- Helpers --- */
+
+    /**
+     * Número del patrón "E" + dígitos, o -1 si el id no lo sigue.
+     */
+    private static int numero(String id) {
+        int longitud = id.length();
+        if (longitud < 2 || longitud > MAX_DIGITOS + 1 || id.charAt(0) != PREFIJO) {
+            return -1;
+        }
+        int numero = 0;
+        for (int i = 1; i < longitud; i++) {
+            int digito = id.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            numero = numero * 10 + digito;
+        }
+        return numero;
+    }
+
+    /**
+     * Hash-and-displace: las cubetas más pobladas eligen semilla primero;
+     * cada semilla debe ubicar a todos los ids de la cubeta en casillas libres.
+     */
+    private void construirHashPerfecto(List<String> resto, Map<String, Integer> primeros) {
+        List<List<String>> porCubeta = new ArrayList<>();
+        for (int b = 0; b < semillas.length; b++) {
+            porCubeta.add(new ArrayList<>());
+        }
+        resto.forEach(id -> porCubeta.get(cubeta(id.hashCode())).add(id));
+
+        Integer[] orden = new Integer[semillas.length];
+        Arrays.setAll(orden, b -> b);
+        Arrays.sort(orden, Comparator.comparingInt((Integer b) -> porCubeta.get(b).size()).reversed());
+
+        int[] casillasCubeta = new int[0];
+        for (int b : orden) {
+            List<String> claves = porCubeta.get(b);
+            if (claves.isEmpty()) {
+                continue;
+            }
+            casillasCubeta = casillasCubeta.length < claves.size() ? new int[claves.size()] : casillasCubeta;
+
+            boolean ubicada = false;
+            for (int semilla = 1; semilla < INTENTOS_POR_CUBETA && !ubicada; semilla++) {
+                ubicada = probar(claves, semilla, casillasCubeta);
+                if (ubicada) {
+                    semillas[b] = semilla;
+                    for (int k = 0; k < claves.size(); k++) {
+                        ordinalPorCasilla[casillasCubeta[k]] = primeros.get(claves.get(k)) + 1;
+                    }
+                }
+            }
+            if (!ubicada) {
+                claves.forEach(id -> residuales.put(id, primeros.get(id)));
+            }
+        }
+    }
+
+    private boolean probar(List<String> claves, int semilla, int[] casillasCubeta) {
+        for (int k = 0; k < claves.size(); k++) {
+            int casilla = mezclar(claves.get(k).hashCode(), semilla) & mascaraCasillas;
+            if (ordinalPorCasilla[casilla] != 0) {
+                return false;
+            }
+            for (int j = 0; j < k; j++) {
+                if (casillasCubeta[j] == casilla) {
+                    return false;
+                }
+            }
+            casillasCubeta[k] = casilla;
+        }
+        return true;
+    }
+
+    private int cubeta(int hash) {
+        return Math.floorMod(hash * 0x9E3779B9, semillas.length);
+    }
+
+    private static int mezclar(int hash, int semilla) {
+        int h = (hash ^ semilla) * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,151 @@
+package com.clinica.nomina.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa int → long con direccionamiento abierto (sondeo lineal), sin boxing.
+ *
+ * Pensado para agregaciones por ordinal de empleado: claves y valores viven
+ * en arreglos primitivos paralelos y un incremento no crea objetos.
+ * La tabla se duplica al superar la mitad de ocupación. No admite borrado.
+ */
+public final class MapaIntLong {
+
+    /** Visitante sin asignaciones para recorrer las entradas. */
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(int clave, long valor);
+    }
+
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    private int[] claves;
+    private long[] valores;
+    private boolean[] ocupadas;
+    private int tamanio;
+    private int mascara;
+
+    public MapaIntLong() {
+        this(CAPACIDAD_MINIMA);
+    }
+
+    /**
+     * @param entradasEsperadas cantidad de claves prevista (evita redimensionar)
+     */
+    public MapaIntLong(int entradasEsperadas) {
+        int capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_MINIMA, entradasEsperadas * 2 - 1)) << 1;
+        asignar(capacidad);
+    }
+
+    /**
+     * Suma {@code delta} al valor de la clave (partiendo de 0) y retorna el nuevo valor.
+     */
+    public long sumar(int clave, long delta) {
+        int i = buscar(clave);
+        if (!ocupadas[i]) {
+            ocupadas[i] = true;
+            claves[i] = clave;
+            valores[i] = delta;
+            if (++tamanio * 2 > claves.length) {
+                redimensionar();
+            }
+            return delta;
+        }
+        return valores[i] += delta;
+    }
+
+    public void poner(int clave, long valor) {
+        int i = buscar(clave);
+        valores[i] = valor;
+        if (!ocupadas[i]) {
+            ocupadas[i] = true;
+            claves[i] = clave;
+            if (++tamanio * 2 > claves.length) {
+                redimensionar();
+            }
+        }
+    }
+
+    public long obtener(int clave, long porDefecto) {
+        int i = buscar(clave);
+        return ocupadas[i] ? valores[i] : porDefecto;
+    }
+
+    public boolean contiene(int clave) {
+        return ocupadas[buscar(clave)];
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    public boolean estaVacio() {
+        return tamanio == 0;
+    }
+
+    public void recorrer(Visitante visitante) {
+        for (int i = 0; i < claves.length; i++) {
+            if (ocupadas[i]) {
+                visitante.visitar(claves[i], valores[i]);
+            }
+        }
+    }
+
+    /** Claves presentes, en orden ascendente. */
+    public int[] claves() {
+        int[] resultado = new int[tamanio];
+        int n = 0;
+        for (int i = 0; i < claves.length; i++) {
+            if (ocupadas[i]) {
+                resultado[n++] = claves[i];
+            }
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    public void limpiar() {
+        Arrays.fill(ocupadas, false);
+        tamanio = 0;
+    }
+
+    /* --- Helpers --- */
+
+    /** Casilla de la clave o la primera casilla libre de su secuencia de sondeo. */
+    private int buscar(int clave) {
+        int i = mezclar(clave) & mascara;
+        while (ocupadas[i] && claves[i] != clave) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void redimensionar() {
+        int[] clavesAnteriores = claves;
+        long[] valoresAnteriores = valores;
+        boolean[] ocupadasAnteriores = ocupadas;
+
+        asignar(clavesAnteriores.length << 1);
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (ocupadasAnteriores[i]) {
+                int j = buscar(clavesAnteriores[i]);
+                ocupadas[j] = true;
+                claves[j] = clavesAnteriores[i];
+                valores[j] = valoresAnteriores[i];
+            }
+        }
+    }
+
+    private void asignar(int capacidad) {
+        claves = new int[capacidad];
+        valores = new long[capacidad];
+        ocupadas = new boolean[capacidad];
+        mascara = capacidad - 1;
+    }
+
+    /** Dispersión de Fibonacci: los ordinales consecutivos no se agrupan en la tabla. */
+    private static int mezclar(int clave) {
+        int h = clave * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
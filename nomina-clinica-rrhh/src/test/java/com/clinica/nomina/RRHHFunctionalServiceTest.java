@@ -1,17 +1,45 @@
 package com.clinica.nomina;
 
+import com.clinica.nomina.batch.CierreMesJob;
+import com.clinica.nomina.batch.FuenteTurnos;
+import com.clinica.nomina.model.Area;
 import com.clinica.nomina.model.Empleado;
 import com.clinica.nomina.model.RegistroTurno;
 import com.clinica.nomina.model.TipoTurno;
+import com.clinica.nomina.service.EstadisticasTurnos;
+import com.clinica.nomina.service.ExportadorICalendar;
+import com.clinica.nomina.service.FiltroTurnos;
+import com.clinica.nomina.service.IngestaConcurrenteTurnos;
 import com.clinica.nomina.service.RRHHFunctionalService;
+import com.clinica.nomina.service.SalariosMensuales;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
+import com.clinica.nomina.util.MapaIntInt;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -45,6 +73,119 @@ class RRHHFunctionalServiceTest {
 		assertEquals(72, horas.get("E02")); // Luis Vera
 	}
 
+	@Test
+	@DisplayName("🧩 [Ejercicio 1] - Debe agregar por ordinal en mapas primitivos y decodificar los ids solo en el reporte")
+	void testAgregacionesPrimitivasPorOrdinal() {
+		// 5.000 empleados fuera del personal fuerzan varias redimensiones del mapa primitivo
+		List<RegistroTurno> registros = new ArrayList<>(service.getRegistros());
+		IntStream.range(0, 5_000).forEach(i -> {
+			registros.add(new RegistroTurno("X" + i, LocalDate.of(2024, 10, 1), TipoTurno.DIA, i % 12));
+			registros.add(new RegistroTurno("X" + i, LocalDate.of(2024, 10, 2), TipoTurno.AUSENCIA, 0));
+		});
+		RRHHFunctionalService ampliado = new RRHHFunctionalService(service.getPersonal(), registros);
+
+		MapaIntInt horas = ampliado.horasTrabajadasPorOrdinal();
+		assertEquals(5_000 + 3, horas.tamanio(), "E01, E02, E04 y los 5.000 ids externos");
+		assertEquals(7 % 12, horas.obtener(service.getPersonal().size() + 7, -1));
+
+		Map<String, Integer> reporte = ampliado.reporteHorasTrabajadas();
+		assertEquals(service.reporteHorasTrabajadas().get("E01"), reporte.get("E01"));
+		assertEquals(4_999 % 12, reporte.get("X4999"));
+
+		Map<String, Long> ausencias = ampliado.consolidadoAusencias();
+		assertEquals(1L, ausencias.get("X123"));
+		assertEquals(service.consolidadoAusencias().get("E04"), ausencias.get("E04"));
+
+		// Los ids externos comparten el codificador: índice por empleado y reportes sin HashMap por id
+		assertEquals(2, ampliado.convertirRegistrosAEventos("X42").size());
+		assertEquals(2, ampliado.filtrarTurnos(FiltroTurnos.porEmpleado("X42")).size());
+		assertEquals(service.convertirRegistrosAEventos("E02"), ampliado.convertirRegistrosAEventos("E02"));
+		assertEquals(service.empleadosConGuardia(), ampliado.empleadosConGuardia());
+		assertEquals(0.0, ampliado.calcularSalariosMensuales(t -> 1.0).salario("X42"));
+	}
+
+	@Test
+	@DisplayName("🧩 [Ingesta] - Debe ingerir turnos desde varios hilos y entregar instantáneas consistentes")
+	void testIngestaConcurrente() throws Exception {
+		IngestaConcurrenteTurnos ingesta = new IngestaConcurrenteTurnos(service.getPersonal(), 4);
+		int hilos = 8;
+		int repeticiones = 2_000;
+
+		int bloque = service.getRegistros().size() + 1;
+
+		ExecutorService pisos = Executors.newFixedThreadPool(hilos);
+		try {
+			// Cada piso cierra cada copia de los registros con una marca propia numerada (horas = i)
+			List<Future<?>> tareas = IntStream.range(0, hilos)
+					.mapToObj(h -> pisos.submit(() -> IntStream.range(0, repeticiones).forEach(i -> {
+						ingesta.registrarTodos(service.getRegistros());
+						ingesta.registrar(new RegistroTurno("P" + h, LocalDate.of(2024, 10, 1), TipoTurno.DIA, i));
+					})))
+					.collect(Collectors.toList());
+
+			// Instantáneas tomadas durante la ingesta: de cada piso, un prefijo completo de lo registrado
+			for (int corte = 0; corte < 3; corte++) {
+				List<RegistroTurno> parcial = ingesta.instantanea().getRegistros();
+				long bloquesCompletos = 0;
+				for (int h = 0; h < hilos; h++) {
+					String piso = "P" + h;
+					int[] marcas = parcial.stream().filter(r -> piso.equals(r.idEmpleado()))
+							.mapToInt(RegistroTurno::horas).toArray();
+					assertArrayEquals(IntStream.range(0, marcas.length).toArray(), marcas,
+							"Las marcas de " + piso + " forman un prefijo sin huecos");
+					bloquesCompletos += marcas.length;
+				}
+				// Además de sus bloques cerrados, cada piso puede tener a lo sumo un bloque a medias
+				assertTrue(parcial.size() >= bloquesCompletos * bloque);
+				assertTrue(parcial.size() <= bloquesCompletos * bloque + (long) hilos * (bloque - 1));
+			}
+
+			for (Future<?> tarea : tareas) {
+				tarea.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pisos.shutdown();
+		}
+
+		long copias = (long) hilos * repeticiones;
+		assertEquals(copias * bloque, ingesta.totalRegistros());
+		assertEquals(copias * service.reporteHorasTrabajadas().get("E01"), ingesta.horasTrabajadas("E01"));
+		assertEquals(copias * service.consolidadoAusencias().get("E04"), ingesta.ausencias("E04"));
+
+		RRHHFunctionalService instantanea = ingesta.instantanea();
+		assertEquals(copias * bloque, instantanea.getRegistros().size());
+		assertEquals(copias * service.reporteHorasTrabajadas().get("E02"),
+				instantanea.reporteHorasTrabajadas().get("E02").longValue());
+
+		// Sin registros nuevos se reutiliza la instantánea; un registro nuevo la invalida
+		assertSame(instantanea, ingesta.instantanea(), "Sin cambios no se vuelve a copiar");
+		ingesta.registrar(new RegistroTurno("E01", LocalDate.of(2024, 10, 31), TipoTurno.DIA, 8));
+		RRHHFunctionalService nueva = ingesta.instantanea();
+		assertNotSame(instantanea, nueva);
+		assertEquals(copias * bloque + 1, nueva.getRegistros().size());
+		assertEquals(copias * bloque, instantanea.getRegistros().size(), "La instantánea anterior no cambia");
+	}
+
+	@Test
+	@DisplayName("🧩 [Codificador] - Debe mapear ids a ordinales densos por camino rápido y por hash perfecto")
+	void testCodificadorIdsEmpleado() {
+		List<String> ids = new ArrayList<>(service.getPersonal().stream().map(Empleado::id).toList());
+		IntStream.range(0, 500).forEach(i -> ids.add("MED-" + i));   // sin patrón E + dígitos
+		ids.add("E1");                                                // mismo número que E01
+		ids.add("E01");                                               // repetido: conserva la primera posición
+
+		CodificadorIdsEmpleado codificador = CodificadorIdsEmpleado.de(ids);
+
+		IntStream.range(0, ids.size() - 1).forEach(i -> assertEquals(i, codificador.ordinal(ids.get(i)), ids.get(i)));
+		assertEquals(0, codificador.ordinal("E01"));
+		assertEquals(ids.indexOf("E1"), codificador.ordinal("E1"));
+		assertEquals(CodificadorIdsEmpleado.DESCONOCIDO, codificador.ordinal("E001"));
+		assertEquals(CodificadorIdsEmpleado.DESCONOCIDO, codificador.ordinal("E99"));
+		assertEquals(CodificadorIdsEmpleado.DESCONOCIDO, codificador.ordinal("MED-500"));
+		assertEquals(CodificadorIdsEmpleado.DESCONOCIDO, codificador.ordinal(null));
+		assertEquals("MED-7", codificador.id(codificador.ordinal("MED-7")));
+	}
+
 	// -------------------------------------------------------------------------
 	// 🔹 Test #2 – Empleados con guardias
 	// -------------------------------------------------------------------------
@@ -84,6 +225,36 @@ class RRHHFunctionalServiceTest {
 		assertEquals(3672.0, total, 0.01, "El total calculado debe coincidir con el esperado");
 	}
 
+	@Test
+	@DisplayName("🧩 [Ejercicio 3] - Debe calcular el salario de todo el personal en una pasada, igual que el cálculo individual")
+	void testCalcularSalariosMensuales() {
+		int[] invocaciones = {0};
+		Function<TipoTurno, Double> factor = tipo -> {
+			invocaciones[0]++;
+			return tipo == TipoTurno.NOCHE ? 1.5 : tipo == TipoTurno.GUARDIA ? 1.2 : 1.0;
+		};
+
+		SalariosMensuales salarios = service.calcularSalariosMensuales(factor);
+
+		assertTrue(invocaciones[0] <= TipoTurno.values().length, "La función de factores se resuelve una vez por tipo");
+		assertEquals(service.getPersonal().size(), salarios.tamanio());
+		assertEquals(3672.0, salarios.salario("E02"), 0.01, "Luis Vera coincide con el cálculo individual");
+		service.getPersonal().forEach(e ->
+				assertEquals(service.calcularSalarioMensual(e, factor), salarios.salario(e.id()), 0.01, e.nombre()));
+		assertEquals(0.0, salarios.salario("E99"), "Un id ajeno al personal no tiene salario");
+
+		// Igual que el cálculo individual: el factor solo se consulta para tipos con registros pagados
+		Empleado ana = service.getMapaPorId().get("E01");
+		RRHHFunctionalService soloDia = new RRHHFunctionalService(service.getPersonal(), List.of(
+				new RegistroTurno("E01", LocalDate.of(2024, 10, 1), TipoTurno.DIA, 8),
+				new RegistroTurno("E01", LocalDate.of(2024, 10, 2), TipoTurno.AUSENCIA, 0)));
+		Function<TipoTurno, Double> soloFactorDia = tipo -> tipo == TipoTurno.DIA ? 1.0 : null;
+		SalariosMensuales salariosDia = assertDoesNotThrow(() -> soloDia.calcularSalariosMensuales(soloFactorDia),
+				"Un factor null para tipos sin registros no falla");
+		assertEquals(soloDia.calcularSalarioMensual(ana, soloFactorDia), salariosDia.salario("E01"), 0.01);
+		assertEquals(8 * ana.salarioBaseHora(), salariosDia.salario("E01"), 0.01);
+	}
+
 	// -------------------------------------------------------------------------
 	// 🔹 Test #4 – Generador de predicado de validación de horas
 	// -------------------------------------------------------------------------
@@ -145,6 +316,58 @@ class RRHHFunctionalServiceTest {
 				"Todos los eventos deben tener título y fecha válidos");
 	}
 
+	@Test
+	@DisplayName("🧩 [Ejercicio 7] - Debe exportar el calendario iCalendar de todo el personal usando el índice por empleado")
+	void testExportarCalendariosPersonal(@TempDir Path directorio) throws IOException {
+		Clock reloj = Clock.fixed(Instant.parse("2024-11-01T08:00:00Z"), ZoneOffset.UTC);
+		List<Path> archivos = new ExportadorICalendar(directorio, reloj).exportarPersonal(service);
+
+		assertEquals(service.getPersonal().size(), archivos.size(), "Un archivo por empleado");
+
+		String calendarioLuis = Files.readString(directorio.resolve("E02.ics"));
+		assertTrue(calendarioLuis.startsWith("BEGIN:VCALENDAR\r\n"));
+		assertTrue(calendarioLuis.endsWith("END:VCALENDAR\r\n"));
+		assertEquals(service.convertirRegistrosAEventos("E02").size(), calendarioLuis.split("BEGIN:VEVENT").length - 1);
+		assertTrue(calendarioLuis.contains("DTSTART;VALUE=DATE:20241003\r\nDTEND;VALUE=DATE:20241004\r\nSUMMARY:GUARDIA"));
+		assertTrue(calendarioLuis.contains("DTSTAMP:20241101T080000Z"));
+
+		assertFalse(Files.readString(directorio.resolve("E15.ics")).contains("BEGIN:VEVENT"),
+				"Un empleado sin turnos recibe un calendario vacío");
+	}
+
+	@Test
+	@DisplayName("🧩 [Ejercicio 7] - Debe plegar las líneas iCalendar a 75 octetos y sanear el nombre del archivo")
+	void testExportarCalendarioPlegadoYNombreSeguro(@TempDir Path directorio) throws IOException {
+		String nombre = "María José Núñez de la Peña Echeverría y Sáenz de Santamaría " + "ñ".repeat(60);
+		Empleado empleado = new Empleado("../E99/x", nombre, Area.URGENCIAS, 10.0);
+		Clock reloj = Clock.fixed(Instant.parse("2024-11-01T08:00:00Z"), ZoneOffset.UTC);
+
+		Path archivo = new ExportadorICalendar(directorio, reloj).exportar(empleado, List.of());
+
+		assertEquals(directorio.resolve(".._2FE99_2Fx.ics"), archivo, "El id no puede salir del directorio");
+		String calendario = Files.readString(archivo);
+		for (String linea : calendario.split("\r\n")) {
+			assertTrue(linea.getBytes(StandardCharsets.UTF_8).length <= 75, linea);
+		}
+		String desplegado = calendario.replace("\r\n ", "");
+		assertTrue(desplegado.contains("X-WR-CALNAME:Turnos " + nombre + "\r\n"),
+				"Al desplegar se recupera el valor sin partir caracteres");
+	}
+
+	@Test
+	@DisplayName("🧩 [Ejercicio 7] - Ids distintos deben exportarse a archivos distintos aunque se parezcan")
+	void testExportarCalendarioIdsParecidosNoChocan(@TempDir Path directorio) {
+		ExportadorICalendar exportador = new ExportadorICalendar(directorio);
+		Path barra = exportador.exportar(new Empleado("E/01", "Ana", Area.URGENCIAS, 10.0), List.of());
+		Path guion = exportador.exportar(new Empleado("E_01", "Luis", Area.URGENCIAS, 10.0), List.of());
+
+		assertNotEquals(barra, guion, "\"E/01\" y \"E_01\" no deben compartir archivo");
+		assertEquals("E_2F01.ics", barra.getFileName().toString());
+		assertEquals("E_5F01.ics", guion.getFileName().toString());
+		assertEquals("E01.ics", ExportadorICalendar.nombreArchivo("E01"), "Los ids habituales no cambian");
+		assertEquals("_.ics", ExportadorICalendar.nombreArchivo(""));
+	}
+
 	// -------------------------------------------------------------------------
 	// 🔹 Test #8 – Verificación de cobertura mínima
 	// -------------------------------------------------------------------------
@@ -164,6 +387,29 @@ class RRHHFunctionalServiceTest {
 		assertFalse(sinCobertura, "Debe retornar FALSE cuando no se cumple el mínimo requerido");
 	}
 
+	@Test
+	@DisplayName("🧩 [Ejercicio 8] - Debe auditar la cobertura de un rango de fechas en una sola consulta al índice")
+	void testVerificarCoberturaEntre() {
+		List<RRHHFunctionalService.CoberturaDia> cobertura =
+				service.verificarCoberturaEntre(LocalDate.of(2024, 9, 30), LocalDate.of(2024, 10, 11), 2);
+
+		assertEquals(12, cobertura.size(), "Debe haber un resultado por día del rango");
+		assertEquals(0, cobertura.get(0).empleados(), "Fuera de los datos no hay empleados");
+		assertEquals(List.of(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 3),
+						LocalDate.of(2024, 10, 5), LocalDate.of(2024, 10, 8)),
+				cobertura.stream().filter(RRHHFunctionalService.CoberturaDia::cumpleMinimo)
+						.map(RRHHFunctionalService.CoberturaDia::fecha).toList(),
+				"Solo los días con dos empleados en turno efectivo cumplen");
+
+		// El resultado por lote coincide con la consulta día a día
+		assertTrue(cobertura.stream().allMatch(c ->
+				c.cumpleMinimo() == service.verificarCobertura(c.fecha(), 2)));
+
+		// Las ausencias no cuentan como cobertura
+		assertEquals(List.of("E04"), service.empleadosEnTurno(LocalDate.of(2024, 10, 2)).stream()
+				.map(RegistroTurno::idEmpleado).toList());
+	}
+
 	// -------------------------------------------------------------------------
 	// 🔹 Test #9 – Turno más largo
 	// -------------------------------------------------------------------------
@@ -175,6 +421,44 @@ class RRHHFunctionalServiceTest {
 		assertNotNull(resultado, "El resultado no debe ser nulo");
 		assertTrue(resultado.contains("24") || resultado.contains("GUARDIA") || resultado.contains("Luis"),
 				"El texto debe reflejar que el turno más largo pertenece a Luis Vera con 24h");
+		assertTrue(resultado.contains(service.estadisticasTurnos(1).topN().get(0).fecha().toString()),
+				"Mismo desempate que las estadísticas: fecha más antigua");
+	}
+
+	@Test
+	@DisplayName("🧩 [Ejercicio 9] - Debe calcular top N, mediana y percentiles de duración, igual en paralelo")
+	void testEstadisticasTurnos() {
+		EstadisticasTurnos estadisticas = service.estadisticasTurnos(3);
+
+		assertEquals(List.of(24, 24, 12), estadisticas.topN().stream().map(RegistroTurno::horas).toList());
+		assertEquals(LocalDate.of(2024, 10, 3), estadisticas.topN().get(0).fecha(), "En empate gana la fecha más antigua");
+		assertEquals(List.of("E01", "E04"), estadisticas.topNPorArea().get(Area.CARDIOLOGIA).stream()
+				.map(RegistroTurno::idEmpleado).distinct().toList());
+		assertEquals(3, estadisticas.topNPorTipo().get(TipoTurno.NOCHE).size());
+		assertFalse(estadisticas.topNPorTipo().containsKey(TipoTurno.AUSENCIA), "Las ausencias no son turnos trabajados");
+
+		assertEquals(13, estadisticas.cantidad());
+		assertEquals(8, estadisticas.mediana().getAsInt());
+		assertEquals(24, estadisticas.percentil(100).getAsInt());
+		assertEquals(8, estadisticas.percentil(10).getAsInt());
+
+		// El histograma de horas se amplía para valores fuera de 0..24
+		EstadisticasTurnos fueraDeRango = new EstadisticasTurnos(1, id -> null);
+		IntStream.of(36, -2, 8, 8).forEach(h ->
+				fueraDeRango.agregar(new RegistroTurno("E01", LocalDate.of(2024, 10, 1), TipoTurno.DIA, h)));
+		assertEquals(-2, fueraDeRango.percentil(25).getAsInt());
+		assertEquals(8, fueraDeRango.mediana().getAsInt());
+		assertEquals(36, fueraDeRango.percentil(100).getAsInt());
+
+		// Muchos registros en paralelo: el resultado no depende del reparto entre hilos
+		List<RegistroTurno> muchos = Collections.nCopies(2_000, service.getRegistros()).stream()
+				.flatMap(List::stream).toList();
+		RRHHFunctionalService volumen = new RRHHFunctionalService(service.getPersonal(), muchos);
+		EstadisticasTurnos secuencial = volumen.estadisticasTurnos(5);
+		EstadisticasTurnos paralelo = volumen.estadisticasTurnos(5, true);
+		assertEquals(secuencial.topN(), paralelo.topN());
+		assertEquals(secuencial.topNPorArea(), paralelo.topNPorArea());
+		assertEquals(secuencial.percentil(90), paralelo.percentil(90));
 	}
 
 	// -------------------------------------------------------------------------
@@ -190,6 +474,21 @@ class RRHHFunctionalServiceTest {
 		assertEquals(396.0, nomina.get("Juan Mora"), 0.01, "El cálculo de Juan Mora debe coincidir");
 	}
 
+	@Test
+	@DisplayName("🧩 [Ejercicio 10] - Debe liquidar cualquier tipo de turno en una pasada, sin desbordar la pila con grandes volúmenes")
+	void testReporteNominaPorTipoTurnoGranVolumen() {
+		Map<String, Double> guardias = service.reporteNominaPorTipoTurno(TipoTurno.GUARDIA, 2.0);
+		assertEquals(Map.of("Luis Vera", 2 * 24 * 45.0 * 2.0), guardias, "Solo Luis Vera tiene guardias");
+
+		// 200.000 turnos nocturnos: la versión recursiva desbordaba la pila
+		Empleado ana = service.getMapaPorId().get("E01");
+		RegistroTurno noche = new RegistroTurno("E01", LocalDate.of(2024, 10, 1), TipoTurno.NOCHE, 10);
+		RRHHFunctionalService volumen = new RRHHFunctionalService(List.of(ana), Collections.nCopies(200_000, noche));
+
+		Map<String, Double> nomina = assertDoesNotThrow(() -> volumen.reporteNominaTurnosNoche(1.5));
+		assertEquals(200_000 * 10 * 25.0 * 1.5, nomina.get("Ana Gómez"), 0.01);
+	}
+
 	// -------------------------------------------------------------------------
 	// 🔹 Test #11 – Filtrado de turnos (genérico)
 	// -------------------------------------------------------------------------
@@ -207,6 +506,46 @@ class RRHHFunctionalServiceTest {
 		assertTrue(filtrados.stream().noneMatch(r -> r == null),
 				"No deben existir elementos nulos en la lista filtrada");
 	}
+
+	@Test
+	@DisplayName("🧩 [Ejercicio 11] - Debe resolver filtros estructurados con el índice más selectivo y el mismo resultado que un recorrido")
+	void testFiltrarTurnosEstructurados() {
+		FiltroTurnos nochesLargasDeAna = FiltroTurnos.porEmpleado("E01")
+				.y(FiltroTurnos.porTipo(TipoTurno.NOCHE))
+				.y(service.generarValidadorHoras(10));
+		FiltroTurnos inicioDeMesOGuardias = FiltroTurnos.entreFechas(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 2))
+				.o(FiltroTurnos.porTipo(TipoTurno.GUARDIA));
+
+		assertEquals("indice-tipo(NOCHE)", service.explicarFiltro(nochesLargasDeAna),
+				"Con 4 noches frente a 5 turnos de Ana, el tipo es el acceso más selectivo");
+		assertEquals("union(indice-fecha(2024-10-01..2024-10-01), indice-fecha(2024-10-02..2024-10-02))",
+				service.explicarFiltro(FiltroTurnos.enFecha(LocalDate.of(2024, 10, 1))
+						.o(FiltroTurnos.enFecha(LocalDate.of(2024, 10, 2)))
+						.y(FiltroTurnos.porEmpleado("E02"))),
+				"La unión de dos días (4 turnos) es más selectiva que los 6 turnos de Luis");
+		assertEquals("recorrido", service.explicarFiltro(FiltroTurnos.horasEntre(6, 8)));
+
+		// Mismo resultado (y mismo orden) que aplicar el predicado como filtro opaco
+		List.of(nochesLargasDeAna, inicioDeMesOGuardias, FiltroTurnos.horasEntre(6, 8)).forEach(filtro ->
+				assertEquals(service.filtrarTurnos(filtro::test), service.filtrarTurnos(filtro)));
+
+		assertEquals(3, service.filtrarTurnos(nochesLargasDeAna).size(), "Ana tiene tres noches de 12 horas");
+		assertEquals(6, service.filtrarTurnos(inicioDeMesOGuardias).size());
+
+		assertTrue(service.filtrarTurnos(FiltroTurnos.horasMayoresA(Integer.MAX_VALUE)).isEmpty(),
+				"El límite superior no desborda a Integer.MIN_VALUE");
+
+		// Un registro sin idEmpleado también entra al índice por fecha
+		List<RegistroTurno> registros = new ArrayList<>(service.getRegistros());
+		registros.add(new RegistroTurno(null, LocalDate.of(2024, 10, 1), TipoTurno.DIA, 8));
+		RRHHFunctionalService conHuerfano = new RRHHFunctionalService(service.getPersonal(), registros);
+		FiltroTurnos primerDia = FiltroTurnos.enFecha(LocalDate.of(2024, 10, 1));
+		assertEquals("indice-fecha(2024-10-01..2024-10-01)", conHuerfano.explicarFiltro(primerDia));
+		assertEquals(conHuerfano.filtrarTurnos(primerDia::test), conHuerfano.filtrarTurnos(primerDia));
+		assertEquals(service.empleadosEnTurno(LocalDate.of(2024, 10, 1)),
+				conHuerfano.empleadosEnTurno(LocalDate.of(2024, 10, 1)), "La cobertura solo cuenta empleados");
+	}
+
 	// -------------------------------------------------------------------------
 // 🧩 Ejercicio 11 – Filtrado de turnos diurnos largos (>6 hrs)
 // -------------------------------------------------------------------------
@@ -234,4 +573,133 @@ class RRHHFunctionalServiceTest {
 				"Debe haber 2 turnos diurnos con más de 6 horas en los datos base");
 	}
 
+	@Test
+	@DisplayName("Cierre de mes: tras una caída reanuda desde el último chunk confirmado")
+	void testCierreMesReanudaDesdeElPuntoDeControl(@TempDir Path directorio) {
+		List<RegistroTurno> registros = service.getRegistros();
+		Function<TipoTurno, Double> factores = t -> t == TipoTurno.NOCHE ? 1.5 : 1.0;
+		CierreMesJob.Configuracion configuracion =
+				new CierreMesJob.Configuracion(4, 2, directorio.resolve("cierre.ckpt"), 1);
+
+		// Primera ejecución: la fuente falla al leer el tercer chunk (posición 8)
+		FuenteTurnos conCaida = new FuenteTurnos() {
+			@Override
+			public long tamanio() {
+				return registros.size();
+			}
+
+			@Override
+			public List<RegistroTurno> leer(long desde, int maximo) {
+				if (desde >= 8) {
+					throw new IllegalStateException("caída simulada");
+				}
+				return FuenteTurnos.de(registros).leer(desde, maximo);
+			}
+
+			@Override
+			public String huella() {
+				return FuenteTurnos.de(registros).huella();
+			}
+		};
+		CierreMesJob job = new CierreMesJob(configuracion);
+		assertThrows(IllegalStateException.class,
+				() -> job.ejecutar("cierre-2024-10", conCaida, service.getPersonal(), factores));
+
+		// Reinicio: solo se leen los registros pendientes
+		List<Long> posicionesLeidas = new ArrayList<>();
+		FuenteTurnos registrada = new FuenteTurnos() {
+			@Override
+			public long tamanio() {
+				return registros.size();
+			}
+
+			@Override
+			public List<RegistroTurno> leer(long desde, int maximo) {
+				posicionesLeidas.add(desde);
+				return FuenteTurnos.de(registros).leer(desde, maximo);
+			}
+
+			@Override
+			public String huella() {
+				return FuenteTurnos.de(registros).huella();
+			}
+		};
+		CierreMesJob.ResultadoCierre reanudado =
+				new CierreMesJob(configuracion).ejecutar("cierre-2024-10", registrada, service.getPersonal(), factores);
+
+		assertTrue(reanudado.reanudado());
+		assertEquals(8, reanudado.posicionInicial());
+		assertEquals(List.of(8L, 12L), posicionesLeidas);
+		assertEquals(2, reanudado.chunksProcesados());
+
+		// Mismo resultado que el servicio y que una ejecución sin caídas con otra configuración
+		CierreMesJob.ResultadoCierre completo = new CierreMesJob(
+				new CierreMesJob.Configuracion(100, 1, directorio.resolve("otro.ckpt")))
+				.ejecutar("cierre-2024-10", FuenteTurnos.de(registros), service.getPersonal(), factores);
+		assertEquals(completo.salarios(), reanudado.salarios());
+		assertEquals(completo.horasTrabajadas(), reanudado.horasTrabajadas());
+		service.reporteHorasTrabajadas().forEach((id, horas) ->
+				assertEquals(horas.longValue(), reanudado.horasTrabajadas().get(id)));
+		service.consolidadoAusencias().forEach((id, cantidad) ->
+				assertEquals(cantidad, reanudado.ausencias().get(id)));
+		assertEquals(service.calcularSalarioMensual(service.getMapaPorId().get("E01"), factores),
+				reanudado.salarios().get("E01"), 1e-9);
+
+		// Cierre ya completado: no se vuelve a leer la fuente
+		posicionesLeidas.clear();
+		CierreMesJob.ResultadoCierre repetido =
+				new CierreMesJob(configuracion).ejecutar("cierre-2024-10", registrada, service.getPersonal(), factores);
+		assertTrue(posicionesLeidas.isEmpty());
+		assertEquals(reanudado.salarios(), repetido.salarios());
+
+		// Otro mes con la misma cantidad de registros: la huella no coincide y se procesa desde cero
+		List<RegistroTurno> noviembre = registros.stream()
+				.map(r -> new RegistroTurno(r.idEmpleado(), r.fecha().plusMonths(1), r.tipo(), r.horas() + 1))
+				.toList();
+		CierreMesJob.ResultadoCierre otroMes = new CierreMesJob(configuracion)
+				.ejecutar("cierre-2024-10", FuenteTurnos.de(noviembre), service.getPersonal(), factores);
+		assertFalse(otroMes.reanudado());
+		assertNotEquals(reanudado.horasTrabajadas(), otroMes.horasTrabajadas());
+
+		// Punto de control cada 2 chunks: la caída al leer el cuarto chunk reanuda desde el segundo
+		CierreMesJob.Configuracion cadaDos =
+				new CierreMesJob.Configuracion(4, 1, directorio.resolve("cada-dos.ckpt"), 2);
+		FuenteTurnos caidaTardia = new FuenteTurnos() {
+			@Override
+			public long tamanio() {
+				return registros.size();
+			}
+
+			@Override
+			public List<RegistroTurno> leer(long desde, int maximo) {
+				if (desde >= 12) {
+					throw new IllegalStateException("caída simulada");
+				}
+				return FuenteTurnos.de(registros).leer(desde, maximo);
+			}
+		};
+		assertThrows(IllegalStateException.class,
+				() -> new CierreMesJob(cadaDos).ejecutar("cierre-2024-10", caidaTardia, service.getPersonal(), factores));
+		CierreMesJob.ResultadoCierre trasCaidaTardia = new CierreMesJob(cadaDos)
+				.ejecutar("cierre-2024-10", FuenteTurnos.de(registros), service.getPersonal(), factores);
+		assertEquals(8, trasCaidaTardia.posicionInicial());
+		assertEquals(completo.salarios(), trasCaidaTardia.salarios());
+	}
+
+	@Test
+	@DisplayName("Cierre de mes: una confirmación fallida no deja archivos temporales")
+	void testCierreMesBorraTemporalAlFallar(@TempDir Path directorio) throws IOException {
+		// El destino es un directorio no vacío: el movimiento atómico falla
+		Path puntoControl = directorio.resolve("cierre.ckpt");
+		Files.createDirectories(puntoControl);
+		Files.writeString(puntoControl.resolve("ocupado"), "x");
+
+		CierreMesJob job = new CierreMesJob(new CierreMesJob.Configuracion(4, 1, puntoControl));
+		assertThrows(UncheckedIOException.class, () -> job.ejecutar("cierre-2024-10",
+				FuenteTurnos.de(service.getRegistros()), service.getPersonal(), t -> 1.0));
+
+		try (var archivos = Files.list(directorio)) {
+			assertEquals(List.of(puntoControl), archivos.toList());
+		}
+	}
 }
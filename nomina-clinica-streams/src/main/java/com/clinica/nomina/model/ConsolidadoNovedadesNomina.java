@@ -1,14 +1,74 @@
 package com.clinica.nomina.model;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 /**
  * Representa la liquidación de nómina individual por empleado.
+ *
+ * - area: null cuando el empleado no tiene área asignada
+ * - turnosPorTipo: cantidad de turnos del empleado indexada por TipoTurno.ordinal()
+ *   (insumo de las políticas de bonus por guardias y ausencias)
+ *
+ * ✅ El arreglo se copia al construir y al leerlo: el registro es inmutable y
+ *    equals/hashCode/toString comparan su contenido.
  */
 public record ConsolidadoNovedadesNomina(
         String idEmpleado,
         String nombreEmpleado,
-        String area,
+        Area area,
         double horasTrabajadas,
         double salarioBaseHora,
         double totalPagar,
-        boolean bonusDisponibilidad
-) {}
\ No newline at end of file
+        boolean bonusDisponibilidad,
+        int[] turnosPorTipo
+) {
+
+    public ConsolidadoNovedadesNomina {
+        turnosPorTipo = turnosPorTipo == null
+                ? new int[TipoTurno.values().length]
+                : Arrays.copyOf(turnosPorTipo, TipoTurno.values().length);
+    }
+
+    /** Copia de los turnos por tipo (indexada por TipoTurno.ordinal()). */
+    @Override
+    public int[] turnosPorTipo() {
+        return turnosPorTipo.clone();
+    }
+
+    /** Cantidad de turnos de un tipo, sin copiar el arreglo. */
+    public int turnos(TipoTurno tipo) {
+        return turnosPorTipo[tipo.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ConsolidadoNovedadesNomina c
+                && Objects.equals(idEmpleado, c.idEmpleado)
+                && Objects.equals(nombreEmpleado, c.nombreEmpleado)
+                && area == c.area
+                && Double.compare(horasTrabajadas, c.horasTrabajadas) == 0
+                && Double.compare(salarioBaseHora, c.salarioBaseHora) == 0
+                && Double.compare(totalPagar, c.totalPagar) == 0
+                && bonusDisponibilidad == c.bonusDisponibilidad
+                && Arrays.equals(turnosPorTipo, c.turnosPorTipo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idEmpleado, nombreEmpleado, area, horasTrabajadas, salarioBaseHora,
+                totalPagar, bonusDisponibilidad, Arrays.hashCode(turnosPorTipo));
+    }
+
+    @Override
+    public String toString() {
+        return "ConsolidadoNovedadesNomina[idEmpleado=" + idEmpleado
+                + ", nombreEmpleado=" + nombreEmpleado
+                + ", area=" + area
+                + ", horasTrabajadas=" + horasTrabajadas
+                + ", salarioBaseHora=" + salarioBaseHora
+                + ", totalPagar=" + totalPagar
+                + ", bonusDisponibilidad=" + bonusDisponibilidad
+                + ", turnosPorTipo=" + Arrays.toString(turnosPorTipo) + "]";
+    }
+}
@@ -0,0 +1,8 @@
+package com.clinica.nomina.model;
+
+/**
+ * Motivos por los que un registro de turno se envía a cuarentena durante la ingesta.
+ */
+public enum MotivoRechazo {
+    EMPLEADO_DESCONOCIDO, TURNO_DUPLICADO, HORAS_INVALIDAS, FECHA_FUERA_DE_PERIODO
+}
@@ -3,15 +3,24 @@ package com.clinica.nomina.model;
 import java.time.LocalDate;
 
 /**
- * Representa la liquidación de nómina individual por empleado.
+ * Representa una novedad de nómina (un turno liquidado) en forma codificada.
+ *
+ * - empleado: ordinal en el DiccionarioEmpleados (id, nombre y salario se resuelven allí)
+ * - area / tipoTurno: enums tipados; null cuando el dato es desconocido
+ * - epochDay: fecha del turno como LocalDate.toEpochDay()
+ *
+ * El texto (id, nombre, fecha) solo se genera al construir los reportes.
  */
 public record NovedadesNomina(
-        String idEmpleado,
-        String nombreEmpleado,
-        String area,
-        String tipoTurno,
-        LocalDate fecha,
-        double horasTrabajadas,
-        double salarioBaseHora,
+        int empleado,
+        Area area,
+        TipoTurno tipoTurno,
+        int epochDay,
+        int horasTrabajadas,
         double totalPagar
-) {}
+) {
+
+    public LocalDate fecha() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,20 @@
+package com.clinica.nomina.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultados calculados de un periodo de nómina, listos para los reportes.
+ *
+ * - consolidado: liquidación por empleado (orden de totalPagar descendente)
+ * - porArea: el mismo consolidado agrupado por nombre de área (orden alfabético)
+ * - bonus: empleados con bono según las políticas vigentes
+ * - fechasCoberturaInsuficiente: fechas con menos de 2 empleados en GUARDIA
+ */
+public record ResultadosPeriodo(
+        List<ConsolidadoNovedadesNomina> consolidado,
+        Map<String, List<ConsolidadoNovedadesNomina>> porArea,
+        List<EmpleadoConBonus> bonus,
+        List<LocalDate> fechasCoberturaInsuficiente
+) {}
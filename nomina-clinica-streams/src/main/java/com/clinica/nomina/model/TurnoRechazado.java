@@ -0,0 +1,6 @@
+package com.clinica.nomina.model;
+
+/**
+ * Registro de turno rechazado por la validación de ingesta, con su motivo.
+ */
+public record TurnoRechazado(RegistroTurno registro, MotivoRechazo motivo) {}
@@ -2,8 +2,10 @@ package com.clinica.nomina.reportes;
 
 import com.clinica.nomina.service.AuditoriaCoberturaService;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Reporte que imprime las fechas con cobertura mínima insuficiente
@@ -11,14 +13,21 @@ import java.util.List;
  */
 public class ReporteAuditoriaCobertura {
 
-    private final AuditoriaCoberturaService service;
+    private final Supplier<List<LocalDate>> fechasInsuficientes;
 
     public ReporteAuditoriaCobertura(AuditoriaCoberturaService service) {
-        this.service = service;
+        this.fechasInsuficientes = service::fechasConCoberturaInsuficiente;
+    }
+
+    /**
+     * Reporte sobre fechas ya calculadas (p. ej. cargadas de una instantánea).
+     */
+    public ReporteAuditoriaCobertura(List<LocalDate> fechasInsuficientes) {
+        this.fechasInsuficientes = () -> fechasInsuficientes;
     }
 
     public void imprimir() {
-        List<java.time.LocalDate> fechas = service.fechasConCoberturaInsuficiente();
+        List<LocalDate> fechas = fechasInsuficientes.get();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
         System.out.println("\n====================================================");
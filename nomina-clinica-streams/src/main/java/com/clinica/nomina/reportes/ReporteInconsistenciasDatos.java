@@ -1,11 +1,13 @@
 package com.clinica.nomina.reportes;
 
+import com.clinica.nomina.service.CuarentenaTurnos;
 import com.clinica.nomina.service.InconsistenciasDatosService;
 
 import java.util.List;
 
 /**
- * Reporte que imprime los IDs de empleados con inconsistencias en los registros de nómina.
+ * Reporte que imprime los IDs de empleados con inconsistencias en los registros de nómina
+ * y el resumen de la cuarentena de ingesta por motivo.
  */
 public class ReporteInconsistenciasDatos {
 
@@ -20,7 +22,8 @@ public class ReporteInconsistenciasDatos {
         System.out.println("⚠️  CHEQUEO DE INCONSISTENCIAS DE DATOS");
         System.out.println("====================================================\n");
 
-        List<String> idsInconsistentes = service.detectarInconsistencias();
+        CuarentenaTurnos cuarentena = service.validarIngesta();
+        List<String> idsInconsistentes = service.idsDesconocidos(cuarentena);
 
         if (idsInconsistentes.isEmpty()) {
             System.out.println("No se detectaron inconsistencias en los registros de empleados.");
@@ -29,6 +32,13 @@ public class ReporteInconsistenciasDatos {
             idsInconsistentes.forEach(id -> System.out.println(" - " + id));
         }
 
+        System.out.println("\nRegistros en cuarentena por motivo:");
+        cuarentena.conteos().forEach((motivo, cantidad) ->
+                System.out.printf(" - %-25s %5d%n", motivo, cantidad));
+
+        cuarentena.rechazados().forEach(t -> System.out.printf("   %s | %s | %s | %s | %d hrs%n",
+                t.motivo(), t.registro().idEmpleado(), t.registro().fecha(), t.registro().tipo(), t.registro().horas()));
+
         System.out.println("====================================================");
         System.out.println("✅ Fin del reporte\n");
     }
@@ -6,16 +6,32 @@ import com.clinica.nomina.service.LiquidacionService;
 import java.text.NumberFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Reporte visual de la liquidación general de nómina y por área.
  */
 public class ReporteLiquidacion {
 
-    private final LiquidacionService liquidacionService;
+    private final Supplier<List<ConsolidadoNovedadesNomina>> consolidado;
+    private final Supplier<Map<String, List<ConsolidadoNovedadesNomina>>> porArea;
+    private final NumberFormat formato;
 
     public ReporteLiquidacion(LiquidacionService liquidacionService) {
-        this.liquidacionService = liquidacionService;
+        this.consolidado = liquidacionService::calcularLiquidacionPorEmpleado;
+        this.porArea = liquidacionService::agruparPorArea;
+        this.formato = liquidacionService.getFormatoMoneda();
+    }
+
+    /**
+     * Reporte sobre resultados ya calculados (p. ej. cargados de una instantánea).
+     */
+    public ReporteLiquidacion(List<ConsolidadoNovedadesNomina> consolidado,
+                              Map<String, List<ConsolidadoNovedadesNomina>> porArea,
+                              NumberFormat formato) {
+        this.consolidado = () -> consolidado;
+        this.porArea = () -> porArea;
+        this.formato = formato;
     }
 
     /**
@@ -26,8 +42,7 @@ public class ReporteLiquidacion {
         System.out.println("🧾  REPORTE GENERAL DE LIQUIDACIÓN DE NÓMINA");
         System.out.println("======================================================\n");
 
-        List<ConsolidadoNovedadesNomina> lista = liquidacionService.calcularLiquidacionPorEmpleado();
-        NumberFormat formato = liquidacionService.getFormatoMoneda();
+        List<ConsolidadoNovedadesNomina> lista = consolidado.get();
 
         // --- Encabezado general ---
         System.out.printf("%-8s %-25s %-18s %20s %20s %20s %8s%n",
@@ -48,7 +63,7 @@ public class ReporteLiquidacion {
         System.out.println("----------------------------------------------------------------------------------------------------------------\n");
 
         // --- Agrupado por área ---
-        Map<String, List<ConsolidadoNovedadesNomina>> porArea = liquidacionService.agruparPorArea();
+        Map<String, List<ConsolidadoNovedadesNomina>> porArea = this.porArea.get();
 
         System.out.println("🏥  DETALLE POR ÁREA");
         System.out.println("======================================================");
@@ -0,0 +1,221 @@
+package com.clinica.nomina.repository;
+
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TipoTurno;
+import com.clinica.nomina.service.DiccionarioEmpleados;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Almacén de registros de turno fuera del heap de Java.
+ *
+ * Cada turno ocupa un registro de ancho fijo ({@value #ANCHO_REGISTRO} bytes)
+ * dentro de segmentos de ByteBuffer directos:
+ *
+ *   [0..3]  ordinal del empleado (DiccionarioEmpleados)
+ *   [4..7]  fecha como epochDay
+ *   [8]     ordinal del TipoTurno (-1 = desconocido)
+ *   [9]     reservado
+ *   [10..11] horas
+ *
+ * El heap solo conserva las referencias a los segmentos y el diccionario de ids,
+ * por lo que el historial de varios años no agrega trabajo al recolector.
+ * Los ids de los registros deben estar en el diccionario.
+ * La memoria directa disponible se controla con -XX:MaxDirectMemorySize.
+ *
+ * Ciclo de vida explícito: {@link #close()} suelta los segmentos y cualquier acceso
+ * posterior lanza IllegalStateException. El JDK libera la memoria nativa cuando recolecta
+ * los buffers; si la memoria directa se agota, la próxima reserva fuerza esa recolección.
+ * Las lecturas son absolutas (no mueven la posición del buffer), por lo que admiten
+ * varios hilos, p. ej. stream().parallel().
+ */
+public class AlmacenTurnosOffHeap implements AutoCloseable {
+
+    public static final int ANCHO_REGISTRO = 12;
+    public static final int REGISTROS_POR_SEGMENTO_DEFECTO = 1 << 20;
+
+    private static final TipoTurno[] TIPOS = TipoTurno.values();
+    private static final int SIN_TIPO = -1;
+
+    /**
+     * Visitante sin asignaciones: recibe los campos decodificados de cada registro.
+     */
+    @FunctionalInterface
+    public interface VisitanteTurno {
+        void visitar(int empleado, int epochDay, TipoTurno tipo, int horas);
+    }
+
+    private final DiccionarioEmpleados diccionario;
+    private final int registrosPorSegmento;
+    private final List<ByteBuffer> segmentos = new ArrayList<>();
+    private long tamanio;
+    private volatile boolean cerrado;
+
+    public AlmacenTurnosOffHeap(DiccionarioEmpleados diccionario) {
+        this(diccionario, REGISTROS_POR_SEGMENTO_DEFECTO);
+    }
+
+    public AlmacenTurnosOffHeap(DiccionarioEmpleados diccionario, int registrosPorSegmento) {
+        if (registrosPorSegmento <= 0 || (long) registrosPorSegmento * ANCHO_REGISTRO > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("registrosPorSegmento fuera de rango: " + registrosPorSegmento);
+        }
+        this.diccionario = Objects.requireNonNull(diccionario);
+        this.registrosPorSegmento = registrosPorSegmento;
+    }
+
+    /**
+     * Crea un almacén y copia en él la lista de registros.
+     */
+    public static AlmacenTurnosOffHeap desde(List<RegistroTurno> registros, DiccionarioEmpleados diccionario) {
+        AlmacenTurnosOffHeap almacen = new AlmacenTurnosOffHeap(diccionario);
+        registros.forEach(almacen::agregar);
+        return almacen;
+    }
+
+    /* --- Escritura --- */
+
+    public void agregar(RegistroTurno r) {
+        verificarAbierto();
+        Objects.requireNonNull(r.fecha(), "fecha");
+        if (r.horas() < Short.MIN_VALUE || r.horas() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("horas fuera de rango: " + r.horas());
+        }
+
+        if (tamanio == (long) segmentos.size() * registrosPorSegmento) {
+            segmentos.add(ByteBuffer.allocateDirect(registrosPorSegmento * ANCHO_REGISTRO)
+                    .order(ByteOrder.nativeOrder()));
+        }
+
+        ByteBuffer segmento = segmentos.get(segmento(tamanio));
+        int base = desplazamiento(tamanio);
+        segmento.putInt(base, diccionario.codificar(r.idEmpleado()));
+        segmento.putInt(base + 4, Math.toIntExact(r.fecha().toEpochDay()));
+        segmento.put(base + 8, (byte) (r.tipo() == null ? SIN_TIPO : r.tipo().ordinal()));
+        segmento.putShort(base + 10, (short) r.horas());
+        tamanio++;
+    }
+
+    /* --- Lectura --- */
+
+    public long tamanio() {
+        verificarAbierto();
+        return tamanio;
+    }
+
+    public RegistroTurno obtener(long indice) {
+        verificarAbierto();
+        Objects.checkIndex(indice, tamanio);
+
+        ByteBuffer segmento = segmentos.get(segmento(indice));
+        int base = desplazamiento(indice);
+        return new RegistroTurno(
+                diccionario.id(segmento.getInt(base)),
+                LocalDate.ofEpochDay(segmento.getInt(base + 4)),
+                tipo(segmento.get(base + 8)),
+                segmento.getShort(base + 10)
+        );
+    }
+
+    /**
+     * Recorre todos los registros sin crear objetos por fila.
+     */
+    public void recorrer(VisitanteTurno visitante) {
+        verificarAbierto();
+        long restantes = tamanio;
+        for (ByteBuffer segmento : segmentos) {
+            int enSegmento = (int) Math.min(restantes, registrosPorSegmento);
+            for (int i = 0; i < enSegmento; i++) {
+                int base = i * ANCHO_REGISTRO;
+                visitante.visitar(
+                        segmento.getInt(base),
+                        segmento.getInt(base + 4),
+                        tipo(segmento.get(base + 8)),
+                        segmento.getShort(base + 10));
+            }
+            restantes -= enSegmento;
+        }
+    }
+
+    /**
+     * Flujo de registros decodificados bajo demanda (admite parallel()).
+     */
+    public Stream<RegistroTurno> stream() {
+        verificarAbierto();
+        return LongStream.range(0, tamanio).mapToObj(this::obtener);
+    }
+
+    public List<RegistroTurno> filtrar(Predicate<RegistroTurno> filtro) {
+        return stream().filter(filtro).toList();
+    }
+
+    /**
+     * Vista de solo lectura con acceso aleatorio, para los servicios que reciben
+     * List&lt;RegistroTurno&gt;. Cada get() decodifica el registro en ese momento.
+     */
+    public List<RegistroTurno> comoLista() {
+        verificarAbierto();
+        return new VistaLista();
+    }
+
+    /* --- Ciclo de vida --- */
+
+    public boolean estaCerrado() {
+        return cerrado;
+    }
+
+    /** Diccionario con el que se codificaron los ordinales de empleado. */
+    public DiccionarioEmpleados diccionario() {
+        return diccionario;
+    }
+
+    /**
+     * Suelta los segmentos para que el JDK recupere la memoria nativa (idempotente).
+     */
+    @Override
+    public void close() {
+        if (!cerrado) {
+            cerrado = true;
+            segmentos.clear();
+            tamanio = 0;
+        }
+    }
+
+    /* --- Helpers --- */
+
+    private int segmento(long indice) {
+        return (int) (indice / registrosPorSegmento);
+    }
+
+    private int desplazamiento(long indice) {
+        return (int) (indice % registrosPorSegmento) * ANCHO_REGISTRO;
+    }
+
+    private static TipoTurno tipo(byte ordinal) {
+        return ordinal == SIN_TIPO ? null : TIPOS[ordinal];
+    }
+
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El almacén de turnos ya fue cerrado");
+        }
+    }
+
+    private final class VistaLista extends AbstractList<RegistroTurno> implements RandomAccess {
+
+        @Override
+        public RegistroTurno get(int indice) {
+            return obtener(indice);
+        }
+
+        @Override
+        public int size() {
+            return Math.toIntExact(tamanio());
+        }
+    }
+}
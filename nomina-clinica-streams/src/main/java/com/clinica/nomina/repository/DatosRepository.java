@@ -3,12 +3,15 @@ package com.clinica.nomina.repository;
 import com.clinica.nomina.model.*;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @Repository
 public class DatosRepository {
 
     // --- Datos de Prueba ---
+    private final YearMonth periodo = YearMonth.of(2025, 10);
+
     private final List<Empleado> empleados = List.of(
             new Empleado("E01", "Ana Gómez", Area.CARDIOLOGIA, 25.0),
             new Empleado("E02", "Luis Vera", Area.CIRUGIA, 45.0),
@@ -64,4 +67,8 @@ public class DatosRepository {
     public List<RegistroTurno> obtenerRegistrosMes() {
         return registrosMes;
     }
+
+    public YearMonth obtenerPeriodo() {
+        return periodo;
+    }
 }
@@ -0,0 +1,300 @@
+package com.clinica.nomina.repository;
+
+import com.clinica.nomina.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Instantáneas en disco de los resultados calculados de un periodo
+ * (consolidado, agrupación por área, bonus y cobertura).
+ *
+ * El archivo queda etiquetado con la huella SHA-256 de los datos de entrada
+ * (personal, registros y periodo). Al reiniciar, el archivo se mapea en memoria
+ * y se decodifica directamente; solo se recalcula si la huella cambió,
+ * si el archivo no existe o si su formato no es válido.
+ *
+ * Formato (big-endian):
+ *   magic, versión, huella[32],
+ *   consolidado:  n, filas
+ *   porArea:      n, (nombre, k, índices al consolidado)
+ *   bonus:        n, filas
+ *   cobertura:    n, epochDay
+ */
+public class SnapshotResultadosRepository {
+
+    private static final int MAGIC = 0x4E534E50; // "NSNP"
+    private static final int VERSION = 1;
+    private static final int LONGITUD_HUELLA = 32;
+    private static final byte SIN_AREA = -1;
+
+    /** Cambia cuando cambian las reglas de cálculo, para invalidar instantáneas viejas. */
+    private static final String VERSION_REGLAS = "liquidacion-v1;bonus-defecto;cobertura-guardia-2";
+
+    private static final Area[] AREAS = Area.values();
+
+    private final Path directorio;
+
+    public SnapshotResultadosRepository(Path directorio) {
+        this.directorio = Objects.requireNonNull(directorio);
+    }
+
+    /**
+     * Huella SHA-256 de los datos de entrada del periodo.
+     */
+    public static byte[] huellaEntrada(List<Empleado> empleados, List<RegistroTurno> registros, YearMonth periodo) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+
+        actualizar(digest, VERSION_REGLAS);
+        actualizar(digest, periodo.toString());
+        empleados.stream().filter(Objects::nonNull).forEach(e -> {
+            actualizar(digest, e.id());
+            actualizar(digest, e.nombre());
+            actualizar(digest, e.area() == null ? "" : e.area().name());
+            digest.update(buffer.clear().putDouble(e.salarioBaseHora()).flip());
+        });
+        registros.stream().filter(Objects::nonNull).forEach(r -> {
+            actualizar(digest, r.idEmpleado());
+            digest.update(buffer.clear()
+                    .putLong(r.fecha() == null ? Long.MIN_VALUE : r.fecha().toEpochDay())
+                    .putInt(r.tipo() == null ? -1 : r.tipo().ordinal())
+                    .putInt(r.horas())
+                    .flip());
+        });
+        return digest.digest();
+    }
+
+    /**
+     * Retorna los resultados de la instantánea si coincide la huella; en caso
+     * contrario los calcula con el proveedor y los guarda para el próximo inicio.
+     */
+    public ResultadosPeriodo cargarOCalcular(YearMonth periodo, byte[] huella, Supplier<ResultadosPeriodo> calcular) {
+        return cargar(periodo, huella).orElseGet(() -> {
+            ResultadosPeriodo resultados = calcular.get();
+            try {
+                guardar(periodo, huella, resultados);
+            } catch (UncheckedIOException e) {
+                // Sin instantánea el sistema sigue funcionando; solo se pierde el arranque rápido
+                System.err.println("⚠️ No se pudo guardar la instantánea de resultados: " + e.getCause().getMessage());
+            }
+            return resultados;
+        });
+    }
+
+    /**
+     * Mapea la instantánea del periodo y la decodifica si la huella coincide.
+     */
+    public Optional<ResultadosPeriodo> cargar(YearMonth periodo, byte[] huella) {
+        Path archivo = archivo(periodo);
+        if (!Files.isRegularFile(archivo)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            byte[] huellaArchivo = new byte[LONGITUD_HUELLA];
+            buffer.get(huellaArchivo);
+            if (!MessageDigest.isEqual(huellaArchivo, huella)) {
+                return Optional.empty();
+            }
+            return Optional.of(leerResultados(buffer));
+        } catch (IOException | RuntimeException e) {
+            // Archivo truncado o corrupto: se recalcula
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Escribe la instantánea en un archivo temporal y lo mueve atómicamente.
+     * Si la escritura falla, el temporal se borra (no quedan restos en el directorio).
+     */
+    public void guardar(YearMonth periodo, byte[] huella, ResultadosPeriodo resultados) {
+        Path archivo = archivo(periodo);
+        Path temporal = null;
+        try {
+            Files.createDirectories(directorio);
+            temporal = Files.createTempFile(directorio, archivo.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.write(huella, 0, LONGITUD_HUELLA);
+                escribirResultados(out, resultados);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            borrarTemporal(temporal);
+        }
+    }
+
+    public Path archivo(YearMonth periodo) {
+        return directorio.resolve("resultados-" + periodo + ".snap");
+    }
+
+    /* --- Escritura --- */
+
+    /**
+     * Tras un movimiento exitoso el temporal ya no existe y no se hace nada.
+     */
+    private static void borrarTemporal(Path temporal) {
+        if (temporal == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            System.err.println("⚠️ No se pudo borrar el temporal " + temporal + ": " + e.getMessage());
+        }
+    }
+
+    private static void escribirResultados(DataOutputStream out, ResultadosPeriodo r) throws IOException {
+        List<ConsolidadoNovedadesNomina> consolidado = r.consolidado();
+        out.writeInt(consolidado.size());
+        for (ConsolidadoNovedadesNomina c : consolidado) {
+            escribirTexto(out, c.idEmpleado());
+            escribirTexto(out, c.nombreEmpleado());
+            out.writeByte(c.area() == null ? SIN_AREA : c.area().ordinal());
+            out.writeDouble(c.horasTrabajadas());
+            out.writeDouble(c.salarioBaseHora());
+            out.writeDouble(c.totalPagar());
+            out.writeBoolean(c.bonusDisponibilidad());
+            int[] turnosPorTipo = c.turnosPorTipo();
+            out.writeByte(turnosPorTipo.length);
+            for (int turnos : turnosPorTipo) {
+                out.writeInt(turnos);
+            }
+        }
+
+        // La agrupación se guarda como índices al consolidado (sin duplicar filas)
+        Map<ConsolidadoNovedadesNomina, Integer> posicion = new IdentityHashMap<>();
+        for (int i = 0; i < consolidado.size(); i++) {
+            posicion.put(consolidado.get(i), i);
+        }
+        out.writeInt(r.porArea().size());
+        for (Map.Entry<String, List<ConsolidadoNovedadesNomina>> area : r.porArea().entrySet()) {
+            escribirTexto(out, area.getKey());
+            out.writeInt(area.getValue().size());
+            for (ConsolidadoNovedadesNomina c : area.getValue()) {
+                out.writeInt(Objects.requireNonNull(posicion.get(c), "porArea debe referenciar filas del consolidado"));
+            }
+        }
+
+        out.writeInt(r.bonus().size());
+        for (EmpleadoConBonus b : r.bonus()) {
+            escribirTexto(out, b.idEmpleado());
+            escribirTexto(out, b.nombre());
+            out.writeByte(b.area() == null ? SIN_AREA : b.area().ordinal());
+            out.writeDouble(b.horasTrabajadas());
+            out.writeDouble(b.valorHora());
+            out.writeDouble(b.totalDevengado());
+            out.writeDouble(b.bonus());
+            out.writeDouble(b.totalConBonus());
+        }
+
+        out.writeInt(r.fechasCoberturaInsuficiente().size());
+        for (LocalDate fecha : r.fechasCoberturaInsuficiente()) {
+            out.writeLong(fecha.toEpochDay());
+        }
+    }
+
+    private static void escribirTexto(DataOutputStream out, String texto) throws IOException {
+        byte[] bytes = texto == null ? new byte[0] : texto.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(texto == null ? -1 : bytes.length);
+        out.write(bytes);
+    }
+
+    /* --- Lectura --- */
+
+    private static ResultadosPeriodo leerResultados(ByteBuffer in) {
+        int filas = in.getInt();
+        List<ConsolidadoNovedadesNomina> consolidado = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            String id = leerTexto(in);
+            String nombre = leerTexto(in);
+            Area area = leerArea(in);
+            double horas = in.getDouble();
+            double salario = in.getDouble();
+            double total = in.getDouble();
+            boolean bonus = in.get() != 0;
+            int[] turnosPorTipo = new int[in.get()];
+            Arrays.setAll(turnosPorTipo, t -> in.getInt());
+            consolidado.add(new ConsolidadoNovedadesNomina(id, nombre, area, horas, salario, total, bonus, turnosPorTipo));
+        }
+
+        int areas = in.getInt();
+        Map<String, List<ConsolidadoNovedadesNomina>> porArea = new TreeMap<>();
+        for (int i = 0; i < areas; i++) {
+            String nombreArea = leerTexto(in);
+            int k = in.getInt();
+            List<ConsolidadoNovedadesNomina> empleados = new ArrayList<>(k);
+            for (int j = 0; j < k; j++) {
+                empleados.add(consolidado.get(in.getInt()));
+            }
+            porArea.put(nombreArea, empleados);
+        }
+
+        int conBonus = in.getInt();
+        List<EmpleadoConBonus> bonus = new ArrayList<>(conBonus);
+        for (int i = 0; i < conBonus; i++) {
+            bonus.add(new EmpleadoConBonus(leerTexto(in), leerTexto(in), leerArea(in),
+                    in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble()));
+        }
+
+        int fechas = in.getInt();
+        List<LocalDate> cobertura = new ArrayList<>(fechas);
+        for (int i = 0; i < fechas; i++) {
+            cobertura.add(LocalDate.ofEpochDay(in.getLong()));
+        }
+
+        return new ResultadosPeriodo(consolidado, porArea, bonus, cobertura);
+    }
+
+    private static String leerTexto(ByteBuffer in) {
+        int longitud = in.getInt();
+        if (longitud < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[longitud];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Area leerArea(ByteBuffer in) {
+        byte ordinal = in.get();
+        return ordinal == SIN_AREA ? null : AREAS[ordinal];
+    }
+
+    /* --- Huella --- */
+
+    private static void actualizar(MessageDigest digest, String texto) {
+        byte[] bytes = texto == null ? new byte[0] : texto.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(texto == null ? -1 : bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible en la JVM", e);
+        }
+    }
+}
@@ -26,17 +26,19 @@ public class AuditoriaCoberturaService {
     public List<LocalDate> fechasConCoberturaInsuficiente() {
         return novedadesNomina.stream()
                 // Filtrar solo turnos GUARDIA
-                .filter(n -> TipoTurno.GUARDIA.name().equals(n.tipoTurno()))
-                // Agrupar por fecha sumando empleados distintos (por idEmpleado)
+                .filter(n -> n.tipoTurno() == TipoTurno.GUARDIA)
+                // Agrupar por día sumando empleados distintos (por ordinal)
                 .collect(Collectors.groupingBy(
-                        NovedadesNomina::fecha,
-                        Collectors.mapping(NovedadesNomina::idEmpleado, Collectors.toSet())
+                        NovedadesNomina::epochDay,
+                        Collectors.mapping(NovedadesNomina::empleado, Collectors.toSet())
                 ))
                 .entrySet().stream()
                 // Filtrar fechas con menos de 2 empleados
                 .filter(entry -> entry.getValue().size() < 2)
-                .map(Map.Entry::getKey)
+                .mapToInt(Map.Entry::getKey)
                 .sorted()
+                // La fecha se materializa solo para el reporte
+                .mapToObj(LocalDate::ofEpochDay)
                 .toList();
     }
 }
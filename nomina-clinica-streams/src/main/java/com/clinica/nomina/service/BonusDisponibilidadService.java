@@ -2,56 +2,68 @@ package com.clinica.nomina.service;
 
 import com.clinica.nomina.model.ConsolidadoNovedadesNomina;
 import com.clinica.nomina.model.EmpleadoConBonus;
-import com.clinica.nomina.model.Area;
 
-import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * Servicio que calcula la lista de empleados que reciben bonus por disponibilidad
+ * Servicio que calcula la lista de empleados que reciben bonus
  * a partir del consolidado de nómina.
  *
- * Regla:
- * - bonusDisponibilidad = true en ConsolidadoNovedadesNomina
+ * Las políticas de RRHH (por área, bandas de horas, cantidad de guardias,
+ * ausencias) se compilan una sola vez en una {@link TablaDecisionBonus};
+ * el consolidado se recorre una única vez sin importar cuántas políticas existan.
+ *
+ * Regla por defecto:
+ * - 5% del totalPagar con más de 40 horas y sin AUSENCIA (bonusDisponibilidad = true)
  */
 public class BonusDisponibilidadService {
 
     private final List<ConsolidadoNovedadesNomina> consolidado;
+    private final TablaDecisionBonus tablaDecision;
 
     public BonusDisponibilidadService(List<ConsolidadoNovedadesNomina> consolidado) {
+        this(consolidado, PoliticaBonus.porDefecto());
+    }
+
+    public BonusDisponibilidadService(List<ConsolidadoNovedadesNomina> consolidado, List<PoliticaBonus> politicas) {
         this.consolidado = consolidado;
+        this.tablaDecision = TablaDecisionBonus.compilar(politicas);
     }
 
     /**
-     * Genera la lista de EmpleadoConBonus con monto calculado (5% del totalPagar)
-     * solo para los empleados que tienen bonusDisponibilidad = true.
+     * Genera la lista de EmpleadoConBonus con el monto calculado según las políticas,
+     * solo para los empleados cuyo porcentaje de bonus es mayor que cero.
      */
     public List<EmpleadoConBonus> calcularBonus() {
         return consolidado.stream()
-                // Solo empleados que cumplen la regla
-                .filter(ConsolidadoNovedadesNomina::bonusDisponibilidad)
-                .map(c -> {
-                    double bonus = c.totalPagar() * 0.05;
-                    double totalConBonus = c.totalPagar() + bonus;
+                .flatMap(c -> evaluar(c).stream())
+                .collect(Collectors.toList());
+    }
 
-                    // Conversión segura de String a Area enum
-                    Area areaEnum = Arrays.stream(Area.values())
-                            .filter(a -> a.name().equalsIgnoreCase(c.area()))
-                            .findFirst()
-                            .orElse(null); // null si no hay coincidencia
+    /**
+     * Evalúa la tabla de decisión para una fila del consolidado.
+     */
+    private Optional<EmpleadoConBonus> evaluar(ConsolidadoNovedadesNomina c) {
+        double porcentaje = tablaDecision.porcentaje(c);
+
+        return Optional.of(porcentaje)
+                .filter(p -> p > 0)
+                .map(p -> {
+                    double bonus = c.totalPagar() * p;
+                    double totalConBonus = c.totalPagar() + bonus;
 
                     return new EmpleadoConBonus(
                             c.idEmpleado(),
                             c.nombreEmpleado(),
-                            areaEnum,
+                            c.area(),
                             c.horasTrabajadas(),
                             c.salarioBaseHora(),
                             c.totalPagar(),
                             bonus,
                             totalConBonus
                     );
-                })
-                .collect(Collectors.toList());
+                });
     }
 }
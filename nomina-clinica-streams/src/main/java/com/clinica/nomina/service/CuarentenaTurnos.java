@@ -0,0 +1,46 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.MotivoRechazo;
+import com.clinica.nomina.model.TurnoRechazado;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Destino de los registros de turno rechazados durante la ingesta.
+ *
+ * Conserva los registros en el orden de llegada y mantiene un contador
+ * por motivo (indexado por MotivoRechazo.ordinal()).
+ */
+public class CuarentenaTurnos implements Consumer<TurnoRechazado> {
+
+    private final List<TurnoRechazado> rechazados = new ArrayList<>();
+    private final long[] conteoPorMotivo = new long[MotivoRechazo.values().length];
+
+    @Override
+    public void accept(TurnoRechazado rechazado) {
+        rechazados.add(rechazado);
+        conteoPorMotivo[rechazado.motivo().ordinal()]++;
+    }
+
+    public List<TurnoRechazado> rechazados() {
+        return Collections.unmodifiableList(rechazados);
+    }
+
+    public long conteo(MotivoRechazo motivo) {
+        return conteoPorMotivo[motivo.ordinal()];
+    }
+
+    public long total() {
+        return Arrays.stream(conteoPorMotivo).sum();
+    }
+
+    /**
+     * Conteo por motivo en orden de declaración del enum.
+     */
+    public Map<MotivoRechazo, Long> conteos() {
+        Map<MotivoRechazo, Long> conteos = new EnumMap<>(MotivoRechazo.class);
+        Arrays.stream(MotivoRechazo.values()).forEach(m -> conteos.put(m, conteo(m)));
+        return conteos;
+    }
+}
@@ -34,22 +34,22 @@ public class DesgloseHorasPorAreaYTurnoService {
      * 🔹 Reglas:
      *   - Excluye los turnos de tipo AUSENCIA.
      *   - Ignora registros con área o tipo de turno inválido.
-     *   - Usa TreeMap para mantener el orden alfabético / ordinal.
+     *   - Usa EnumMap: el orden ordinal de los enums, el mismo orden natural que daba el TreeMap.
      */
     public Map<Area, Map<TipoTurno, Integer>> calcularDesgloseHorasPorAreaYTipoTurno() {
 
         return liquidacionService.obtenerNovedadesNomina().stream()
-                // Filtrar registros con datos válidos y convertirlos a enums de forma segura
-                .flatMap(n -> convertirRegistroSeguro(n).stream())
+                // Filtrar registros con área y tipo de turno válidos (ya tipados como enums)
+                .filter(n -> n.area() != null && n.tipoTurno() != null)
                 // Agrupar por área y tipo de turno (excluyendo AUSENCIA)
-                .filter(entry -> entry.getKey().getValue() != TipoTurno.AUSENCIA)
+                .filter(n -> n.tipoTurno() != TipoTurno.AUSENCIA)
                 .collect(groupingBy(
-                        e -> e.getKey().getKey(),  // Área
-                        TreeMap::new,
+                        NovedadesNomina::area,
+                        () -> new EnumMap<>(Area.class),
                         groupingBy(
-                                e -> e.getKey().getValue(),  // Tipo de turno
-                                TreeMap::new,
-                                Collectors.summingInt(e -> (int) Math.round(e.getValue()))
+                                NovedadesNomina::tipoTurno,
+                                () -> new EnumMap<>(TipoTurno.class),
+                                Collectors.summingInt(NovedadesNomina::horasTrabajadas)
                         )
                 ));
     }
@@ -69,41 +69,4 @@ public class DesgloseHorasPorAreaYTurnoService {
                                 ))
                 ));
     }
-
-    /**
-     * Convierte un registro NovedadesNomina a un par ((Área, TipoTurno), horas) de forma funcional.
-     * Si el área o tipo de turno no son válidos, retorna Optional.empty().
-     */
-    private Optional<Map.Entry<Map.Entry<Area, TipoTurno>, Double>> convertirRegistroSeguro(NovedadesNomina n) {
-        return Optional.ofNullable(n)
-                .flatMap(nov -> convertirArea(nov.area())
-                        .flatMap(areaEnum -> convertirTipo(nov.tipoTurno())
-                                .map(tipoEnum -> Map.entry(Map.entry(areaEnum, tipoEnum), nov.horasTrabajadas()))
-                        )
-                );
-    }
-
-    /**
-     * Conversión segura de String a Enum Area usando Optional.
-     */
-    private Optional<Area> convertirArea(String areaStr) {
-        return Optional.ofNullable(areaStr)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .flatMap(s -> Arrays.stream(Area.values())
-                        .filter(a -> a.name().equalsIgnoreCase(s))
-                        .findFirst());
-    }
-
-    /**
-     * Conversión segura de String a Enum TipoTurno usando Optional.
-     */
-    private Optional<TipoTurno> convertirTipo(String tipoStr) {
-        return Optional.ofNullable(tipoStr)
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .flatMap(s -> Arrays.stream(TipoTurno.values())
-                        .filter(t -> t.name().equalsIgnoreCase(s))
-                        .findFirst());
-    }
 }
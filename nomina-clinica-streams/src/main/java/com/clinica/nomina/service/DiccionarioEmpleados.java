@@ -0,0 +1,128 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Area;
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
+
+import java.util.*;
+
+/**
+ * Diccionario compacto de empleados: asigna a cada id un ordinal denso (0..n-1)
+ * en el orden de la lista de personal.
+ *
+ * Permite reemplazar comparaciones y mapas por String por índices enteros
+ * en los recorridos masivos de turnos. La búsqueda usa {@link CodificadorIdsEmpleado}:
+ * una carga de arreglo por id, sin HashMap. Solo codifica al personal: la ingesta envía
+ * a cuarentena los turnos de ids desconocidos antes de codificarlos.
+ *
+ * ✅ Inmutable después de construido: se puede consultar desde varios hilos
+ *    y dentro de pipelines de streams sin efectos laterales.
+ * ✅ El rango alfabético de los nombres se calcula una sola vez.
+ *
+ * La conversión a texto (id, nombre) se hace solo al construir los reportes.
+ */
+public final class DiccionarioEmpleados {
+
+    /** Ordinal devuelto para ids que no pertenecen al personal. */
+    public static final int DESCONOCIDO = CodificadorIdsEmpleado.DESCONOCIDO;
+
+    private static final String NOMBRE_DESCONOCIDO = "DESCONOCIDO";
+
+    /** Hash perfecto sobre los ids del personal (sin boxing ni colisiones) */
+    private final CodificadorIdsEmpleado codificador;
+    private final Empleado[] empleadoPorOrdinal;
+
+    /** Posición de cada ordinal en el orden alfabético de nombres */
+    private final int[] rangoNombre;
+
+    private DiccionarioEmpleados(List<Empleado> empleados) {
+        Set<String> vistos = new HashSet<>();
+        this.empleadoPorOrdinal = empleados.stream()
+                .filter(e -> e != null && e.id() != null)
+                .filter(e -> vistos.add(e.id()))
+                .toArray(Empleado[]::new);
+        this.codificador = CodificadorIdsEmpleado.de(Arrays.stream(empleadoPorOrdinal).map(Empleado::id).toList());
+        this.rangoNombre = calcularRangoNombre();
+    }
+
+    public static DiccionarioEmpleados de(List<Empleado> empleados) {
+        return new DiccionarioEmpleados(Optional.ofNullable(empleados).orElse(Collections.emptyList()));
+    }
+
+    /**
+     * @return ordinal del empleado o {@link #DESCONOCIDO} si el id no está en el personal
+     */
+    public int ordinal(String idEmpleado) {
+        return codificador.ordinal(idEmpleado);
+    }
+
+    /**
+     * Ordinal de un id del personal.
+     *
+     * @throws IllegalArgumentException si el id no es del personal
+     */
+    public int codificar(String idEmpleado) {
+        int ordinal = codificador.ordinal(Objects.requireNonNull(idEmpleado));
+        if (ordinal == DESCONOCIDO) {
+            throw new IllegalArgumentException("Id fuera del personal: " + idEmpleado);
+        }
+        return ordinal;
+    }
+
+    /** true si el ordinal corresponde a un empleado del personal. */
+    public boolean esConocido(int ordinal) {
+        return ordinal >= 0 && ordinal < empleadoPorOrdinal.length;
+    }
+
+    public Empleado empleado(int ordinal) {
+        return empleadoPorOrdinal[ordinal];
+    }
+
+    public String id(int ordinal) {
+        return empleadoPorOrdinal[ordinal].id();
+    }
+
+    public String nombre(int ordinal) {
+        return Optional.ofNullable(empleadoPorOrdinal[ordinal].nombre()).orElse(NOMBRE_DESCONOCIDO);
+    }
+
+    /** Área del empleado; null si no tiene área. */
+    public Area area(int ordinal) {
+        return empleadoPorOrdinal[ordinal].area();
+    }
+
+    public double salarioBaseHora(int ordinal) {
+        return empleadoPorOrdinal[ordinal].salarioBaseHora();
+    }
+
+    /**
+     * Posición del ordinal en el orden alfabético de nombres (precalculada),
+     * para ordenar filas codificadas sin comparar Strings fila a fila.
+     * Nombres iguales comparten rango.
+     */
+    public int rangoNombre(int ordinal) {
+        return rangoNombre[ordinal];
+    }
+
+    /** Cantidad de empleados del personal. */
+    public int tamanio() {
+        return empleadoPorOrdinal.length;
+    }
+
+    /* --- Helpers --- */
+
+    private int[] calcularRangoNombre() {
+        int total = tamanio();
+        int[] rango = new int[total];
+        Integer[] ordenados = new Integer[total];
+        Arrays.setAll(ordenados, i -> i);
+        Arrays.sort(ordenados, Comparator.comparing(this::nombre));
+
+        // Nombres iguales comparten rango (conserva el orden estable de la fuente)
+        for (int i = 0; i < total; i++) {
+            boolean mismoNombre = i > 0 && nombre(ordenados[i]).equals(nombre(ordenados[i - 1]));
+            rango[ordenados[i]] = mismoNombre ? rango[ordenados[i - 1]] : i;
+        }
+        return rango;
+    }
+}
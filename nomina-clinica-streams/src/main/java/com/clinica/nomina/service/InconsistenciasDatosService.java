@@ -1,23 +1,37 @@
 package com.clinica.nomina.service;
 
 import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.model.MotivoRechazo;
 import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.model.TurnoRechazado;
 
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Servicio que detecta inconsistencias de datos:
- * IDs de empleados presentes en registrosMes que no existen en la lista de personal.
+ * Servicio que detecta inconsistencias de datos en los registros del mes.
+ *
+ * Lee la cuarentena producida por {@link IngestaTurnos} en su única pasada por
+ * {@link ValidadorIngestaTurnos}: IDs desconocidos, turnos duplicados, horas inválidas
+ * para el TipoTurno y fechas fuera del periodo. No vuelve a recorrer los registros.
  */
 public class InconsistenciasDatosService {
 
-    private final List<Empleado> empleados;
-    private final List<RegistroTurno> registrosMes;
+    private final IngestaTurnos ingesta;
 
-    public InconsistenciasDatosService(List<Empleado> empleados, List<RegistroTurno> registrosMes) {
-        this.empleados = Optional.ofNullable(empleados).orElse(Collections.emptyList());
-        this.registrosMes = Optional.ofNullable(registrosMes).orElse(Collections.emptyList());
+    public InconsistenciasDatosService(IngestaTurnos ingesta) {
+        this.ingesta = Objects.requireNonNull(ingesta);
+    }
+
+    public InconsistenciasDatosService(List<Empleado> empleados, List<RegistroTurno> registrosMes, YearMonth periodo) {
+        this(IngestaTurnos.de(empleados, registrosMes, periodo));
+    }
+
+    /**
+     * Cuarentena de la ingesta: registros rechazados y sus conteos por motivo.
+     */
+    public CuarentenaTurnos validarIngesta() {
+        return ingesta.cuarentena();
     }
 
     /**
@@ -25,15 +39,18 @@ public class InconsistenciasDatosService {
      * pero que no están en la lista de personal.
      */
     public List<String> detectarInconsistencias() {
+        return idsDesconocidos(validarIngesta());
+    }
 
-        Set<String> idsEmpleadosValidos = empleados.stream()
-                .map(Empleado::id)
-                .collect(Collectors.toSet());
-
-        return registrosMes.stream()
+    /**
+     * IDs desconocidos (sin repetir y ordenados) a partir de una cuarentena ya calculada.
+     */
+    public List<String> idsDesconocidos(CuarentenaTurnos cuarentena) {
+        return cuarentena.rechazados().stream()
+                .filter(t -> t.motivo() == MotivoRechazo.EMPLEADO_DESCONOCIDO)
+                .map(TurnoRechazado::registro)
                 .map(RegistroTurno::idEmpleado)
                 .filter(Objects::nonNull)
-                .filter(id -> !idsEmpleadosValidos.contains(id))
                 .distinct()
                 .sorted()
                 .toList();
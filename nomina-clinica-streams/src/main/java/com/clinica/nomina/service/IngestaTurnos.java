@@ -0,0 +1,61 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Empleado;
+import com.clinica.nomina.model.RegistroTurno;
+import com.clinica.nomina.repository.DatosRepository;
+
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Ingesta de los registros del mes: un único recorrido a través de {@link ValidadorIngestaTurnos}.
+ *
+ * - Salida principal: los registros válidos, que son la fuente de los servicios de nómina
+ *   (LiquidacionService, ProductividadService): un registro rechazado nunca se liquida.
+ * - Salida lateral: la cuarentena con los rechazados y sus motivos, producida en el mismo recorrido.
+ *
+ * ✅ Se construye una vez por periodo y se comparte entre los servicios.
+ */
+public final class IngestaTurnos {
+
+    private final DiccionarioEmpleados diccionario;
+    private final YearMonth periodo;
+    private final List<RegistroTurno> validos;
+    private final CuarentenaTurnos cuarentena = new CuarentenaTurnos();
+
+    private IngestaTurnos(List<Empleado> empleados, List<RegistroTurno> registrosMes, YearMonth periodo) {
+        this.diccionario = DiccionarioEmpleados.de(empleados);
+        this.periodo = Objects.requireNonNull(periodo);
+
+        ValidadorIngestaTurnos validador = new ValidadorIngestaTurnos(diccionario, periodo, cuarentena);
+        this.validos = validador.validar(Optional.ofNullable(registrosMes).orElse(Collections.emptyList()).stream())
+                .toList();
+    }
+
+    public static IngestaTurnos de(List<Empleado> empleados, List<RegistroTurno> registrosMes, YearMonth periodo) {
+        return new IngestaTurnos(empleados, registrosMes, periodo);
+    }
+
+    public static IngestaTurnos de(DatosRepository datosRepository) {
+        return de(datosRepository.obtenerEmpleados(), datosRepository.obtenerRegistrosMes(),
+                datosRepository.obtenerPeriodo());
+    }
+
+    /** Registros que pasaron la validación, en el orden de la fuente. */
+    public List<RegistroTurno> validos() {
+        return validos;
+    }
+
+    /** Registros rechazados en la misma pasada, con sus conteos por motivo. */
+    public CuarentenaTurnos cuarentena() {
+        return cuarentena;
+    }
+
+    public DiccionarioEmpleados diccionario() {
+        return diccionario;
+    }
+
+    public YearMonth periodo() {
+        return periodo;
+    }
+}
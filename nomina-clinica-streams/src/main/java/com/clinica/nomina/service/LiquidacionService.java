@@ -6,6 +6,8 @@ import com.clinica.nomina.repository.DatosRepository;
 import java.text.NumberFormat;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.groupingBy;
 
@@ -19,110 +21,83 @@ import static java.util.stream.Collectors.groupingBy;
  */
 public class LiquidacionService {
 
-    private final List<Empleado> empleados;
+    private static final String SIN_AREA = "SIN_AREA";
+    private static final int[] RANGO_AREA = rangoArea();
+
+    private final DiccionarioEmpleados diccionario;
     private final List<RegistroTurno> registrosMes;
     private final NumberFormat formatoMoneda;
 
     public LiquidacionService(DatosRepository datosRepository) {
-        this.empleados = Optional.ofNullable(datosRepository.obtenerEmpleados())
-                .orElse(Collections.emptyList());
-        this.registrosMes = Optional.ofNullable(datosRepository.obtenerRegistrosMes())
-                .orElse(Collections.emptyList());
+        this(IngestaTurnos.de(datosRepository));
+    }
+
+    /**
+     * Liquida solo los registros válidos de la ingesta (los rechazados quedan en su cuarentena).
+     */
+    public LiquidacionService(IngestaTurnos ingesta) {
+        this.diccionario = ingesta.diccionario();
+        this.registrosMes = ingesta.validos();
         this.formatoMoneda = NumberFormat.getCurrencyInstance(new Locale("es", "CO"));
     }
 
     /**
      * Reconstruye la lista de NovedadesNomina a partir de los registros del mes
      * y la información de empleados.
+     *
+     * Las filas quedan codificadas (ordinal de empleado, enums, epochDay);
+     * el orden es por fecha, nombre de área y nombre de empleado, usando
+     * rangos precalculados en lugar de comparar Strings fila a fila.
      */
     public List<NovedadesNomina> obtenerNovedadesNomina() {
-        return registrosMes.stream()
-                .filter(r -> r != null && r.idEmpleado() != null)
-                .map(r -> empleados.stream()
-                        .filter(e -> e != null && e.id() != null && e.id().equals(r.idEmpleado()))
-                        .findFirst()
-                        .map(e -> {
-                            double salarioHora = e.salarioBaseHora();
-                            double multiplicador = getMultiplicador(r.tipo());
-                            double totalPagar = r.horas() * salarioHora * multiplicador;
-
-                            return new NovedadesNomina(
-                                    r.idEmpleado(),
-                                    Optional.ofNullable(e.nombre()).orElse("DESCONOCIDO"),
-                                    Optional.ofNullable(e.area()).map(Area::name).orElse("SIN_AREA"),
-                                    Optional.ofNullable(r.tipo()).map(TipoTurno::name).orElse("DESCONOCIDO"),
-                                    r.fecha(),
-                                    r.horas(), // horas reales
-                                    salarioHora,
-                                    totalPagar
-                            );
-                        })
-                        .orElse(new NovedadesNomina(
-                                r.idEmpleado(),
-                                "DESCONOCIDO",
-                                "SIN_AREA",
-                                Optional.ofNullable(r.tipo()).map(TipoTurno::name).orElse("DESCONOCIDO"),
-                                r.fecha(),
-                                r.horas(),
-                                0.0,
-                                0.0
-                        ))
-                )
-                .sorted(Comparator
-                        .comparing(NovedadesNomina::fecha)
-                        .thenComparing(NovedadesNomina::area)
-                        .thenComparing(NovedadesNomina::nombreEmpleado)
-                )
-                .collect(Collectors.toList());
+        List<NovedadesNomina> novedades = codificarRegistros().collect(Collectors.toList());
+
+        novedades.sort(Comparator
+                .comparingInt(NovedadesNomina::epochDay)
+                .thenComparingInt(n -> RANGO_AREA[indiceArea(n.area())])
+                .thenComparingInt(n -> diccionario.rangoNombre(n.empleado()))
+        );
+        return novedades;
     }
 
     /**
-     * Calcula el consolidado por empleado.
+     * Calcula el consolidado por empleado en un solo recorrido de las novedades.
      * Establece bonusDisponibilidad según reglas:
      * true solo si horasTrabajadas > 40 y no tiene AUSENCIA.
+     *
+     * Nombre, área y salario por hora salen del personal (diccionario), también para
+     * quien no tiene turnos en el mes: ya no se muestran como "DESCONOCIDO" / "SIN_AREA" / 0.
      */
     public List<ConsolidadoNovedadesNomina> calcularLiquidacionPorEmpleado() {
-
-        Map<String, List<NovedadesNomina>> novedadesPorEmpleado = obtenerNovedadesNomina().stream()
-                .collect(groupingBy(NovedadesNomina::idEmpleado));
-
-        return empleados.stream()
-                .filter(Objects::nonNull)
-                .map(e -> {
-                    List<NovedadesNomina> novedades = novedadesPorEmpleado.getOrDefault(e.id(), Collections.emptyList());
-
-                    double horas = novedades.stream()
-                            .mapToDouble(NovedadesNomina::horasTrabajadas)
-                            .sum();
-
-                    double totalPagar = novedades.stream()
-                            .mapToDouble(n -> n.horasTrabajadas() * n.salarioBaseHora() *
-                                    Arrays.stream(TipoTurno.values())
-                                            .filter(t -> t.name().equalsIgnoreCase(n.tipoTurno()))
-                                            .findFirst()
-                                            .map(this::getMultiplicador)
-                                            .orElse(1.0)
-                            )
-                            .sum();
-
+        int empleadosConocidos = diccionario.tamanio();
+        double[] horas = new double[empleadosConocidos];
+        double[] totalPagar = new double[empleadosConocidos];
+        int[][] turnosPorTipo = new int[empleadosConocidos][TipoTurno.values().length];
+
+        // Acumulación por ordinal de empleado (índice de arreglo, sin mapas por String)
+        codificarRegistros()
+                .forEach(n -> {
+                    horas[n.empleado()] += n.horasTrabajadas();
+                    totalPagar[n.empleado()] += n.totalPagar();
+                    Optional.ofNullable(n.tipoTurno())
+                            .ifPresent(t -> turnosPorTipo[n.empleado()][t.ordinal()]++);
+                });
+
+        return IntStream.range(0, empleadosConocidos)
+                .mapToObj(o -> {
                     // Determinar bonusDisponibilidad según regla nueva
-                    boolean tieneAusencia = novedades.stream()
-                            .anyMatch(n -> TipoTurno.AUSENCIA.name().equalsIgnoreCase(n.tipoTurno()));
-                    boolean bonusDisponibilidad = horas > 40 && !tieneAusencia;
-
-                    NovedadesNomina primerN = novedades.stream().findFirst().orElse(null);
-                    String nombre = primerN != null ? primerN.nombreEmpleado() : "DESCONOCIDO";
-                    String area = primerN != null ? primerN.area() : "SIN_AREA";
-                    double salarioBaseHora = primerN != null ? primerN.salarioBaseHora() : 0.0;
+                    boolean tieneAusencia = turnosPorTipo[o][TipoTurno.AUSENCIA.ordinal()] > 0;
+                    boolean bonusDisponibilidad = horas[o] > 40 && !tieneAusencia;
 
                     return new ConsolidadoNovedadesNomina(
-                            e.id(),
-                            nombre,
-                            area,
-                            horas,
-                            salarioBaseHora,
-                            totalPagar,
-                            bonusDisponibilidad
+                            diccionario.id(o),
+                            diccionario.nombre(o),
+                            diccionario.area(o),
+                            horas[o],
+                            diccionario.salarioBaseHora(o),
+                            totalPagar[o],
+                            bonusDisponibilidad,
+                            turnosPorTipo[o]
                     );
                 })
                 .sorted(Comparator.comparingDouble(ConsolidadoNovedadesNomina::totalPagar).reversed())
@@ -133,9 +108,16 @@ public class LiquidacionService {
      * Agrupa el consolidado por área.
      */
     public Map<String, List<ConsolidadoNovedadesNomina>> agruparPorArea() {
-        return calcularLiquidacionPorEmpleado().stream()
+        return agruparPorArea(calcularLiquidacionPorEmpleado());
+    }
+
+    /**
+     * Agrupa un consolidado ya calculado por área (las filas se reutilizan, no se copian).
+     */
+    public Map<String, List<ConsolidadoNovedadesNomina>> agruparPorArea(List<ConsolidadoNovedadesNomina> consolidado) {
+        return consolidado.stream()
                 .collect(groupingBy(
-                        ConsolidadoNovedadesNomina::area,
+                        c -> nombreArea(c.area()),
                         TreeMap::new,
                         Collectors.toList()
                 ));
@@ -143,6 +125,51 @@ public class LiquidacionService {
 
     /* --- Helpers --- */
 
+    /**
+     * Convierte los registros del mes a filas codificadas, sin ordenar.
+     * No tiene efectos laterales: el diccionario es de solo lectura.
+     *
+     * Los registros vienen de la ingesta validada, que envía a cuarentena los ids desconocidos
+     * y las fechas nulas; un registro así aquí es un error de programación y se informa.
+     */
+    private Stream<NovedadesNomina> codificarRegistros() {
+        return registrosMes.stream()
+                .map(r -> {
+                    Objects.requireNonNull(r.fecha(), () -> "Registro sin fecha fuera de la ingesta validada: " + r);
+                    int empleado = diccionario.codificar(r.idEmpleado());
+                    double salarioHora = diccionario.salarioBaseHora(empleado);
+                    double totalPagar = r.horas() * salarioHora * getMultiplicador(r.tipo());
+
+                    return new NovedadesNomina(
+                            empleado,
+                            diccionario.area(empleado),
+                            r.tipo(),
+                            (int) r.fecha().toEpochDay(),
+                            r.horas(), // horas reales
+                            totalPagar
+                    );
+                });
+    }
+
+    private static int indiceArea(Area area) {
+        return area == null ? RANGO_AREA.length - 1 : area.ordinal();
+    }
+
+    private static String nombreArea(Area area) {
+        return Optional.ofNullable(area).map(Area::name).orElse(SIN_AREA);
+    }
+
+    /**
+     * Posición alfabética del nombre de cada área (la última posición es SIN_AREA),
+     * equivalente a ordenar por el nombre del área como texto.
+     */
+    private static int[] rangoArea() {
+        List<String> nombres = Arrays.stream(Area.values()).map(Area::name).collect(Collectors.toList());
+        nombres.add(SIN_AREA);
+        List<String> ordenados = nombres.stream().sorted().toList();
+        return nombres.stream().mapToInt(ordenados::indexOf).toArray();
+    }
+
     private double getMultiplicador(TipoTurno tipo) {
         return Optional.ofNullable(tipo)
                 .map(t -> switch (t) {
@@ -157,4 +184,9 @@ public class LiquidacionService {
     public NumberFormat getFormatoMoneda() {
         return formatoMoneda;
     }
+
+    /** Diccionario usado para decodificar las NovedadesNomina en los reportes. */
+    public DiccionarioEmpleados getDiccionario() {
+        return diccionario;
+    }
 }
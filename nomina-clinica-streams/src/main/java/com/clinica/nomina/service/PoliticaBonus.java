@@ -0,0 +1,42 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Area;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.util.List;
+
+/**
+ * Políticas de bonus definidas por RRHH.
+ *
+ * Cada política es un dato inmutable; el motor las compila en una
+ * {@link TablaDecisionBonus} plana indexada por ordinales de Área y TipoTurno,
+ * de modo que agregar políticas no agrega recorridos sobre el consolidado.
+ *
+ * - area = null: la política aplica a todas las áreas
+ * - porcentaje: fracción del totalPagar (0.05 = 5%); los porcentajes se suman
+ */
+public sealed interface PoliticaBonus {
+
+    /** Bonus fijo para los empleados de un área. */
+    record PorArea(Area area, double porcentaje) implements PoliticaBonus {}
+
+    /** Bonus cuando las horas trabajadas superan estrictamente horasMinimas. */
+    record PorBandaHoras(Area area, double horasMinimas, double porcentaje) implements PoliticaBonus {}
+
+    /** Bonus cuando el empleado tiene al menos minimoTurnos del tipo indicado (p. ej. guardias). */
+    record PorTurnos(Area area, TipoTurno tipoTurno, int minimoTurnos, double porcentaje) implements PoliticaBonus {}
+
+    /** Condición excluyente: con más de maximoAusencias el empleado no recibe bonus. */
+    record PorAusencias(Area area, int maximoAusencias) implements PoliticaBonus {}
+
+    /**
+     * Política vigente: 5% del totalPagar con más de 40 horas y sin AUSENCIA
+     * (equivale al indicador bonusDisponibilidad del consolidado).
+     */
+    static List<PoliticaBonus> porDefecto() {
+        return List.of(
+                new PorBandaHoras(null, 40, 0.05),
+                new PorAusencias(null, 0)
+        );
+    }
+}
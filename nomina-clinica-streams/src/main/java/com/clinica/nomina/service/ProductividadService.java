@@ -1,10 +1,12 @@
 package com.clinica.nomina.service;
 
 import com.clinica.nomina.model.*;
+import com.clinica.nomina.repository.AlmacenTurnosOffHeap;
 import com.clinica.nomina.repository.DatosRepository;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
  * Servicio que calcula la productividad de los empleados
@@ -13,17 +15,36 @@ import java.util.stream.Collectors;
  * - Filtra solo turnos que existan en la lista de empleados
  * - Excluye AUSENCIA
  * - Mantiene horas reales, sin multiplicar por ningún factor
+ * - La fuente puede ser la lista validada de la ingesta o un {@link AlmacenTurnosOffHeap}
+ *   (historial largo fuera del heap, recorrido sin crear objetos por turno)
  */
 public class ProductividadService {
 
-    private final List<Empleado> empleados;
-    private final List<RegistroTurno> registrosMes;
+    private final DiccionarioEmpleados diccionario;
+
+    /** Recorre los turnos entregando (ordinal, epochDay, tipo, horas) */
+    private final Consumer<AlmacenTurnosOffHeap.VisitanteTurno> recorrido;
 
     public ProductividadService(DatosRepository datosRepository) {
-        this.empleados = Optional.ofNullable(datosRepository.obtenerEmpleados())
-                .orElse(Collections.emptyList());
-        this.registrosMes = Optional.ofNullable(datosRepository.obtenerRegistrosMes())
-                .orElse(Collections.emptyList());
+        this(IngestaTurnos.de(datosRepository));
+    }
+
+    /**
+     * Calcula sobre los registros válidos de la ingesta (los rechazados no suman horas).
+     */
+    public ProductividadService(IngestaTurnos ingesta) {
+        this.diccionario = ingesta.diccionario();
+        List<RegistroTurno> registrosMes = ingesta.validos();
+        this.recorrido = visitante -> registrosMes.forEach(r -> visitante.visitar(
+                diccionario.ordinal(r.idEmpleado()), (int) r.fecha().toEpochDay(), r.tipo(), r.horas()));
+    }
+
+    /**
+     * Calcula sobre los turnos guardados fuera del heap (el almacén debe seguir abierto).
+     */
+    public ProductividadService(AlmacenTurnosOffHeap almacen) {
+        this.diccionario = almacen.diccionario();
+        this.recorrido = almacen::recorrer;
     }
 
     /**
@@ -32,24 +53,23 @@ public class ProductividadService {
      */
     public List<ProductividadEmpleado> calcularProductividad() {
 
-        Map<String, Empleado> mapEmpleados = empleados.stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toMap(Empleado::id, e -> e));
+        // Tabla de empleados por ordinal: cada búsqueda por turno es una carga de arreglo
+        double[] horasPorOrdinal = new double[diccionario.tamanio()];
+        boolean[] conTurnos = new boolean[diccionario.tamanio()];
+
+        recorrido.accept((ordinal, epochDay, tipo, horas) -> {
+            // Excluir AUSENCIA (la ingesta ya descartó los ids fuera del personal); sumar horas reales por ordinal
+            if (tipo != TipoTurno.AUSENCIA) {
+                horasPorOrdinal[ordinal] += horas;
+                conTurnos[ordinal] = true;
+            }
+        });
 
-        return registrosMes.stream()
-                // Filtrar empleados válidos
-                .filter(r -> mapEmpleados.containsKey(r.idEmpleado()))
-                // Filtrar turnos AUSENCIA
-                .filter(r -> r.tipo() != TipoTurno.AUSENCIA)
-                // Agrupar por idEmpleado sumando horas reales
-                .collect(Collectors.groupingBy(
-                        RegistroTurno::idEmpleado,
-                        Collectors.summingDouble(RegistroTurno::horas)
-                ))
-                .entrySet().stream()
-                .map(entry -> {
-                    Empleado e = mapEmpleados.get(entry.getKey());
-                    double totalHoras = entry.getValue();
+        return IntStream.range(0, diccionario.tamanio())
+                .filter(o -> conTurnos[o])
+                .mapToObj(o -> {
+                    Empleado e = diccionario.empleado(o);
+                    double totalHoras = horasPorOrdinal[o];
                     double salarioTotal = totalHoras * e.salarioBaseHora(); // solo multiplicar por salario base
                     return new ProductividadEmpleado(
                             e.nombre(),
@@ -0,0 +1,146 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.Area;
+import com.clinica.nomina.model.ConsolidadoNovedadesNomina;
+import com.clinica.nomina.model.TipoTurno;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Tabla de decisión compilada a partir de una lista de {@link PoliticaBonus}.
+ *
+ * Todas las políticas se acumulan en arreglos planos indexados por el ordinal
+ * del Área (la última posición corresponde a "sin área") y del TipoTurno:
+ *
+ * - porcentajePorArea[area]
+ * - porcentajePorBanda[area][banda]      (acumulado, banda = límites superados)
+ * - porcentajePorConteo[area][tipo][n]   (acumulado, n = min(turnos, máximo umbral))
+ * - maximoAusencias[area]
+ *
+ * Evaluar un empleado cuesta una búsqueda binaria sobre los límites de horas
+ * y una lectura por TipoTurno, sin importar cuántas políticas existan.
+ */
+public final class TablaDecisionBonus {
+
+    private static final int AREAS = Area.values().length + 1;
+    private static final int SIN_AREA = AREAS - 1;
+    private static final TipoTurno[] TIPOS_TURNO = TipoTurno.values();
+    private static final int TIPOS = TIPOS_TURNO.length;
+
+    private final double[] porcentajePorArea = new double[AREAS];
+    private final double[] limitesHoras;
+    private final double[][] porcentajePorBanda = new double[AREAS][];
+    private final double[][][] porcentajePorConteo = new double[AREAS][TIPOS][];
+    private final int[] maximoAusencias = new int[AREAS];
+
+    private TablaDecisionBonus(List<PoliticaBonus> politicas) {
+        this.limitesHoras = politicas.stream()
+                .filter(PoliticaBonus.PorBandaHoras.class::isInstance)
+                .mapToDouble(p -> ((PoliticaBonus.PorBandaHoras) p).horasMinimas())
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int[] maximoUmbral = new int[TIPOS];
+        politicas.stream()
+                .filter(PoliticaBonus.PorTurnos.class::isInstance)
+                .map(PoliticaBonus.PorTurnos.class::cast)
+                .forEach(p -> maximoUmbral[p.tipoTurno().ordinal()] =
+                        Math.max(maximoUmbral[p.tipoTurno().ordinal()], p.minimoTurnos()));
+
+        Arrays.fill(maximoAusencias, Integer.MAX_VALUE);
+        for (int a = 0; a < AREAS; a++) {
+            porcentajePorBanda[a] = new double[limitesHoras.length + 1];
+            for (int t = 0; t < TIPOS; t++) {
+                porcentajePorConteo[a][t] = new double[maximoUmbral[t] + 1];
+            }
+        }
+
+        politicas.forEach(this::aplicar);
+    }
+
+    /**
+     * Compila la lista de políticas en una tabla de decisión.
+     */
+    public static TablaDecisionBonus compilar(List<PoliticaBonus> politicas) {
+        return new TablaDecisionBonus(List.copyOf(Objects.requireNonNull(politicas)));
+    }
+
+    /**
+     * Índice del área usado por la tabla; null se ubica en la posición "sin área".
+     */
+    public static int indiceArea(Area area) {
+        return area == null ? SIN_AREA : area.ordinal();
+    }
+
+    /**
+     * Porcentaje de bonus (suma de todas las políticas) para una fila del consolidado.
+     *
+     * ✅ Lee los turnos con {@link ConsolidadoNovedadesNomina#turnos(TipoTurno)}:
+     *    no copia el arreglo de turnos por fila.
+     *
+     * @return fracción del totalPagar; 0 si alguna condición excluyente aplica
+     */
+    public double porcentaje(ConsolidadoNovedadesNomina c) {
+        int indiceArea = indiceArea(c.area());
+        if (c.turnos(TipoTurno.AUSENCIA) > maximoAusencias[indiceArea]) {
+            return 0.0;
+        }
+
+        double porcentaje = porcentajePorArea[indiceArea] + porcentajePorBanda[indiceArea][banda(c.horasTrabajadas())];
+
+        double[][] conteos = porcentajePorConteo[indiceArea];
+        for (int t = 0; t < TIPOS; t++) {
+            double[] tabla = conteos[t];
+            porcentaje += tabla[Math.min(c.turnos(TIPOS_TURNO[t]), tabla.length - 1)];
+        }
+        return porcentaje;
+    }
+
+    /* --- Compilación --- */
+
+    private void aplicar(PoliticaBonus politica) {
+        switch (politica) {
+            case PoliticaBonus.PorArea p ->
+                    areas(p.area()).forEach(a -> porcentajePorArea[a] += p.porcentaje());
+            case PoliticaBonus.PorBandaHoras p -> {
+                // A partir de la banda que supera el límite, el porcentaje queda acumulado
+                int desde = Arrays.binarySearch(limitesHoras, p.horasMinimas()) + 1;
+                areas(p.area()).forEach(a -> sumarDesde(porcentajePorBanda[a], desde, p.porcentaje()));
+            }
+            case PoliticaBonus.PorTurnos p ->
+                    areas(p.area()).forEach(a -> sumarDesde(
+                            porcentajePorConteo[a][p.tipoTurno().ordinal()], p.minimoTurnos(), p.porcentaje()));
+            case PoliticaBonus.PorAusencias p ->
+                    areas(p.area()).forEach(a -> maximoAusencias[a] = Math.min(maximoAusencias[a], p.maximoAusencias()));
+        }
+    }
+
+    private static List<Integer> areas(Area area) {
+        return area == null
+                ? IntStream.range(0, AREAS).boxed().toList()
+                : List.of(area.ordinal());
+    }
+
+    private static void sumarDesde(double[] tabla, int desde, double porcentaje) {
+        for (int i = Math.max(desde, 0); i < tabla.length; i++) {
+            tabla[i] += porcentaje;
+        }
+    }
+
+    /** Cantidad de límites de horas superados estrictamente. */
+    private int banda(double horas) {
+        int bajo = 0;
+        int alto = limitesHoras.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (limitesHoras[medio] < horas) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+}
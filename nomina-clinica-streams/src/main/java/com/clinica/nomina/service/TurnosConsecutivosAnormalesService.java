@@ -12,7 +12,8 @@ import java.util.stream.IntStream;
  * empleados que trabajaron un turno DÍA inmediatamente
  * después de una GUARDIA de 24 horas.
  *
- * ✅ Solo considera empleados existentes en la lista de Empleado.
+ * ✅ Solo considera empleados del personal (la ingesta descarta los demás ids).
+ * ✅ Compara enums y días epoch; el nombre se resuelve al final en el diccionario.
  */
 public class TurnosConsecutivosAnormalesService {
 
@@ -27,27 +28,19 @@ public class TurnosConsecutivosAnormalesService {
      */
     public List<String> detectarTurnosConsecutivosAnormales() {
 
-        // IDs válidos de empleados
-        Set<String> empleadosValidos = liquidacionService.obtenerNovedadesNomina().stream()
-                .map(NovedadesNomina::idEmpleado)
-                .collect(Collectors.toSet());
+        DiccionarioEmpleados diccionario = liquidacionService.getDiccionario();
 
         return liquidacionService.obtenerNovedadesNomina().stream()
-                // Filtrar solo empleados válidos
-                .filter(n -> empleadosValidos.contains(n.idEmpleado()))
                 // Filtrar solo DIA o GUARDIA de 24h
-                .filter(n -> n.tipoTurno().equals(TipoTurno.DIA.name()) ||
-                        (n.tipoTurno().equals(TipoTurno.GUARDIA.name()) && n.horasTrabajadas() == 24))
-                // Agrupar por idEmpleado
-                .collect(Collectors.groupingBy(NovedadesNomina::idEmpleado))
+                .filter(n -> n.tipoTurno() == TipoTurno.DIA ||
+                        (n.tipoTurno() == TipoTurno.GUARDIA && n.horasTrabajadas() == 24))
+                // Agrupar por ordinal de empleado
+                .collect(Collectors.groupingBy(NovedadesNomina::empleado))
                 .entrySet().stream()
                 // Filtrar solo empleados con turnos consecutivos anormales
                 .filter(entry -> tieneTurnosAnormales(entry.getValue()))
                 // Mapear al nombre del empleado
-                .map(entry -> entry.getValue().stream()
-                        .map(NovedadesNomina::nombreEmpleado)
-                        .findFirst()
-                        .orElse("Empleado desconocido"))
+                .map(entry -> diccionario.nombre(entry.getKey()))
                 .sorted()
                 .toList();
     }
@@ -61,7 +54,7 @@ public class TurnosConsecutivosAnormalesService {
     private boolean tieneTurnosAnormales(List<NovedadesNomina> turnosEmpleado) {
         // Ordenar por fecha
         List<NovedadesNomina> ordenados = turnosEmpleado.stream()
-                .sorted(Comparator.comparing(NovedadesNomina::fecha))
+                .sorted(Comparator.comparingInt(NovedadesNomina::epochDay))
                 .toList();
 
         // Usar IntStream para recorrer índices y comparar cada turno con el siguiente
@@ -69,10 +62,10 @@ public class TurnosConsecutivosAnormalesService {
                 .anyMatch(i -> {
                     NovedadesNomina actual = ordenados.get(i);
                     NovedadesNomina siguiente = ordenados.get(i + 1);
-                    return actual.tipoTurno().equals(TipoTurno.GUARDIA.name()) &&
+                    return actual.tipoTurno() == TipoTurno.GUARDIA &&
                             actual.horasTrabajadas() == 24 &&
-                            siguiente.tipoTurno().equals(TipoTurno.DIA.name()) &&
-                            siguiente.fecha().equals(actual.fecha().plusDays(1));
+                            siguiente.tipoTurno() == TipoTurno.DIA &&
+                            siguiente.epochDay() == actual.epochDay() + 1;
                 });
     }
 }
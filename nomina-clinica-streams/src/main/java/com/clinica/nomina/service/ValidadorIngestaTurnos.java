@@ -0,0 +1,107 @@
+package com.clinica.nomina.service;
+
+import com.clinica.nomina.model.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Etapa de validación de integridad referencial que se ejecuta en línea
+ * mientras se ingieren los registros de turno.
+ *
+ * Cada registro se evalúa una sola vez (sin segundo recorrido) contra, en este orden:
+ * - EMPLEADO_DESCONOCIDO: id ausente del diccionario de personal
+ * - FECHA_FUERA_DE_PERIODO: fecha nula o fuera del mes liquidado
+ * - HORAS_INVALIDAS: tipo nulo u horas fuera del rango del TipoTurno
+ * - TURNO_DUPLICADO: mismo empleado, fecha y tipo ya ingerido
+ *
+ * Los registros rechazados se envían al destino de cuarentena con su motivo;
+ * los válidos continúan en el flujo. Los duplicados se detectan con un BitSet
+ * indexado por (ordinal empleado, día del periodo, tipo).
+ *
+ * La instancia conserva estado (duplicados), por lo que se usa una por ingesta
+ * (ver {@link IngestaTurnos}).
+ */
+public class ValidadorIngestaTurnos implements Predicate<RegistroTurno> {
+
+    private static final int TIPOS = TipoTurno.values().length;
+
+    private final DiccionarioEmpleados diccionario;
+    private final LocalDate inicioPeriodo;
+    private final LocalDate finPeriodo;
+    private final int diasPeriodo;
+    private final Consumer<TurnoRechazado> cuarentena;
+    private final BitSet turnosVistos;
+
+    public ValidadorIngestaTurnos(DiccionarioEmpleados diccionario, YearMonth periodo,
+                                  Consumer<TurnoRechazado> cuarentena) {
+        this.diccionario = Objects.requireNonNull(diccionario);
+        this.inicioPeriodo = periodo.atDay(1);
+        this.finPeriodo = periodo.atEndOfMonth();
+        this.diasPeriodo = periodo.lengthOfMonth();
+        this.cuarentena = Objects.requireNonNull(cuarentena);
+        long claves = (long) diccionario.tamanio() * diasPeriodo * TIPOS;
+        if (claves > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Personal demasiado grande para el control de duplicados: "
+                    + diccionario.tamanio() + " empleados");
+        }
+        this.turnosVistos = new BitSet((int) claves);
+    }
+
+    /**
+     * Aplica la validación como etapa intermedia del flujo de ingesta.
+     */
+    public Stream<RegistroTurno> validar(Stream<RegistroTurno> registros) {
+        return registros.filter(Objects::nonNull).filter(this);
+    }
+
+    /**
+     * @return true si el registro es válido; false si fue enviado a cuarentena
+     */
+    @Override
+    public boolean test(RegistroTurno r) {
+        Optional<MotivoRechazo> motivo = motivoRechazo(r);
+        motivo.map(m -> new TurnoRechazado(r, m)).ifPresent(cuarentena);
+        return motivo.isEmpty();
+    }
+
+    private Optional<MotivoRechazo> motivoRechazo(RegistroTurno r) {
+        // El id se revisa primero: un id desconocido se reporta aunque la fecha también sea inválida
+        int ordinal = diccionario.ordinal(r.idEmpleado());
+        if (ordinal == DiccionarioEmpleados.DESCONOCIDO) {
+            return Optional.of(MotivoRechazo.EMPLEADO_DESCONOCIDO);
+        }
+
+        if (r.fecha() == null || r.fecha().isBefore(inicioPeriodo) || r.fecha().isAfter(finPeriodo)) {
+            return Optional.of(MotivoRechazo.FECHA_FUERA_DE_PERIODO);
+        }
+
+        if (r.tipo() == null || !horasValidas(r.tipo(), r.horas())) {
+            return Optional.of(MotivoRechazo.HORAS_INVALIDAS);
+        }
+
+        int clave = (ordinal * diasPeriodo + r.fecha().getDayOfMonth() - 1) * TIPOS + r.tipo().ordinal();
+        if (turnosVistos.get(clave)) {
+            return Optional.of(MotivoRechazo.TURNO_DUPLICADO);
+        }
+        turnosVistos.set(clave);
+        return Optional.empty();
+    }
+
+    /**
+     * Rango de horas admitido por tipo de turno.
+     */
+    static boolean horasValidas(TipoTurno tipo, int horas) {
+        return switch (tipo) {
+            case DIA, NOCHE -> horas > 0 && horas <= 12;
+            case GUARDIA -> horas > 0 && horas <= 24;
+            case AUSENCIA -> horas == 0;
+        };
+    }
+}
@@ -1,10 +1,235 @@
 package com.clinica.nomina;
 
+import com.clinica.nomina.model.*;
+import com.clinica.nomina.repository.AlmacenTurnosOffHeap;
+import com.clinica.nomina.repository.DatosRepository;
+import com.clinica.nomina.repository.SnapshotResultadosRepository;
+import com.clinica.nomina.service.*;
+import com.clinica.nomina.util.CodificadorIdsEmpleado;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class NominaServiceTest {
+
+    private final DatosRepository datosRepository = new DatosRepository();
+    private final LiquidacionService liquidacionService = new LiquidacionService(datosRepository);
+
     @Test
     void testHorasTotalesPorEmpleado() {
 
     }
+
+    @Test
+    void testBonusPorDefectoCoincideConBonusDisponibilidad() {
+        List<ConsolidadoNovedadesNomina> consolidado = liquidacionService.calcularLiquidacionPorEmpleado();
+        List<EmpleadoConBonus> bonus = new BonusDisponibilidadService(consolidado).calcularBonus();
+
+        List<String> esperados = consolidado.stream()
+                .filter(ConsolidadoNovedadesNomina::bonusDisponibilidad)
+                .map(ConsolidadoNovedadesNomina::idEmpleado)
+                .toList();
+
+        assertEquals(esperados, bonus.stream().map(EmpleadoConBonus::idEmpleado).toList());
+        bonus.forEach(b -> assertEquals(b.totalDevengado() * 0.05, b.bonus(), 0.001));
+    }
+
+    @Test
+    void testPoliticasCombinadasSeEvaluanEnUnaSolaTabla() {
+        List<ConsolidadoNovedadesNomina> consolidado = liquidacionService.calcularLiquidacionPorEmpleado();
+
+        List<PoliticaBonus> politicas = new ArrayList<>(PoliticaBonus.porDefecto());
+        politicas.add(new PoliticaBonus.PorTurnos(null, TipoTurno.GUARDIA, 1, 0.02));
+        politicas.add(new PoliticaBonus.PorArea(Area.CIRUGIA, 0.01));
+
+        Map<String, EmpleadoConBonus> bonus = new BonusDisponibilidadService(consolidado, politicas)
+                .calcularBonus().stream()
+                .collect(Collectors.toMap(EmpleadoConBonus::idEmpleado, b -> b));
+
+        // E02 (CIRUGIA): 42 horas sin ausencias y una guardia -> 5% + 2% + 1%
+        EmpleadoConBonus luis = bonus.get("E02");
+        assertEquals(Area.CIRUGIA, luis.area());
+        assertEquals(luis.totalDevengado() * 0.08, luis.bonus(), 0.001);
+
+        // E08 (RADIOLOGIA) solo tiene una AUSENCIA: queda excluido
+        assertFalse(bonus.containsKey("E08"));
+
+        // E09 (CIRUGIA) no supera 40 horas ni tiene guardias: solo el bono de área
+        assertEquals(bonus.get("E09").totalDevengado() * 0.01, bonus.get("E09").bonus(), 0.001);
+    }
+
+    @Test
+    void testValidacionIngestaEnviaRegistrosInvalidosACuarentena() {
+        List<RegistroTurno> registros = new ArrayList<>(datosRepository.obtenerRegistrosMes());
+        registros.add(new RegistroTurno("E01", LocalDate.of(2025, 10, 1), TipoTurno.NOCHE, 12));   // duplicado
+        registros.add(new RegistroTurno("E02", LocalDate.of(2025, 10, 20), TipoTurno.DIA, 30));    // horas inválidas
+        registros.add(new RegistroTurno("E03", LocalDate.of(2025, 11, 2), TipoTurno.DIA, 8));      // fuera del periodo
+        registros.add(new RegistroTurno("E77", null, TipoTurno.DIA, 8));                           // id desconocido y sin fecha
+        registros.add(new RegistroTurno("E88", LocalDate.of(2025, 12, 1), TipoTurno.DIA, 8));      // id desconocido y fuera del periodo
+
+        IngestaTurnos ingesta = IngestaTurnos.de(datosRepository.obtenerEmpleados(), registros, YearMonth.of(2025, 10));
+        InconsistenciasDatosService service = new InconsistenciasDatosService(ingesta);
+        CuarentenaTurnos cuarentena = service.validarIngesta();
+
+        assertEquals(3, cuarentena.conteo(MotivoRechazo.EMPLEADO_DESCONOCIDO));
+        assertEquals(1, cuarentena.conteo(MotivoRechazo.TURNO_DUPLICADO));
+        assertEquals(1, cuarentena.conteo(MotivoRechazo.HORAS_INVALIDAS));
+        assertEquals(1, cuarentena.conteo(MotivoRechazo.FECHA_FUERA_DE_PERIODO));
+        // Igual que antes de la validación: los ids desconocidos se reportan aunque la fecha también sea inválida
+        assertEquals(List.of("E77", "E88", "E99"), service.detectarInconsistencias());
+        assertEquals(registros.size() - cuarentena.total(), ingesta.validos().size());
+
+        // Los servicios de nómina consumen la salida validada: lo rechazado no se paga
+        LiquidacionService liquidacion = new LiquidacionService(ingesta);
+        DiccionarioEmpleados diccionario = liquidacion.getDiccionario();
+        List<NovedadesNomina> novedades = liquidacion.obtenerNovedadesNomina();
+        assertEquals(ingesta.validos().size(), novedades.size());
+        assertTrue(novedades.stream().allMatch(n -> diccionario.esConocido(n.empleado())));
+        double horasE02 = ingesta.validos().stream().filter(r -> r.idEmpleado().equals("E02")).mapToInt(RegistroTurno::horas).sum();
+        assertEquals(horasE02, liquidacion.calcularLiquidacionPorEmpleado().stream()
+                .filter(c -> c.idEmpleado().equals("E02")).findFirst().orElseThrow().horasTrabajadas());
+        assertEquals(42, horasE02, "El turno de 30 horas en cuarentena no suma");
+    }
+
+    @Test
+    void testAlmacenOffHeapConservaRegistrosYSeCierraExplicitamente() {
+        IngestaTurnos ingesta = IngestaTurnos.de(datosRepository);
+        List<RegistroTurno> registros = ingesta.validos();
+
+        // Segmentos pequeños para forzar varios buffers directos
+        AlmacenTurnosOffHeap almacen = new AlmacenTurnosOffHeap(ingesta.diccionario(), 4);
+        registros.forEach(almacen::agregar);
+        assertThrows(IllegalArgumentException.class,
+                () -> almacen.agregar(new RegistroTurno("E99", LocalDate.of(2025, 10, 1), TipoTurno.DIA, 8)),
+                "Solo se almacenan ids del personal");
+
+        assertEquals(registros, almacen.comoLista());
+        assertEquals(registros.stream().filter(r -> r.tipo() == TipoTurno.GUARDIA).toList(),
+                almacen.filtrar(r -> r.tipo() == TipoTurno.GUARDIA));
+
+        int[] horasTotales = {0};
+        almacen.recorrer((empleado, epochDay, tipo, horas) -> horasTotales[0] += horas);
+        assertEquals(registros.stream().mapToInt(RegistroTurno::horas).sum(), horasTotales[0]);
+
+        // Consumidor: la productividad desde el almacén coincide con la calculada desde la ingesta
+        try (AlmacenTurnosOffHeap validos = AlmacenTurnosOffHeap.desde(ingesta.validos(), ingesta.diccionario())) {
+            assertEquals(new ProductividadService(ingesta).calcularProductividad(),
+                    new ProductividadService(validos).calcularProductividad());
+        }
+
+        almacen.close();
+        assertTrue(almacen.estaCerrado());
+        assertThrows(IllegalStateException.class, almacen::tamanio);
+        almacen.close(); // idempotente
+    }
+
+    @Test
+    void testSnapshotResultadosSeReutilizaSoloConLaMismaHuella(@TempDir Path directorio) {
+        LiquidacionService liquidacionService = new LiquidacionService(datosRepository);
+        List<ConsolidadoNovedadesNomina> consolidado = liquidacionService.calcularLiquidacionPorEmpleado();
+        ResultadosPeriodo calculados = new ResultadosPeriodo(
+                consolidado,
+                liquidacionService.agruparPorArea(consolidado),
+                new BonusDisponibilidadService(consolidado).calcularBonus(),
+                new AuditoriaCoberturaService(liquidacionService.obtenerNovedadesNomina()).fechasConCoberturaInsuficiente());
+
+        YearMonth periodo = datosRepository.obtenerPeriodo();
+        List<RegistroTurno> registros = datosRepository.obtenerRegistrosMes();
+        byte[] huella = SnapshotResultadosRepository.huellaEntrada(datosRepository.obtenerEmpleados(), registros, periodo);
+
+        SnapshotResultadosRepository snapshots = new SnapshotResultadosRepository(directorio);
+        assertSame(calculados, snapshots.cargarOCalcular(periodo, huella, () -> calculados));
+
+        // Arranque en caliente: se lee del archivo mapeado sin recalcular
+        ResultadosPeriodo cargados = snapshots.cargarOCalcular(periodo, huella,
+                () -> fail("no debe recalcular con la misma huella"));
+        assertEquals(calculados.bonus(), cargados.bonus());
+        assertEquals(calculados.fechasCoberturaInsuficiente(), cargados.fechasCoberturaInsuficiente());
+        assertEquals(calculados.porArea().keySet(), cargados.porArea().keySet());
+        assertEquals(calculados.consolidado().size(), cargados.consolidado().size());
+        for (int i = 0; i < calculados.consolidado().size(); i++) {
+            ConsolidadoNovedadesNomina esperado = calculados.consolidado().get(i);
+            ConsolidadoNovedadesNomina leido = cargados.consolidado().get(i);
+            assertEquals(esperado.idEmpleado(), leido.idEmpleado());
+            assertEquals(esperado.area(), leido.area());
+            assertEquals(esperado.totalPagar(), leido.totalPagar());
+            assertArrayEquals(esperado.turnosPorTipo(), leido.turnosPorTipo());
+        }
+        // equals compara el contenido de turnosPorTipo, y el arreglo no se puede modificar desde afuera
+        assertEquals(calculados.consolidado(), cargados.consolidado());
+        ConsolidadoNovedadesNomina primero = cargados.consolidado().get(0);
+        int guardias = primero.turnos(TipoTurno.GUARDIA);
+        primero.turnosPorTipo()[TipoTurno.GUARDIA.ordinal()]++;
+        assertEquals(guardias, primero.turnos(TipoTurno.GUARDIA));
+
+        // Datos de entrada distintos: la huella cambia y la instantánea se descarta
+        List<RegistroTurno> modificados = new ArrayList<>(registros);
+        modificados.set(0, new RegistroTurno(registros.get(0).idEmpleado(), registros.get(0).fecha(),
+                registros.get(0).tipo(), registros.get(0).horas() + 1));
+        byte[] otraHuella = SnapshotResultadosRepository.huellaEntrada(datosRepository.obtenerEmpleados(), modificados, periodo);
+        assertTrue(snapshots.cargar(periodo, otraHuella).isEmpty());
+
+        // Escritura fallida: no deja el temporal y conserva la instantánea anterior
+        ResultadosPeriodo invalidos = new ResultadosPeriodo(null, Map.of(), List.of(), List.of());
+        assertThrows(NullPointerException.class, () -> snapshots.guardar(periodo, otraHuella, invalidos));
+        assertEquals(List.of(snapshots.archivo(periodo)), listar(directorio));
+        assertTrue(snapshots.cargar(periodo, huella).isPresent());
+    }
+
+    private static List<Path> listar(Path directorio) {
+        try (var archivos = Files.list(directorio)) {
+            return archivos.toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void testDiccionarioResuelveIdsConCodificadorPerfecto() {
+        List<Empleado> empleados = datosRepository.obtenerEmpleados();
+        DiccionarioEmpleados diccionario = DiccionarioEmpleados.de(empleados);
+
+        for (int i = 0; i < empleados.size(); i++) {
+            assertEquals(i, diccionario.ordinal(empleados.get(i).id()));
+            assertEquals(empleados.get(i).id(), diccionario.id(i));
+        }
+
+        // Ids fuera del personal: desconocidos y no codificables
+        assertEquals(DiccionarioEmpleados.DESCONOCIDO, diccionario.ordinal("E99"));
+        assertEquals(DiccionarioEmpleados.DESCONOCIDO, diccionario.ordinal("E1"));
+        assertThrows(IllegalArgumentException.class, () -> diccionario.codificar("E99"));
+        assertEquals(0, diccionario.codificar("E01"));
+
+        // Rangos de nombre precalculados: mismo orden que comparar los nombres como texto
+        List<Integer> porRango = IntStream.range(0, diccionario.tamanio()).boxed()
+                .sorted(Comparator.comparingInt(diccionario::rangoNombre)).toList();
+        List<String> nombres = porRango.stream().map(diccionario::nombre).toList();
+        assertEquals(nombres.stream().sorted().toList(), nombres);
+
+        // Sin efectos laterales: llamadas concurrentes producen las mismas novedades
+        List<NovedadesNomina> esperadas = liquidacionService.obtenerNovedadesNomina();
+        assertTrue(IntStream.range(0, 32).parallel()
+                .mapToObj(i -> liquidacionService.obtenerNovedadesNomina())
+                .allMatch(esperadas::equals));
+
+        CodificadorIdsEmpleado codificador = CodificadorIdsEmpleado.de(List.of("E01", "ENF-7", "MED-ALVAREZ", "E01"));
+        assertEquals(0, codificador.ordinal("E01"));
+        assertEquals(1, codificador.ordinal("ENF-7"));
+        assertEquals(2, codificador.ordinal("MED-ALVAREZ"));
+        assertEquals(CodificadorIdsEmpleado.DESCONOCIDO, codificador.ordinal("MED-ALVARES"));
+    }
 }